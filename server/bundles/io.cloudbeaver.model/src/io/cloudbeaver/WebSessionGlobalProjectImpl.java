@@ -18,6 +18,7 @@ package io.cloudbeaver;
 
 import io.cloudbeaver.model.session.WebSession;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
@@ -26,8 +27,8 @@ import org.jkiss.dbeaver.model.rm.RMProject;
 import org.jkiss.dbeaver.model.security.SMObjectType;
 import org.jkiss.dbeaver.model.security.user.SMObjectPermissions;
 
-import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -36,17 +37,34 @@ import java.util.stream.Collectors;
  */
 public class WebSessionGlobalProjectImpl extends WebSessionProjectImpl {
     private static final Log log = Log.getLog(WebSessionGlobalProjectImpl.class);
-    private Set<String> accessibleConnectionIds = Collections.emptySet();
+    // Read on first access
+    @Nullable
+    private volatile Set<String> accessibleConnectionIds;
 
     public WebSessionGlobalProjectImpl(@NotNull WebSession webSession, @NotNull RMProject project) {
         super(webSession, project);
     }
 
     /**
-     * Update info about accessible connections from a database.
+     * Resets info about accessible connections. It will be read from a database on next access.
      */
     public synchronized void refreshAccessibleConnectionIds() {
-        this.accessibleConnectionIds = readAccessibleConnectionIds();
+        this.accessibleConnectionIds = null;
+    }
+
+    @NotNull
+    private Set<String> getAccessibleConnectionIds() {
+        Set<String> connectionIds = accessibleConnectionIds;
+        if (connectionIds == null) {
+            synchronized (this) {
+                connectionIds = accessibleConnectionIds;
+                if (connectionIds == null) {
+                    connectionIds = readAccessibleConnectionIds();
+                    accessibleConnectionIds = connectionIds;
+                }
+            }
+        }
+        return connectionIds;
     }
 
     @NotNull
@@ -56,11 +74,11 @@ public class WebSessionGlobalProjectImpl extends WebSessionProjectImpl {
                 .getAllAvailableObjectsPermissions(SMObjectType.datasource)
                 .stream()
                 .map(SMObjectPermissions::getObjectId)
-                .collect(Collectors.toSet());
+                .collect(Collectors.toCollection(ConcurrentHashMap::newKeySet));
         } catch (DBException e) {
             webSession.addSessionError(e);
             log.error("Error reading connection grants", e);
-            return Collections.emptySet();
+            return ConcurrentHashMap.newKeySet();
         }
     }
 
@@ -71,7 +89,7 @@ public class WebSessionGlobalProjectImpl extends WebSessionProjectImpl {
         return dataSource.isExternallyProvided() ||
             dataSource.isTemporary() ||
             webSession.hasPermission(DBWConstants.PERMISSION_ADMIN) ||
-            accessibleConnectionIds.contains(dataSource.getId());
+            getAccessibleConnectionIds().contains(dataSource.getId());
     }
 
     /**
@@ -82,7 +100,7 @@ public class WebSessionGlobalProjectImpl extends WebSessionProjectImpl {
         if (!getRMProject().isGlobal()) {
             return;
         }
-        this.accessibleConnectionIds.add(dsId);
+        getAccessibleConnectionIds().add(dsId);
         var registry = getDataSourceRegistry();
         var dataSource = registry.getDataSource(dsId);
         if (dataSource != null) {
@@ -103,7 +121,7 @@ public class WebSessionGlobalProjectImpl extends WebSessionProjectImpl {
         var registry = getDataSourceRegistry();
         var dataSource = registry.getDataSource(dsId);
         if (dataSource != null) {
-            this.accessibleConnectionIds.remove(dsId);
+            getAccessibleConnectionIds().remove(dsId);
             removeConnection(dataSource);
             // reflect changes is navigator model
             registry.notifyDataSourceListeners(new DBPEvent(DBPEvent.Action.OBJECT_REMOVE, dataSource));
@@ -16,6 +16,7 @@
  */
 package io.cloudbeaver.model;
 
+import io.cloudbeaver.model.session.WebAsyncTaskScheduler;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 
 /**
@@ -30,8 +31,9 @@ public class WebAsyncTaskInfo {
     private Object extendedResult;
     private String status;
     private Throwable jobError;
+    private volatile boolean queued;
 
-    private AbstractJob job;
+    private volatile AbstractJob job;
 
     public WebAsyncTaskInfo(String id, String name) {
         this.id = id;
@@ -103,6 +105,24 @@ public class WebAsyncTaskInfo {
         this.jobError = jobError;
     }
 
+    /**
+     * Task is waiting in the scheduler queue and wasn't started yet
+     */
+    public boolean isQueued() {
+        return queued;
+    }
+
+    public void setQueued(boolean queued) {
+        this.queued = queued;
+    }
+
+    /**
+     * Returns task position in the owner's queue (1-based), or null if task isn't queued.
+     */
+    public Integer getQueuePosition() {
+        return queued ? WebAsyncTaskScheduler.getInstance().getQueuePosition(this) : null;
+    }
+
     public AbstractJob getJob() {
         return job;
     }
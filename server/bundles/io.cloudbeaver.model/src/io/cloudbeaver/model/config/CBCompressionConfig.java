@@ -0,0 +1,66 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model.config;
+
+/**
+ * HTTP response compression configuration
+ */
+public class CBCompressionConfig {
+
+    public static final int DEFAULT_LEVEL = 6;
+    public static final int DEFAULT_MIN_SIZE = 1024;
+
+    private boolean enabled = true;
+    // Deflate compression level (1-9)
+    private int level = DEFAULT_LEVEL;
+    // Responses smaller than this size (in bytes) are not compressed
+    private int minSize = DEFAULT_MIN_SIZE;
+    // Serve precompressed static files (.br, .gz) if they exist
+    private boolean precompressedStatic = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public void setMinSize(int minSize) {
+        this.minSize = minSize;
+    }
+
+    public boolean isPrecompressedStatic() {
+        return precompressedStatic;
+    }
+
+    public void setPrecompressedStatic(boolean precompressedStatic) {
+        this.precompressedStatic = precompressedStatic;
+    }
+}
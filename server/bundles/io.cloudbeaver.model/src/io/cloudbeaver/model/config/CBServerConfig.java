@@ -45,12 +45,16 @@ public class CBServerConfig implements WebServerConfiguration {
     private long maxSessionIdleTime = CBAuthConstants.MAX_SESSION_IDLE_TIME;
     private boolean develMode = false;
     private boolean enableSecurityManager = false;
+    // Export metrics in Prometheus format on /metrics
+    private boolean enableMetrics = false;
     private final Map<String, Object> productSettings = new HashMap<>();
 
     @SerializedName("sm")
     protected final SMControllerConfiguration securityManagerConfiguration = new SMControllerConfiguration();
     @SerializedName("database")
     private WebDatabaseConfig databaseConfiguration = new WebDatabaseConfig();
+    @SerializedName("compression")
+    private CBCompressionConfig compressionConfiguration = new CBCompressionConfig();
     private String staticContent = "";
 
     public String getServerURL() {
@@ -101,6 +105,11 @@ public class CBServerConfig implements WebServerConfiguration {
         return staticContent;
     }
 
+    @NotNull
+    public CBCompressionConfig getCompressionConfiguration() {
+        return compressionConfiguration;
+    }
+
     public void setServerURL(String serverURL) {
         this.serverURL = serverURL;
     }
@@ -174,6 +183,10 @@ public class CBServerConfig implements WebServerConfiguration {
         return enableSecurityManager;
     }
 
+    public boolean isEnableMetrics() {
+        return enableMetrics;
+    }
+
     @NotNull
     public Map<String, Object> getProductSettings() {
         return productSettings;
@@ -0,0 +1,66 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model.metrics;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter
+ */
+public class WebCounter extends WebMetric<LongAdder> {
+
+    WebCounter(@NotNull String name, @NotNull String help, @NotNull String... labelNames) {
+        super(name, help, labelNames);
+    }
+
+    public void inc(@NotNull String... labelValues) {
+        getChild(labelValues).increment();
+    }
+
+    public void add(long amount, @NotNull String... labelValues) {
+        getChild(labelValues).add(amount);
+    }
+
+    /**
+     * Returns current value of the counter with specified labels
+     */
+    public long get(@NotNull String... labelValues) {
+        return getChild(labelValues).sum();
+    }
+
+    @NotNull
+    @Override
+    public String getType() {
+        return "counter";
+    }
+
+    @NotNull
+    @Override
+    protected LongAdder createChild() {
+        return new LongAdder();
+    }
+
+    @Override
+    protected void writeChild(@NotNull Writer writer, @NotNull List<String> labelValues, @NotNull LongAdder child) throws IOException {
+        writeSample(writer, getName(), labelValues, null, null, Long.toString(child.sum()));
+    }
+}
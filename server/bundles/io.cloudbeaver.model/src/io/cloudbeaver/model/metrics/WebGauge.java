@@ -0,0 +1,64 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model.metrics;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Gauge without labels. Value is read from the supplier when metrics are exported.
+ */
+public class WebGauge extends WebMetric<DoubleSupplier> {
+
+    @NotNull
+    private volatile DoubleSupplier supplier;
+
+    WebGauge(@NotNull String name, @NotNull String help, @NotNull DoubleSupplier supplier) {
+        super(name, help);
+        this.supplier = supplier;
+    }
+
+    void setSupplier(@NotNull DoubleSupplier supplier) {
+        this.supplier = supplier;
+    }
+
+    @NotNull
+    @Override
+    public String getType() {
+        return "gauge";
+    }
+
+    @NotNull
+    @Override
+    protected DoubleSupplier createChild() {
+        return supplier;
+    }
+
+    @Override
+    protected void writeSamples(@NotNull Writer writer) throws IOException {
+        writeChild(writer, List.of(), supplier);
+    }
+
+    @Override
+    protected void writeChild(@NotNull Writer writer, @NotNull List<String> labelValues, @NotNull DoubleSupplier child) throws IOException {
+        writeSample(writer, getName(), labelValues, null, null, formatValue(child.getAsDouble()));
+    }
+}
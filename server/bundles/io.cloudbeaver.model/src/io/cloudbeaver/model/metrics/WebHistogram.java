@@ -0,0 +1,104 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model.metrics;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of observed values with fixed buckets
+ */
+public class WebHistogram extends WebMetric<WebHistogram.Values> {
+
+    // Seconds
+    public static final double[] DEFAULT_TIME_BUCKETS = {
+        0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60
+    };
+
+    @NotNull
+    private final double[] buckets;
+
+    WebHistogram(@NotNull String name, @NotNull String help, @NotNull double[] buckets, @NotNull String... labelNames) {
+        super(name, help, labelNames);
+        this.buckets = buckets;
+    }
+
+    public void observe(double value, @NotNull String... labelValues) {
+        getChild(labelValues).observe(value);
+    }
+
+    /**
+     * Observes time elapsed since the specified {@link System#nanoTime()} value (in seconds)
+     */
+    public void observeSince(long startNanos, @NotNull String... labelValues) {
+        observe((System.nanoTime() - startNanos) / 1_000_000_000.0, labelValues);
+    }
+
+    @NotNull
+    @Override
+    public String getType() {
+        return "histogram";
+    }
+
+    @NotNull
+    @Override
+    protected Values createChild() {
+        return new Values();
+    }
+
+    @Override
+    protected void writeChild(@NotNull Writer writer, @NotNull List<String> labelValues, @NotNull Values child) throws IOException {
+        long cumulativeCount = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulativeCount += child.bucketCounts[i].sum();
+            writeSample(writer, getName() + "_bucket", labelValues, "le", formatValue(buckets[i]), Long.toString(cumulativeCount));
+        }
+        long count = child.count.sum();
+        writeSample(writer, getName() + "_bucket", labelValues, "le", "+Inf", Long.toString(count));
+        writeSample(writer, getName() + "_sum", labelValues, null, null, formatValue(child.sum.sum()));
+        writeSample(writer, getName() + "_count", labelValues, null, null, Long.toString(count));
+    }
+
+    protected class Values {
+        private final LongAdder[] bucketCounts;
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder sum = new DoubleAdder();
+
+        Values() {
+            bucketCounts = new LongAdder[buckets.length];
+            for (int i = 0; i < bucketCounts.length; i++) {
+                bucketCounts[i] = new LongAdder();
+            }
+        }
+
+        void observe(double value) {
+            for (int i = 0; i < buckets.length; i++) {
+                if (value <= buckets[i]) {
+                    bucketCounts[i].increment();
+                    break;
+                }
+            }
+            sum.add(value);
+            count.increment();
+        }
+    }
+}
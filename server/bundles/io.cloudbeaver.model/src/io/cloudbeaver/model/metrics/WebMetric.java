@@ -0,0 +1,144 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model.metrics;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metric family. Contains a separate value (child) for each combination of label values.
+ */
+public abstract class WebMetric<T> {
+
+    @NotNull
+    private final String name;
+    @NotNull
+    private final String help;
+    @NotNull
+    private final String[] labelNames;
+    private final Map<List<String>, T> children = new ConcurrentHashMap<>();
+
+    protected WebMetric(@NotNull String name, @NotNull String help, @NotNull String... labelNames) {
+        this.name = name;
+        this.help = help;
+        this.labelNames = labelNames;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @NotNull
+    public String getHelp() {
+        return help;
+    }
+
+    /**
+     * Metric type name in Prometheus exposition format
+     */
+    @NotNull
+    public abstract String getType();
+
+    @NotNull
+    protected abstract T createChild();
+
+    @NotNull
+    protected T getChild(@NotNull String... labelValues) {
+        if (labelValues.length != labelNames.length) {
+            throw new IllegalArgumentException("Metric '" + name + "' requires labels " + Arrays.toString(labelNames));
+        }
+        List<String> key = new ArrayList<>(labelValues.length);
+        for (String value : labelValues) {
+            key.add(value == null ? "" : value);
+        }
+        return children.computeIfAbsent(key, k -> createChild());
+    }
+
+    /**
+     * Writes all samples in Prometheus text exposition format
+     */
+    protected void writeSamples(@NotNull Writer writer) throws IOException {
+        for (Map.Entry<List<String>, T> entry : children.entrySet()) {
+            writeChild(writer, entry.getKey(), entry.getValue());
+        }
+    }
+
+    protected abstract void writeChild(@NotNull Writer writer, @NotNull List<String> labelValues, @NotNull T child) throws IOException;
+
+    protected void writeSample(
+        @NotNull Writer writer,
+        @NotNull String sampleName,
+        @NotNull List<String> labelValues,
+        String extraLabel,
+        String extraLabelValue,
+        @NotNull String value
+    ) throws IOException {
+        writer.write(sampleName);
+        if (!labelValues.isEmpty() || extraLabel != null) {
+            writer.write('{');
+            for (int i = 0; i < labelValues.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeLabel(writer, labelNames[i], labelValues.get(i));
+            }
+            if (extraLabel != null) {
+                if (!labelValues.isEmpty()) {
+                    writer.write(',');
+                }
+                writeLabel(writer, extraLabel, extraLabelValue);
+            }
+            writer.write('}');
+        }
+        writer.write(' ');
+        writer.write(value);
+        writer.write('\n');
+    }
+
+    private static void writeLabel(Writer writer, String labelName, String value) throws IOException {
+        writer.write(labelName);
+        writer.write("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> writer.write("\\\\");
+                case '"' -> writer.write("\\\"");
+                case '\n' -> writer.write("\\n");
+                default -> writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+
+    protected static String formatValue(double value) {
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model.metrics;
+
+import org.jkiss.code.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Application metrics registry.
+ * Metrics are registered once by name, repeated registration returns the existing metric.
+ * All metrics can be exported in Prometheus text exposition format.
+ */
+public final class WebMetricsRegistry {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final WebMetricsRegistry INSTANCE = new WebMetricsRegistry();
+
+    private final Map<String, WebMetric<?>> metrics = new ConcurrentSkipListMap<>();
+
+    @NotNull
+    public static WebMetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    private WebMetricsRegistry() {
+    }
+
+    @NotNull
+    public WebCounter counter(@NotNull String name, @NotNull String help, @NotNull String... labelNames) {
+        return register(name, WebCounter.class, () -> new WebCounter(name, help, labelNames));
+    }
+
+    @NotNull
+    public WebHistogram histogram(@NotNull String name, @NotNull String help, @NotNull String... labelNames) {
+        return histogram(name, help, WebHistogram.DEFAULT_TIME_BUCKETS, labelNames);
+    }
+
+    @NotNull
+    public WebHistogram histogram(
+        @NotNull String name,
+        @NotNull String help,
+        @NotNull double[] buckets,
+        @NotNull String... labelNames
+    ) {
+        return register(name, WebHistogram.class, () -> new WebHistogram(name, help, buckets, labelNames));
+    }
+
+    /**
+     * Registers gauge. If gauge already exists then its value supplier is replaced
+     * (e.g. when the measured component was recreated).
+     */
+    @NotNull
+    public WebGauge gauge(@NotNull String name, @NotNull String help, @NotNull DoubleSupplier supplier) {
+        WebGauge gauge = register(name, WebGauge.class, () -> new WebGauge(name, help, supplier));
+        gauge.setSupplier(supplier);
+        return gauge;
+    }
+
+    public void removeMetric(@NotNull String name) {
+        metrics.remove(name);
+    }
+
+    /**
+     * Writes all metrics in Prometheus text exposition format
+     */
+    public void write(@NotNull Writer writer) throws IOException {
+        for (WebMetric<?> metric : metrics.values()) {
+            writer.write("# HELP ");
+            writer.write(metric.getName());
+            writer.write(' ');
+            writer.write(metric.getHelp().replace("\\", "\\\\").replace("\n", "\\n"));
+            writer.write("\n# TYPE ");
+            writer.write(metric.getName());
+            writer.write(' ');
+            writer.write(metric.getType());
+            writer.write('\n');
+            metric.writeSamples(writer);
+        }
+    }
+
+    private <T extends WebMetric<?>> T register(String name, Class<T> type, Supplier<T> creator) {
+        WebMetric<?> metric = metrics.computeIfAbsent(name, key -> creator.get());
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric '" + name + "' is already registered as " + metric.getType());
+        }
+        return type.cast(metric);
+    }
+}
@@ -112,11 +112,21 @@ public abstract class BaseLocalResourceController implements RMController {
     @Override
     public String getProjectsDataSources(@NotNull String projectId, @Nullable String[] dataSourceIds)
         throws DBException {
-        DBPProject projectMetadata = getWebProject(projectId, false);
+        BaseWebProjectImpl projectMetadata = getWebProject(projectId, false);
+        Path metadataFolder = projectMetadata.getMetadataFolder(false);
         return doFileReadOperation(
             projectId,
-            projectMetadata.getMetadataFolder(false),
+            metadataFolder,
             () -> {
+                // Full configuration of global project is the same for all sessions
+                String configStamp = null;
+                if (ArrayUtils.isEmpty(dataSourceIds) && projectMetadata.getRMProject().isGlobal()) {
+                    configStamp = RMDataSourcesConfigCache.readConfigStamp(metadataFolder);
+                    String cachedConfig = configStamp == null ? null : RMDataSourcesConfigCache.getConfig(projectId, configStamp);
+                    if (cachedConfig != null) {
+                        return cachedConfig;
+                    }
+                }
                 DBPDataSourceRegistry registry = projectMetadata.getDataSourceRegistry();
                 registry.refreshConfig();
                 registry.checkForErrors();
@@ -130,7 +140,11 @@ public abstract class BaseLocalResourceController implements RMController {
                     filter);
                 registry.checkForErrors();
 
-                return new String(buffer.getData(), StandardCharsets.UTF_8);
+                String config = new String(buffer.getData(), StandardCharsets.UTF_8);
+                if (configStamp != null) {
+                    RMDataSourcesConfigCache.putConfig(projectId, configStamp, config);
+                }
+                return config;
             }
         );
     }
@@ -155,6 +169,8 @@ public abstract class BaseLocalResourceController implements RMController {
             return doFileWriteOperation(projectId, project.getMetadataFolder(false),
                 () -> {
                     DBPDataSourceRegistry registry = project.getDataSourceRegistry();
+                    // Registry may be stale (config reads are served from cache), reload it before modification
+                    registry.refreshConfig();
                     DBPDataSourceConfigurationStorage storage = new DataSourceMemoryStorage(configuration.getBytes(
                         StandardCharsets.UTF_8));
                     DataSourceConfigurationManager manager = new DataSourceConfigurationManagerBuffer();
@@ -172,6 +188,8 @@ public abstract class BaseLocalResourceController implements RMController {
                     return configChanged;
                 }
             );
+        } finally {
+            RMDataSourcesConfigCache.invalidate(projectId);
         }
     }
 
@@ -184,6 +202,7 @@ public abstract class BaseLocalResourceController implements RMController {
             DBPProject project = getWebProject(projectId, false);
             doFileWriteOperation(projectId, project.getMetadataFolder(false), () -> {
                 DBPDataSourceRegistry registry = project.getDataSourceRegistry();
+                registry.refreshConfig();
                 for (String dataSourceId : dataSourceIds) {
                     DBPDataSourceContainer dataSource = registry.getDataSource(dataSourceId);
 
@@ -197,6 +216,8 @@ public abstract class BaseLocalResourceController implements RMController {
                 registry.checkForErrors();
                 return null;
             });
+        } finally {
+            RMDataSourcesConfigCache.invalidate(projectId);
         }
     }
 
@@ -211,6 +232,7 @@ public abstract class BaseLocalResourceController implements RMController {
             doFileWriteOperation(projectId, project.getMetadataFolder(false),
                 () -> {
                     DBPDataSourceRegistry registry = project.getDataSourceRegistry();
+                    registry.refreshConfig();
                     var result = Path.of(folderPath);
                     var newName = result.getFileName().toString();
                     GeneralUtils.validateResourceName(newName);
@@ -221,6 +243,8 @@ public abstract class BaseLocalResourceController implements RMController {
                     return null;
                 }
             );
+        } finally {
+            RMDataSourcesConfigCache.invalidate(projectId);
         }
     }
 
@@ -235,6 +259,7 @@ public abstract class BaseLocalResourceController implements RMController {
             doFileWriteOperation(projectId, project.getMetadataFolder(false),
                 () -> {
                     DBPDataSourceRegistry registry = project.getDataSourceRegistry();
+                    registry.refreshConfig();
                     for (String folderPath : folderPaths) {
                         DBPDataSourceFolder folder = registry.getFolder(folderPath);
                         if (folder != null) {
@@ -248,6 +273,8 @@ public abstract class BaseLocalResourceController implements RMController {
                     return null;
                 }
             );
+        } finally {
+            RMDataSourcesConfigCache.invalidate(projectId);
         }
     }
 
@@ -263,11 +290,14 @@ public abstract class BaseLocalResourceController implements RMController {
             doFileWriteOperation(projectId, project.getMetadataFolder(false),
                 () -> {
                     DBPDataSourceRegistry registry = project.getDataSourceRegistry();
+                    registry.refreshConfig();
                     registry.moveFolder(oldPath, newPath);
                     registry.checkForErrors();
                     return null;
                 }
             );
+        } finally {
+            RMDataSourcesConfigCache.invalidate(projectId);
         }
     }
 
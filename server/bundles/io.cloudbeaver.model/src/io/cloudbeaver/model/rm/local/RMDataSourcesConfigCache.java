@@ -0,0 +1,111 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model.rm.local;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Application-wide cache of serialized data sources configuration of shared projects.
+ * Global project configuration is read by each web session on login and it is the same for all users
+ * (not accessible connections are filtered in the session), so it is parsed once and reused
+ * until project configuration files are changed.
+ * Files are compared by content (not by size and modification time, which may stay the same after rewrite).
+ */
+final class RMDataSourcesConfigCache {
+
+    private static final Log log = Log.getLog(RMDataSourcesConfigCache.class);
+
+    private static final Map<String, CachedConfig> cache = new HashMap<>();
+
+    private RMDataSourcesConfigCache() {
+    }
+
+    /**
+     * Returns stamp of configuration files state (hash of file names and contents).
+     * Configuration files are small, hashing them is much cheaper than parsing.
+     * Must be read before configuration itself.
+     *
+     * @return stamp or null if configuration folder can't be read (then configuration shouldn't be cached)
+     */
+    @Nullable
+    static String readConfigStamp(@NotNull Path metadataFolder) {
+        if (!Files.isDirectory(metadataFolder)) {
+            return "";
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+        try (Stream<Path> stream = Files.list(metadataFolder)) {
+            List<Path> files = stream.sorted().toList();
+            for (Path file : files) {
+                if (!Files.isRegularFile(file)) {
+                    continue;
+                }
+                byte[] content = Files.readAllBytes(file);
+                digest.update(file.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(Integer.toString(content.length).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(content);
+            }
+        } catch (IOException e) {
+            log.debug("Error reading configuration state of '" + metadataFolder + "'", e);
+            return null;
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @Nullable
+    static String getConfig(@NotNull String projectId, @NotNull String configStamp) {
+        synchronized (cache) {
+            CachedConfig config = cache.get(projectId);
+            return config != null && config.stamp().equals(configStamp) ? config.data() : null;
+        }
+    }
+
+    static void putConfig(@NotNull String projectId, @NotNull String configStamp, @NotNull String data) {
+        synchronized (cache) {
+            cache.put(projectId, new CachedConfig(configStamp, data));
+        }
+    }
+
+    static void invalidate(@NotNull String projectId) {
+        synchronized (cache) {
+            cache.remove(projectId);
+        }
+    }
+
+    private record CachedConfig(@NotNull String stamp, @NotNull String data) {
+    }
+}
@@ -222,11 +222,19 @@ public abstract class BaseWebSession extends AbstractSessionPersistent {
     }
 
     public void addSessionProject(@NotNull String projectId) throws DBException {
-        userContext.getAccessibleProjectIds().add(projectId);
+        // Project index listener expects context changes under the context lock
+        synchronized (userContext) {
+            userContext.getAccessibleProjectIds().add(projectId);
+            userContext.fireContextChanged();
+        }
     }
 
     public void removeSessionProject(@Nullable String projectId) throws DBException {
-        userContext.getAccessibleProjectIds().remove(projectId);
+        // Project index listener expects context changes under the context lock
+        synchronized (userContext) {
+            userContext.getAccessibleProjectIds().remove(projectId);
+            userContext.fireContextChanged();
+        }
     }
 
     public abstract void addSessionMessage(WebServerMessage message);
@@ -0,0 +1,29 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model.session;
+
+/**
+ * Async task scheduling lane.
+ * Each lane has its own concurrency limits, so short interactive tasks
+ * are never queued behind long-running bulk tasks.
+ */
+public enum WebAsyncTaskLane {
+    // Short tasks the user is waiting for (completion, metadata, transaction control)
+    INTERACTIVE,
+    // Long-running tasks (query execution, data export/import)
+    BULK
+}
@@ -24,6 +24,8 @@ import org.jkiss.dbeaver.model.runtime.DBRRunnableWithResult;
 public abstract class WebAsyncTaskProcessor<TYPE> extends DBRRunnableWithResult<TYPE> {
 
     protected Object extendedResults;
+    // Result pushed to the client in the task finish event. Must be serializable to JSON.
+    protected Object eventResult;
 
     public Object getExtendedResults() {
         return extendedResults;
@@ -32,4 +34,12 @@ public abstract class WebAsyncTaskProcessor<TYPE> extends DBRRunnableWithResult<
     public void setExtendedResults(Object extendedResults) {
         this.extendedResults = extendedResults;
     }
+
+    public Object getEventResult() {
+        return eventResult;
+    }
+
+    public void setEventResult(Object eventResult) {
+        this.eventResult = eventResult;
+    }
 }
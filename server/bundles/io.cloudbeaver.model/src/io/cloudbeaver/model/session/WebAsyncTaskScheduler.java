@@ -0,0 +1,305 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model.session;
+
+import io.cloudbeaver.model.WebAsyncTaskInfo;
+import io.cloudbeaver.model.metrics.WebMetricsRegistry;
+import io.cloudbeaver.service.sql.WebSQLConstants;
+import io.cloudbeaver.utils.WebAppUtils;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+import java.util.function.IntSupplier;
+
+/**
+ * Application-wide async tasks scheduler.
+ * <p>
+ * Tasks are grouped by owner (user or anonymous session). Each owner may run a limited number
+ * of tasks in each lane, and each lane has a global limit of running tasks.
+ * Tasks above the limits are queued instead of being rejected.
+ * When a slot becomes free, the next task is taken from the owner which was served the least,
+ * so a single owner with many queued tasks can't starve other owners.
+ */
+public class WebAsyncTaskScheduler {
+
+    private static final Log log = Log.getLog(WebAsyncTaskScheduler.class);
+
+    private static final WebAsyncTaskScheduler instance = createInstance();
+
+    public static WebAsyncTaskScheduler getInstance() {
+        return instance;
+    }
+
+    private final Map<WebAsyncTaskLane, LaneState> lanes = new EnumMap<>(WebAsyncTaskLane.class);
+    // Queued tasks by task ID
+    private final Map<String, QueuedTask> queuedTasks = new HashMap<>();
+    private final IntSupplier maxRunningTasks;
+    private final IntSupplier maxOwnerRunningTasks;
+
+    /**
+     * Creates scheduler with the specified limits (read on each dispatch).
+     * Application uses the shared instance with limits from resource quotas.
+     */
+    public WebAsyncTaskScheduler(@NotNull IntSupplier maxRunningTasks, @NotNull IntSupplier maxOwnerRunningTasks) {
+        this.maxRunningTasks = maxRunningTasks;
+        this.maxOwnerRunningTasks = maxOwnerRunningTasks;
+        for (WebAsyncTaskLane lane : WebAsyncTaskLane.values()) {
+            lanes.put(lane, new LaneState(lane));
+        }
+    }
+
+    private static WebAsyncTaskScheduler createInstance() {
+        WebAsyncTaskScheduler scheduler = new WebAsyncTaskScheduler(
+            () -> getQuota(WebSQLConstants.QUOTA_PROP_ASYNC_MAX_RUNNING_TASKS, WebSQLConstants.ASYNC_MAX_RUNNING_TASKS),
+            // No per-owner limit unless it is configured
+            () -> getQuota(WebSQLConstants.QUOTA_PROP_QUERY_LIMIT, Integer.MAX_VALUE));
+        WebMetricsRegistry metrics = WebMetricsRegistry.getInstance();
+        for (WebAsyncTaskLane lane : WebAsyncTaskLane.values()) {
+            metrics.gauge("cb_async_tasks_running_" + lane.name().toLowerCase(Locale.ENGLISH),
+                "Running async tasks in " + lane.name().toLowerCase(Locale.ENGLISH) + " lane",
+                () -> scheduler.getRunningTaskCount(lane));
+        }
+        metrics.gauge("cb_async_tasks_queued", "Async tasks waiting in the queue", scheduler::getQueuedTaskCount);
+        return scheduler;
+    }
+
+    /**
+     * Submits task job. Job is scheduled immediately if limits allow, otherwise task is queued.
+     *
+     * @param ownerId owner ID. Limits and fair queuing are applied per owner.
+     */
+    public void submit(
+        @NotNull String ownerId,
+        @NotNull WebAsyncTaskLane lane,
+        @NotNull WebAsyncTaskInfo task,
+        @NotNull AbstractJob job
+    ) {
+        synchronized (this) {
+            LaneState laneState = lanes.get(lane);
+            OwnerQueue owner = laneState.getOwner(ownerId);
+            QueuedTask queuedTask = new QueuedTask(task, job, laneState, owner);
+            task.setQueued(true);
+            task.setStatus("Queued");
+            owner.queue.add(queuedTask);
+            queuedTasks.put(task.getId(), queuedTask);
+            dispatch(laneState);
+        }
+    }
+
+    /**
+     * Removes task from the queue.
+     *
+     * @return true if task was queued and now removed, false if it was already started or isn't known
+     */
+    public boolean cancel(@NotNull WebAsyncTaskInfo task) {
+        synchronized (this) {
+            QueuedTask queuedTask = queuedTasks.remove(task.getId());
+            if (queuedTask == null) {
+                return false;
+            }
+            queuedTask.owner.queue.remove(queuedTask);
+            queuedTask.lane.removeOwnerIfIdle(queuedTask.owner);
+        }
+        task.setQueued(false);
+        task.setStatus("Cancelled");
+        task.setJobError(new InterruptedException("Task was cancelled before it was started"));
+        return true;
+    }
+
+    /**
+     * Returns task position (1-based) in its owner's lane queue, or null if task isn't queued.
+     */
+    @Nullable
+    public Integer getQueuePosition(@NotNull WebAsyncTaskInfo task) {
+        synchronized (this) {
+            QueuedTask queuedTask = queuedTasks.get(task.getId());
+            if (queuedTask == null) {
+                return null;
+            }
+            int position = 1;
+            for (QueuedTask ownerTask : queuedTask.owner.queue) {
+                if (ownerTask == queuedTask) {
+                    return position;
+                }
+                position++;
+            }
+            return null;
+        }
+    }
+
+    public int getQueuedTaskCount() {
+        synchronized (this) {
+            return queuedTasks.size();
+        }
+    }
+
+    public int getRunningTaskCount(@NotNull WebAsyncTaskLane lane) {
+        synchronized (this) {
+            return lanes.get(lane).running;
+        }
+    }
+
+    private void dispatch(@NotNull LaneState lane) {
+        int maxRunning = maxRunningTasks.getAsInt();
+        int maxOwnerRunning = maxOwnerRunningTasks.getAsInt();
+        while (lane.running < maxRunning) {
+            OwnerQueue owner = lane.nextOwner(maxOwnerRunning);
+            if (owner == null) {
+                break;
+            }
+            QueuedTask queuedTask = owner.queue.poll();
+            queuedTasks.remove(queuedTask.task.getId());
+            owner.running++;
+            owner.served++;
+            lane.running++;
+            start(queuedTask);
+        }
+    }
+
+    private void start(@NotNull QueuedTask queuedTask) {
+        AbstractJob job = queuedTask.job;
+        job.addJobChangeListener(new JobChangeAdapter() {
+            @Override
+            public void done(IJobChangeEvent event) {
+                release(queuedTask);
+            }
+        });
+        WebAsyncTaskInfo task = queuedTask.task;
+        task.setJob(job);
+        task.setQueued(false);
+        task.setStatus("Started");
+        try {
+            job.schedule();
+        } catch (Exception e) {
+            log.error("Error scheduling task '" + task.getName() + "'", e);
+            task.setJobError(e);
+            release(queuedTask);
+        }
+    }
+
+    private void release(@NotNull QueuedTask queuedTask) {
+        synchronized (this) {
+            if (queuedTask.released) {
+                return;
+            }
+            queuedTask.released = true;
+            LaneState lane = queuedTask.lane;
+            queuedTask.owner.running--;
+            lane.running--;
+            lane.removeOwnerIfIdle(queuedTask.owner);
+            dispatch(lane);
+        }
+    }
+
+    private static int getQuota(@NotNull String quotaId, int defaultValue) {
+        int value = CommonUtils.toInt(
+            WebAppUtils.getWebApplication().getAppConfiguration().getResourceQuota(quotaId),
+            defaultValue);
+        return value > 0 ? value : defaultValue;
+    }
+
+    private static class LaneState {
+        private final WebAsyncTaskLane lane;
+        // Active owners: with running or queued tasks
+        private final Map<String, OwnerQueue> owners = new LinkedHashMap<>();
+        private int running;
+
+        LaneState(@NotNull WebAsyncTaskLane lane) {
+            this.lane = lane;
+        }
+
+        @NotNull
+        OwnerQueue getOwner(@NotNull String ownerId) {
+            OwnerQueue owner = owners.get(ownerId);
+            if (owner == null) {
+                owner = new OwnerQueue(ownerId);
+                // New owner starts with the least served count among active owners,
+                // so it gets its fair share from now on but doesn't take over the lane
+                long minServed = Long.MAX_VALUE;
+                for (OwnerQueue activeOwner : owners.values()) {
+                    minServed = Math.min(minServed, activeOwner.served);
+                }
+                owner.served = owners.isEmpty() ? 0 : minServed;
+                owners.put(ownerId, owner);
+            }
+            return owner;
+        }
+
+        @Nullable
+        OwnerQueue nextOwner(int maxOwnerRunning) {
+            OwnerQueue next = null;
+            for (OwnerQueue owner : owners.values()) {
+                if (owner.queue.isEmpty() || owner.running >= maxOwnerRunning) {
+                    continue;
+                }
+                if (next == null || owner.served < next.served) {
+                    next = owner;
+                }
+            }
+            return next;
+        }
+
+        void removeOwnerIfIdle(@NotNull OwnerQueue owner) {
+            if (owner.running <= 0 && owner.queue.isEmpty()) {
+                owners.remove(owner.ownerId);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return lane.name();
+        }
+    }
+
+    private static class OwnerQueue {
+        private final String ownerId;
+        private final Deque<QueuedTask> queue = new ArrayDeque<>();
+        private int running;
+        // Number of tasks started for this owner while it was active
+        private long served;
+
+        OwnerQueue(@NotNull String ownerId) {
+            this.ownerId = ownerId;
+        }
+    }
+
+    private static class QueuedTask {
+        private final WebAsyncTaskInfo task;
+        private final AbstractJob job;
+        private final LaneState lane;
+        private final OwnerQueue owner;
+        private boolean released;
+
+        QueuedTask(
+            @NotNull WebAsyncTaskInfo task,
+            @NotNull AbstractJob job,
+            @NotNull LaneState lane,
+            @NotNull OwnerQueue owner
+        ) {
+            this.task = task;
+            this.job = job;
+            this.lane = lane;
+            this.owner = owner;
+        }
+    }
+}
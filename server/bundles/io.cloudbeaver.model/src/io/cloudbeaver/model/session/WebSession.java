@@ -28,12 +28,14 @@ import io.cloudbeaver.model.app.WebApplication;
 import io.cloudbeaver.model.app.WebAuthApplication;
 import io.cloudbeaver.model.user.WebUser;
 import io.cloudbeaver.service.DBWSessionHandler;
-import io.cloudbeaver.service.sql.WebSQLConstants;
 import io.cloudbeaver.utils.CBModelConstants;
 import io.cloudbeaver.utils.WebDataSourceUtils;
+import io.cloudbeaver.websocket.WSAsyncTaskEvent;
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
@@ -61,7 +63,6 @@ import org.jkiss.dbeaver.model.runtime.ProxyProgressMonitor;
 import org.jkiss.dbeaver.model.security.SMAdminController;
 import org.jkiss.dbeaver.model.security.SMConstants;
 import org.jkiss.dbeaver.model.security.SMController;
-import org.jkiss.dbeaver.model.sql.DBQuotaException;
 import org.jkiss.dbeaver.model.websocket.event.MessageType;
 import org.jkiss.dbeaver.model.websocket.event.WSEventType;
 import org.jkiss.dbeaver.model.websocket.event.WSSessionLogUpdatedEvent;
@@ -91,7 +92,6 @@ public class WebSession extends BaseWebSession
     private static final AtomicInteger TASK_ID = new AtomicInteger();
 
     public static String RUNTIME_PARAM_AUTH_INFOS = "auth-infos";
-    private final AtomicInteger taskCount = new AtomicInteger();
 
     private String lastRemoteAddr;
     private String lastRemoteUserAgent;
@@ -108,7 +108,10 @@ public class WebSession extends BaseWebSession
     // Map of auth tokens. Key is authentication provider
     private final List<WebAuthInfo> authTokens = new ArrayList<>();
 
-    private DBNModel navigatorModel;
+    // Created on first access. Published only after initialization
+    private volatile DBNModel navigatorModel;
+    // Model being initialized. Accessed only under the session lock
+    private DBNModel initializingNavigatorModel;
     private final DBRProgressMonitor progressMonitor = new SessionProgressMonitor();
     private final Map<String, DBWSessionHandler> sessionHandlers;
 
@@ -276,10 +279,6 @@ public class WebSession extends BaseWebSession
 
         loadProjects();
 
-        this.navigatorModel = new DBNModel(DBWorkbench.getPlatform(), getWorkspace().getProjects());
-        this.navigatorModel.setModelAuthContext(getWorkspace().getAuthContext());
-        this.navigatorModel.initialize();
-
         this.locale = Locale.getDefault().getLanguage();
     }
 
@@ -293,8 +292,12 @@ public class WebSession extends BaseWebSession
             return;
         }
         try {
-            RMController controller = getRmController();
-            RMProject[] rmProjects = controller.listAccessibleProjects();
+            // Projects list was already read during user context refresh
+            RMProject[] rmProjects = userContext.getAccessibleProjects();
+            if (rmProjects == null) {
+                RMController controller = getRmController();
+                rmProjects = controller.listAccessibleProjects();
+            }
             for (RMProject project : rmProjects) {
                 createWebProject(project);
             }
@@ -399,8 +402,33 @@ public class WebSession extends BaseWebSession
         this.locale = locale != null ? locale : Locale.getDefault().getLanguage();
     }
 
+    /**
+     * Returns navigator model of session projects.
+     * Model is created on first access, so sessions which don't browse database objects don't allocate it.
+     */
     public DBNModel getNavigatorModel() {
-        return navigatorModel;
+        DBNModel model = navigatorModel;
+        if (model == null) {
+            synchronized (this) {
+                model = navigatorModel;
+                if (model == null) {
+                    if (initializingNavigatorModel != null) {
+                        // Re-entrant call from the model initialization (only the lock holder can get here)
+                        return initializingNavigatorModel;
+                    }
+                    model = new DBNModel(DBWorkbench.getPlatform(), getWorkspace().getProjects());
+                    model.setModelAuthContext(getWorkspace().getAuthContext());
+                    initializingNavigatorModel = model;
+                    try {
+                        model.initialize();
+                    } finally {
+                        initializingNavigatorModel = null;
+                    }
+                    navigatorModel = model;
+                }
+            }
+        }
+        return model;
     }
 
     /**
@@ -446,6 +474,7 @@ public class WebSession extends BaseWebSession
 
     @Override
     public void close() {
+        cancelQueuedTasks();
         try {
             resetNavigationModel();
             resetSessionCache();
@@ -463,6 +492,7 @@ public class WebSession extends BaseWebSession
 
     @Override
     public void close(boolean clearTokens, boolean sendSessionExpiredEvent) {
+        cancelQueuedTasks();
         try {
             resetNavigationModel();
             resetSessionCache();
@@ -516,7 +546,8 @@ public class WebSession extends BaseWebSession
             if (taskInfo == null) {
                 throw new DBWebException("Task '" + taskId + "' not found");
             }
-            taskInfo.setRunning(taskInfo.getJob() != null && !taskInfo.getJob().isFinished());
+            AbstractJob job = taskInfo.getJob();
+            taskInfo.setRunning(taskInfo.isQueued() || (job != null && !job.isFinished()));
             if (removeOnFinish && !taskInfo.isRunning()) {
                 asyncTasks.remove(taskId);
             }
@@ -532,6 +563,11 @@ public class WebSession extends BaseWebSession
                 throw new DBWebException("Task '" + taskId + "' not found");
             }
         }
+        if (WebAsyncTaskScheduler.getInstance().cancel(taskInfo)) {
+            taskInfo.setRunning(false);
+            sendAsyncTaskEvent(taskInfo, null);
+            return true;
+        }
         AbstractJob job = taskInfo.getJob();
         if (job != null) {
             job.cancel();
@@ -539,23 +575,40 @@ public class WebSession extends BaseWebSession
         return true;
     }
 
+    private void cancelQueuedTasks() {
+        List<WebAsyncTaskInfo> tasks;
+        synchronized (asyncTasks) {
+            tasks = new ArrayList<>(asyncTasks.values());
+        }
+        WebAsyncTaskScheduler scheduler = WebAsyncTaskScheduler.getInstance();
+        for (WebAsyncTaskInfo task : tasks) {
+            if (task.isQueued()) {
+                scheduler.cancel(task);
+            }
+        }
+    }
+
     public WebAsyncTaskInfo createAndRunAsyncTask(String taskName, WebAsyncTaskProcessor<?> runnable) {
+        return createAndRunAsyncTask(taskName, WebAsyncTaskLane.BULK, runnable);
+    }
+
+    /**
+     * Creates async task and submits it to the application tasks scheduler.
+     * Task is queued if the user or the lane reached its running tasks limit.
+     */
+    public WebAsyncTaskInfo createAndRunAsyncTask(
+        String taskName,
+        WebAsyncTaskLane lane,
+        WebAsyncTaskProcessor<?> runnable
+    ) {
         int taskId = TASK_ID.incrementAndGet();
         WebAsyncTaskInfo asyncTask = getAsyncTask(String.valueOf(taskId), taskName, true);
 
         AbstractJob job = new AbstractJob(taskName) {
             @Override
             protected IStatus run(DBRProgressMonitor monitor) {
-                int curTaskCount = taskCount.incrementAndGet();
-
                 TaskProgressMonitor taskMonitor = new TaskProgressMonitor(monitor, asyncTask);
                 try {
-                    Number queryLimit = application.getAppConfiguration().getResourceQuota(WebSQLConstants.QUOTA_PROP_QUERY_LIMIT);
-                    if (queryLimit != null && curTaskCount > queryLimit.intValue()) {
-                        throw new DBQuotaException(
-                            "Maximum simultaneous queries quota exceeded", WebSQLConstants.QUOTA_PROP_QUERY_LIMIT, queryLimit.intValue(), curTaskCount);
-                    }
-
                     runnable.run(taskMonitor);
                     asyncTask.setResult(runnable.getResult());
                     asyncTask.setExtendedResult(runnable.getExtendedResults());
@@ -566,19 +619,46 @@ public class WebSession extends BaseWebSession
                     asyncTask.setJobError(e.getTargetException());
                 } catch (Exception e) {
                     asyncTask.setJobError(e);
-                } finally {
-                    taskCount.decrementAndGet();
                 }
                 return Status.OK_STATUS;
             }
         };
 
-        asyncTask.setJob(job);
+        job.addJobChangeListener(new JobChangeAdapter() {
+            @Override
+            public void running(IJobChangeEvent event) {
+                sendAsyncTaskEvent(asyncTask, null);
+            }
+
+            @Override
+            public void done(IJobChangeEvent event) {
+                asyncTask.setRunning(false);
+                sendAsyncTaskEvent(asyncTask, runnable.getEventResult());
+            }
+        });
+
         asyncTask.setRunning(true);
-        job.schedule();
+        String userId = getUserId();
+        WebAsyncTaskScheduler.getInstance().submit(
+            userId != null ? userId : getSessionId(), lane, asyncTask, job);
         return asyncTask;
     }
 
+    /**
+     * Notifies client about async task state change, so it doesn't need to poll the task status.
+     */
+    private void sendAsyncTaskEvent(@NotNull WebAsyncTaskInfo asyncTask, @Nullable Object eventResult) {
+        try {
+            addSessionEvent(new WSAsyncTaskEvent(
+                this.userContext.getSmSessionId(),
+                this.userContext.getUserId(),
+                asyncTask,
+                eventResult));
+        } catch (Exception e) {
+            log.debug("Error sending async task '" + asyncTask.getId() + "' event", e);
+        }
+    }
+
     public void addSessionError(Throwable exception) {
         addSessionMessage(new WebServerMessage(exception));
     }
@@ -911,8 +991,9 @@ public class WebSession extends BaseWebSession
      */
     public void addSessionProject(@NotNull WebSessionProjectImpl project) {
         getWorkspace().addProject(project);
-        if (navigatorModel != null) {
-            navigatorModel.getRoot().addProject(project, false);
+        DBNModel model = navigatorModel;
+        if (model != null) {
+            model.getRoot().addProject(project, false);
         }
     }
 
@@ -924,8 +1005,9 @@ public class WebSession extends BaseWebSession
             project.dispose();
         }
         getWorkspace().removeProject(project);
-        if (navigatorModel != null) {
-            navigatorModel.getRoot().removeProject(project);
+        DBNModel model = navigatorModel;
+        if (model != null) {
+            model.getRoot().removeProject(project);
         }
     }
 
@@ -977,9 +1059,13 @@ public class WebSession extends BaseWebSession
         }
     }
 
-    private static class TaskProgressMonitor extends ProxyProgressMonitor {
+    private class TaskProgressMonitor extends ProxyProgressMonitor {
+
+        // Min interval between task progress events (ms)
+        private static final long PROGRESS_EVENT_INTERVAL = 500;
 
         private final WebAsyncTaskInfo asyncTask;
+        private long lastEventTime;
 
         public TaskProgressMonitor(DBRProgressMonitor original, WebAsyncTaskInfo asyncTask) {
             super(original);
@@ -989,13 +1075,22 @@ public class WebSession extends BaseWebSession
         @Override
         public void beginTask(String name, int totalWork) {
             super.beginTask(name, totalWork);
-            asyncTask.setStatus(name);
+            updateStatus(name);
         }
 
         @Override
         public void subTask(String name) {
             super.subTask(name);
+            updateStatus(name);
+        }
+
+        private void updateStatus(String name) {
             asyncTask.setStatus(name);
+            long currentTime = System.currentTimeMillis();
+            if (currentTime - lastEventTime >= PROGRESS_EVENT_INTERVAL) {
+                lastEventTime = currentTime;
+                sendAsyncTaskEvent(asyncTask, null);
+            }
         }
     }
 
@@ -40,6 +40,7 @@ import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.utils.CommonUtils;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -65,7 +66,11 @@ public class WebUserContext implements SMCredentialsProvider {
     private RMController rmController;
     private DBFileController fileController;
     private Set<String> accessibleProjectIds = new HashSet<>();
+    @Nullable
+    private RMProject[] accessibleProjects;
     private final WebSessionPreferenceStore preferenceStore;
+    @Nullable
+    private volatile Consumer<WebUserContext> changeListener;
 
     public WebUserContext(WebApplication application, DBPWorkspace workspace) throws DBException {
         this.application = application;
@@ -132,10 +137,12 @@ public class WebUserContext implements SMCredentialsProvider {
     }
 
     public synchronized void refreshAccessibleProjects() throws DBException {
+        this.accessibleProjects = rmController.listAccessibleProjects();
         this.accessibleProjectIds.clear();
         this.accessibleProjectIds.addAll(
-            Arrays.stream(rmController.listAccessibleProjects()).map(RMProject::getId).collect(Collectors.toSet())
+            Arrays.stream(accessibleProjects).map(RMProject::getId).collect(Collectors.toSet())
         );
+        fireContextChanged();
     }
 
     public synchronized void refreshSMSession() throws DBException {
@@ -166,9 +173,11 @@ public class WebUserContext implements SMCredentialsProvider {
         setUserPermissions(getDefaultPermissions());
         this.smCredentials = null;
         this.user = null;
+        this.accessibleProjects = null;
         this.securityController = application.createSecurityController(this);
         this.adminSecurityController = null;
         this.secretController = null;
+        fireContextChanged();
     }
 
     @NotNull
@@ -201,6 +210,7 @@ public class WebUserContext implements SMCredentialsProvider {
 
     protected synchronized void setUser(@Nullable WebUser user) {
         this.user = user;
+        fireContextChanged();
     }
 
     public synchronized SMAdminController getAdminSecurityController() {
@@ -255,6 +265,15 @@ public class WebUserContext implements SMCredentialsProvider {
         return accessibleProjectIds;
     }
 
+    /**
+     * Returns projects read on the last accessible projects refresh
+     * or null if they were not read for the current user.
+     */
+    @Nullable
+    public synchronized RMProject[] getAccessibleProjects() {
+        return accessibleProjects;
+    }
+
     private void setRefreshToken(@Nullable String refreshToken) {
         this.refreshToken = refreshToken;
     }
@@ -262,4 +281,18 @@ public class WebUserContext implements SMCredentialsProvider {
     public WebSessionPreferenceStore getPreferenceStore() {
         return preferenceStore;
     }
+
+    /**
+     * Sets listener which is notified when user, SM session or accessible projects of this context change.
+     */
+    public void setChangeListener(@Nullable Consumer<WebUserContext> changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    void fireContextChanged() {
+        Consumer<WebUserContext> listener = changeListener;
+        if (listener != null) {
+            listener.accept(this);
+        }
+    }
 }
@@ -0,0 +1,51 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.security;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.security.SMObjectPermissionsGrant;
+import org.jkiss.dbeaver.model.security.SMObjectType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admin security controller which can read subject information for many subjects at once.
+ * Used by admin API to avoid a separate database round trip per listed user.
+ */
+public interface SMAdminBatchController {
+
+    /**
+     * Returns object permission grants of each subject (including grants inherited from subject teams).
+     * Result contains an entry for every requested subject.
+     */
+    @NotNull
+    Map<String, List<SMObjectPermissionsGrant>> getSubjectsObjectPermissionGrants(
+        @NotNull Collection<String> subjectIds,
+        @NotNull SMObjectType smObjectType
+    ) throws DBException;
+
+    /**
+     * Returns ids of auth providers linked to each user.
+     * Result contains an entry for every requested user.
+     */
+    @NotNull
+    Map<String, String[]> getUsersLinkedProviders(@NotNull Collection<String> userIds) throws DBException;
+
+}
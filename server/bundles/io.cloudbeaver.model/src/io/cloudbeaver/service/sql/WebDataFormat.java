@@ -22,5 +22,7 @@ package io.cloudbeaver.service.sql;
 public enum WebDataFormat {
     resultset,
     document,
-    timeseries
+    timeseries,
+    // Binary typed column vectors. Supported only by results stream servlet, not exposed in GraphQL API
+    columnar
 }
@@ -27,9 +27,29 @@ public class WebSQLConstants {
     public static final String QUOTA_PROP_TEXT_PREVIEW_MAX_LENGTH = "sqlTextPreviewMaxLength";
     public static final String QUOTA_PROP_BINARY_PREVIEW_MAX_LENGTH = "sqlBinaryPreviewMaxLength";
     public static final String QUOTA_PROP_RM_FILE_SIZE_LIMIT = "resourceManagerFileSizeLimit";
+    public static final String QUOTA_PROP_SQL_CURSOR_IDLE_TIMEOUT = "sqlCursorIdleTimeout";
+    public static final String QUOTA_PROP_SQL_MAX_CONTEXT_CURSORS = "sqlMaxContextCursors";
+    public static final String QUOTA_PROP_SQL_REFRESH_ROWS_CHUNK_SIZE = "sqlRefreshRowsChunkSize";
+    public static final String QUOTA_PROP_SQL_MAX_CONTEXT_RESULTS = "sqlMaxContextResults";
+    public static final String QUOTA_PROP_SQL_MAX_SESSION_RESULTS = "sqlMaxSessionResults";
+    public static final String QUOTA_PROP_SQL_RESULTS_IDLE_TIMEOUT = "sqlResultsIdleTimeout";
+    public static final String QUOTA_PROP_ASYNC_MAX_RUNNING_TASKS = "asyncMaxRunningTasks";
 
     public static final int TEXT_PREVIEW_MAX_LENGTH = 4 * 1024;
     public static final int BINARY_PREVIEW_MAX_LENGTH = 255 * 1024;
+    // Seconds
+    public static final int CURSOR_IDLE_TIMEOUT = 5 * 60;
+    // Max number of connections opened for cursors of a single SQL context
+    public static final int MAX_CONTEXT_CURSORS = 2;
+    // Max number of rows refreshed by a single query after data update
+    public static final int REFRESH_ROWS_CHUNK_SIZE = 100;
+    // Max number of results info kept in the SQL context and in the whole session
+    public static final int MAX_CONTEXT_RESULTS = 500;
+    public static final int MAX_SESSION_RESULTS = 2000;
+    // Seconds
+    public static final int RESULTS_IDLE_TIMEOUT = 60 * 60;
+    // Max number of async tasks running at once in each scheduler lane (for all users)
+    public static final int ASYNC_MAX_RUNNING_TASKS = 100;
 
     public static final String VALUE_TYPE_ATTR = "$type";
 
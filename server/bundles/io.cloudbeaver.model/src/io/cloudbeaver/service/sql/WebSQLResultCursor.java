@@ -0,0 +1,136 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCStatement;
+
+/**
+ * Open server-side cursor of query results.
+ * Keeps session, statement and result set alive between fetches of subsequent pages.
+ * Cursor works in its own isolated execution context, so the open result set doesn't block
+ * other statements of the SQL context (e.g. MySQL streaming results, SQL Server without MARS).
+ * The context is borrowed from the SQL context and released when the cursor is closed.
+ * All fetches must be done under the cursor monitor.
+ */
+public class WebSQLResultCursor implements AutoCloseable {
+
+    private static final Log log = Log.getLog(WebSQLResultCursor.class);
+
+    @NotNull
+    private final DBCSession session;
+    @NotNull
+    private final DBCStatement statement;
+    @NotNull
+    private final DBCResultSet resultSet;
+    @NotNull
+    private final DBDAttributeBinding[] bindings;
+    // Releases isolated context of the cursor, called after the cursor session is closed
+    @Nullable
+    private final Runnable contextReleaser;
+    private volatile long lastAccessTime;
+    private volatile boolean closed;
+
+    public WebSQLResultCursor(
+        @NotNull DBCSession session,
+        @NotNull DBCStatement statement,
+        @NotNull DBCResultSet resultSet,
+        @NotNull DBDAttributeBinding[] bindings,
+        @Nullable Runnable contextReleaser
+    ) {
+        this.session = session;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.bindings = bindings;
+        this.contextReleaser = contextReleaser;
+        this.lastAccessTime = System.currentTimeMillis();
+    }
+
+    @NotNull
+    public DBCSession getSession() {
+        return session;
+    }
+
+    @NotNull
+    public DBCStatement getStatement() {
+        return statement;
+    }
+
+    @NotNull
+    public DBCResultSet getResultSet() {
+        return resultSet;
+    }
+
+    /**
+     * Bindings of result set columns (as they were fetched, before conversion to the relational view)
+     */
+    @NotNull
+    public DBDAttributeBinding[] getBindings() {
+        return bindings;
+    }
+
+    public long getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    public void touch() {
+        this.lastAccessTime = System.currentTimeMillis();
+    }
+
+    public boolean isIdle(long maxIdleTime) {
+        return System.currentTimeMillis() - lastAccessTime >= maxIdleTime;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            resultSet.close();
+        } catch (Throwable e) {
+            log.debug("Error closing cursor result set", e);
+        }
+        try {
+            statement.close();
+        } catch (Throwable e) {
+            log.debug("Error closing cursor statement", e);
+        }
+        try {
+            session.close();
+        } catch (Throwable e) {
+            log.debug("Error closing cursor session", e);
+        }
+        if (contextReleaser != null) {
+            try {
+                contextReleaser.run();
+            } catch (Throwable e) {
+                log.debug("Error releasing cursor context", e);
+            }
+        }
+    }
+}
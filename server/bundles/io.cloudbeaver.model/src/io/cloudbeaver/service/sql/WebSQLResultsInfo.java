@@ -41,6 +41,9 @@ public class WebSQLResultsInfo {
     private DBDAttributeBinding[] attributes;
     private DBCTrace trace;
     private String queryText;
+    @Nullable
+    private volatile WebSQLResultCursor cursor;
+    private volatile long lastAccessTime = System.currentTimeMillis();
 
     public WebSQLResultsInfo(@NotNull DBSDataContainer dataContainer, @NotNull String id) {
         this.dataContainer = dataContainer;
@@ -141,4 +144,35 @@ public class WebSQLResultsInfo {
     public void setTrace(@NotNull DBCTrace trace) {
         this.trace = trace;
     }
+
+    public long getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    public void touch() {
+        this.lastAccessTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns open server-side cursor or null if results were fully fetched or cursor mode wasn't requested.
+     */
+    @Nullable
+    public WebSQLResultCursor getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(@Nullable WebSQLResultCursor cursor) {
+        this.cursor = cursor;
+    }
+
+    /**
+     * Closes server-side cursor (if any) and releases its statement and session.
+     */
+    public void closeCursor() {
+        WebSQLResultCursor curCursor = cursor;
+        cursor = null;
+        if (curCursor != null) {
+            curCursor.close();
+        }
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.websocket;
+
+import io.cloudbeaver.model.WebAsyncTaskInfo;
+import io.cloudbeaver.model.WebServerError;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.websocket.event.WSEvent;
+
+/**
+ * Async task state event.
+ * Sent when task is started, changes its progress status and when it is finished,
+ * so clients do not need to poll task status.
+ * Finish event may contain the task result (e.g. the first page of query results).
+ */
+public class WSAsyncTaskEvent implements WSEvent {
+
+    public static final String EVENT_ID = "cb_async_task_updated";
+    public static final String TOPIC_ID = "cb_async_tasks";
+
+    @NotNull
+    private final String id = EVENT_ID;
+    @NotNull
+    private final String topicId = TOPIC_ID;
+    @Nullable
+    private final String sessionId;
+    @Nullable
+    private final String userId;
+    private final long timestamp = System.currentTimeMillis();
+
+    @NotNull
+    private final String taskId;
+    @Nullable
+    private final String taskName;
+    private final boolean running;
+    @Nullable
+    private final String status;
+    @Nullable
+    private final Integer queuePosition;
+    @Nullable
+    private final WebServerError error;
+    @Nullable
+    private final Object taskResult;
+    @Nullable
+    private final Object eventResult;
+
+    public WSAsyncTaskEvent(
+        @Nullable String sessionId,
+        @Nullable String userId,
+        @NotNull WebAsyncTaskInfo task,
+        @Nullable Object eventResult
+    ) {
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.taskId = task.getId();
+        this.taskName = task.getName();
+        this.running = task.isRunning();
+        this.status = task.getStatus();
+        this.queuePosition = task.getQueuePosition();
+        this.error = task.getError();
+        this.taskResult = running ? null : getSimpleResult(task.getTaskResult());
+        this.eventResult = eventResult;
+    }
+
+    // Complex results are only available through the task info API
+    @Nullable
+    private static Object getSimpleResult(@Nullable Object result) {
+        return result instanceof String || result instanceof Number || result instanceof Boolean ? result : null;
+    }
+
+    @NotNull
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @NotNull
+    @Override
+    public String getTopicId() {
+        return topicId;
+    }
+
+    @Nullable
+    @Override
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    @Nullable
+    @Override
+    public String getUserId() {
+        return userId;
+    }
+
+    @Override
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @NotNull
+    public String getTaskId() {
+        return taskId;
+    }
+
+    @Nullable
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Nullable
+    public String getStatus() {
+        return status;
+    }
+
+    @Nullable
+    public Integer getQueuePosition() {
+        return queuePosition;
+    }
+
+    @Nullable
+    public WebServerError getError() {
+        return error;
+    }
+
+    @Nullable
+    public Object getTaskResult() {
+        return taskResult;
+    }
+
+    @Nullable
+    public Object getEventResult() {
+        return eventResult;
+    }
+}
@@ -20,6 +20,7 @@ import io.cloudbeaver.DBWebException;
 import io.cloudbeaver.model.session.BaseWebSession;
 import io.cloudbeaver.model.session.WebHeadlessSession;
 import io.cloudbeaver.model.session.WebSession;
+import io.cloudbeaver.model.user.WebUser;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.eclipse.jetty.server.Request;
@@ -27,6 +28,7 @@ import org.eclipse.jetty.server.Session;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
+import org.jkiss.utils.ArrayUtils;
 
 import java.util.Collection;
 
@@ -56,6 +58,49 @@ public interface AppWebSessionManager {
 
     Collection<BaseWebSession> getAllActiveSessions();
 
+    /**
+     * Returns active sessions of the specified user
+     */
+    @NotNull
+    default Collection<BaseWebSession> getUserSessions(@NotNull String userId) {
+        return getAllActiveSessions().stream()
+            .filter(session -> userId.equals(session.getUserContext().getUserId()))
+            .toList();
+    }
+
+    /**
+     * Returns active sessions linked with the specified security manager session
+     */
+    @NotNull
+    default Collection<BaseWebSession> getSmSessions(@NotNull String smSessionId) {
+        return getAllActiveSessions().stream()
+            .filter(session -> smSessionId.equals(session.getUserContext().getSmSessionId()))
+            .toList();
+    }
+
+    /**
+     * Returns active sessions of users which are members of the specified team
+     */
+    @NotNull
+    default Collection<BaseWebSession> getTeamSessions(@NotNull String teamId) {
+        return getAllActiveSessions().stream()
+            .filter(session -> {
+                WebUser user = session.getUserContext().getUser();
+                return user != null && ArrayUtils.containsIgnoreCase(user.getTeams(), teamId);
+            })
+            .toList();
+    }
+
+    /**
+     * Returns active sessions which have access to the specified project
+     */
+    @NotNull
+    default Collection<BaseWebSession> getProjectSessions(@NotNull String projectId) {
+        return getAllActiveSessions().stream()
+            .filter(session -> session.isProjectAccessible(projectId))
+            .toList();
+    }
+
     WebSession getOrRestoreSession(Request httpRequest);
 
     WebHeadlessSession getHeadlessSession(Request request, Session session, boolean create) throws DBException;
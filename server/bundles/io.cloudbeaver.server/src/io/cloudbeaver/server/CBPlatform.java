@@ -20,6 +20,7 @@ package io.cloudbeaver.server;
 import io.cloudbeaver.auth.NoAuthCredentialsProvider;
 import io.cloudbeaver.server.jobs.SessionStateJob;
 import io.cloudbeaver.server.jobs.WebDataSourceMonitorJob;
+import io.cloudbeaver.server.jobs.WebSQLResultsMonitorJob;
 import io.cloudbeaver.server.jobs.WebSessionMonitorJob;
 import io.cloudbeaver.service.session.WebSessionManager;
 import org.eclipse.core.runtime.IStatus;
@@ -92,6 +93,9 @@ public class CBPlatform extends BaseGQLPlatform {
 
             new SessionStateJob(this, webSessionManager)
                 .scheduleMonitor();
+
+            new WebSQLResultsMonitorJob(this, webSessionManager)
+                .scheduleMonitor();
         }
 
         new WebDataSourceMonitorJob(this, getSessionManager())
@@ -21,11 +21,24 @@ import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.model.websocket.event.WSEventType;
 import org.jkiss.dbeaver.model.websocket.event.WSProjectEvent;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Notify all active user session that project has been updated
  */
 public abstract class WSAbstractProjectEventHandler<EVENT extends WSProjectEvent> extends WSDefaultEventHandler<EVENT> {
 
+    @NotNull
+    @Override
+    protected Collection<BaseWebSession> getEventSessions(@NotNull EVENT event) {
+        String projectId = event.getProjectId();
+        if (projectId == null) {
+            return List.of();
+        }
+        return getSessionManager().getProjectSessions(projectId);
+    }
+
     @Override
     protected boolean isAcceptableInSession(@NotNull BaseWebSession activeUserSession, @NotNull EVENT event) {
         return super.isAcceptableInSession(activeUserSession, event) &&
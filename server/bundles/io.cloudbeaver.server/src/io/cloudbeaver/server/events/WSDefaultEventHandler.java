@@ -17,6 +17,7 @@
 package io.cloudbeaver.server.events;
 
 import io.cloudbeaver.model.session.BaseWebSession;
+import io.cloudbeaver.server.AppWebSessionManager;
 import io.cloudbeaver.server.CBPlatform;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.Log;
@@ -32,8 +33,7 @@ public class WSDefaultEventHandler<EVENT extends WSEvent> implements WSEventHand
     @Override
     public void handleEvent(@NotNull EVENT event) {
         log.debug(event.getTopicId() + " event handled");
-        Collection<BaseWebSession> allSessions = CBPlatform.getInstance().getSessionManager().getAllActiveSessions();
-        for (var activeUserSession : allSessions) {
+        for (var activeUserSession : getEventSessions(event)) {
             if (!isAcceptableInSession(activeUserSession, event)) {
                 log.debug("Cannot handle " + event.getTopicId() + " event '" + event.getId() +
                     "' in session " + activeUserSession.getSessionId());
@@ -44,6 +44,19 @@ public class WSDefaultEventHandler<EVENT extends WSEvent> implements WSEventHand
         }
     }
 
+    /**
+     * Returns sessions which may be affected by the event. By default, all active sessions are checked.
+     */
+    @NotNull
+    protected Collection<BaseWebSession> getEventSessions(@NotNull EVENT event) {
+        return getSessionManager().getAllActiveSessions();
+    }
+
+    @NotNull
+    protected AppWebSessionManager getSessionManager() {
+        return CBPlatform.getInstance().getSessionManager();
+    }
+
     protected void updateSessionData(@NotNull BaseWebSession activeUserSession, @NotNull EVENT event) {
         activeUserSession.addSessionEvent(event);
     }
@@ -18,11 +18,33 @@ package io.cloudbeaver.server.events;
 
 import io.cloudbeaver.model.WebServerMessage;
 import io.cloudbeaver.model.session.BaseWebSession;
+import io.cloudbeaver.server.AppWebSessionManager;
+import io.cloudbeaver.server.CBPlatform;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.model.websocket.event.WSSessionLogUpdatedEvent;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 public class WSLogEventHandler extends WSDefaultEventHandler<WSSessionLogUpdatedEvent> {
 
+    @NotNull
+    @Override
+    protected Collection<BaseWebSession> getEventSessions(@NotNull WSSessionLogUpdatedEvent event) {
+        String sessionId = event.getSessionId();
+        if (sessionId == null) {
+            return List.of();
+        }
+        AppWebSessionManager sessionManager = CBPlatform.getInstance().getSessionManager();
+        List<BaseWebSession> sessions = new ArrayList<>(sessionManager.getSmSessions(sessionId));
+        BaseWebSession session = sessionManager.getSession(sessionId);
+        if (session != null && !sessions.contains(session)) {
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
     protected void updateSessionData(@NotNull BaseWebSession activeUserSession, @NotNull WSSessionLogUpdatedEvent event) {
         activeUserSession.addSessionMessage(new WebServerMessage(event.getMessageType(), event.getMessage()));
     }
@@ -19,6 +19,7 @@ package io.cloudbeaver.server.events;
 import io.cloudbeaver.WebSessionGlobalProjectImpl;
 import io.cloudbeaver.model.session.BaseWebSession;
 import io.cloudbeaver.model.session.WebSession;
+import io.cloudbeaver.server.AppWebSessionManager;
 import io.cloudbeaver.server.CBApplication;
 import io.cloudbeaver.server.CBPlatform;
 import io.cloudbeaver.service.security.SMUtils;
@@ -34,10 +35,7 @@ import org.jkiss.dbeaver.model.websocket.event.datasource.WSDataSourceEvent;
 import org.jkiss.dbeaver.model.websocket.event.datasource.WSDataSourceProperty;
 import org.jkiss.dbeaver.model.websocket.event.permissions.WSObjectPermissionEvent;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -47,6 +45,8 @@ public class WSObjectPermissionUpdatedEventHandler extends WSDefaultEventHandler
     @Override
     public void handleEvent(@NotNull WSObjectPermissionEvent event) {
         String objectId = event.getObjectId();
+        AppWebSessionManager sessionManager = CBPlatform.getInstance().getSessionManager();
+        Collection<BaseWebSession> eventSessions = sessionManager.getAllActiveSessions();
         Consumer<BaseWebSession> runnable = switch (event.getSmObjectType()) {
             case project:
                 yield getUpdateUserProjectsInfoConsumer(event, objectId);
@@ -56,7 +56,17 @@ public class WSObjectPermissionUpdatedEventHandler extends WSDefaultEventHandler
                     Set<String> dataSourcePermissions = smController.getObjectPermissionGrants(event.getObjectId(), event.getSmObjectType())
                         .stream()
                         .map(SMObjectPermissionsGrant::getSubjectId).collect(Collectors.toSet());
-                    yield getUpdateUserDataSourcesInfoConsumer(event, objectId, dataSourcePermissions);
+                    // Sessions of users which have access to the data source (directly or via team)
+                    Set<BaseWebSession> permittedSessions = Collections.newSetFromMap(new IdentityHashMap<>());
+                    for (String subjectId : dataSourcePermissions) {
+                        permittedSessions.addAll(sessionManager.getUserSessions(subjectId));
+                        permittedSessions.addAll(sessionManager.getTeamSessions(subjectId));
+                    }
+                    if (WSEventType.OBJECT_PERMISSIONS_UPDATED.getEventId().equals(event.getId())) {
+                        // Only sessions which got access may be affected
+                        eventSessions = permittedSessions;
+                    }
+                    yield getUpdateUserDataSourcesInfoConsumer(event, objectId, permittedSessions);
                 } catch (DBException e) {
                     log.error("Error getting permissions for data source " + objectId, e);
                     yield null;
@@ -66,8 +76,7 @@ public class WSObjectPermissionUpdatedEventHandler extends WSDefaultEventHandler
             return;
         }
         log.debug(event.getTopicId() + " event handled");
-        Collection<BaseWebSession> allSessions = CBPlatform.getInstance().getSessionManager().getAllActiveSessions();
-        for (var activeUserSession : allSessions) {
+        for (var activeUserSession : eventSessions) {
             if (!isAcceptableInSession(activeUserSession, event)) {
                 log.debug("Cannot handle %s event '%s' in session %s".formatted(
                     event.getTopicId(),
@@ -85,7 +94,7 @@ public class WSObjectPermissionUpdatedEventHandler extends WSDefaultEventHandler
     private Consumer<BaseWebSession> getUpdateUserDataSourcesInfoConsumer(
         @NotNull WSObjectPermissionEvent event,
         @NotNull String dataSourceId,
-        @NotNull Set<String> dataSourcePermissions
+        @NotNull Set<BaseWebSession> permittedSessions
     ) {
         return (activeUserSession) -> {
             // we have accessible data sources only in web session
@@ -96,10 +105,7 @@ public class WSObjectPermissionUpdatedEventHandler extends WSDefaultEventHandler
             if (!isAcceptableInSession(webSession, event)) {
                 return;
             }
-            var user = activeUserSession.getUserContext().getUser();
-            var userSubjects = new HashSet<>(Set.of(user.getTeams()));
-            userSubjects.add(user.getUserId());
-            boolean shouldBeAccessible = dataSourcePermissions.stream().anyMatch(userSubjects::contains);
+            boolean shouldBeAccessible = permittedSessions.contains(activeUserSession);
             List<String> dataSources = List.of(dataSourceId);
             WebSessionGlobalProjectImpl project = webSession.getGlobalProject();
             if (project == null) {
@@ -24,10 +24,24 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.websocket.event.WSEventType;
 import org.jkiss.dbeaver.model.websocket.event.WSProjectUpdateEvent;
 
+import java.util.Collection;
+
 public class WSProjectUpdatedEventHandler extends WSAbstractProjectEventHandler<WSProjectUpdateEvent> {
 
     private static final Log log = Log.getLog(WSProjectUpdatedEventHandler.class);
 
+    /**
+     * Added project is not accessible in any session yet, so all active sessions are checked.
+     */
+    @NotNull
+    @Override
+    protected Collection<BaseWebSession> getEventSessions(@NotNull WSProjectUpdateEvent event) {
+        if (WSEventType.RM_PROJECT_ADDED.getEventId().equals(event.getId())) {
+            return getSessionManager().getAllActiveSessions();
+        }
+        return super.getEventSessions(event);
+    }
+
     @Override
     protected void updateSessionData(@NotNull BaseWebSession activeUserSession, @NotNull WSProjectUpdateEvent event) {
         var eventId = event.getId();
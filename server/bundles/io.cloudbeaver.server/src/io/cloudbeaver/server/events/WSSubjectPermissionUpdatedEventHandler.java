@@ -18,6 +18,8 @@ package io.cloudbeaver.server.events;
 
 import io.cloudbeaver.model.session.BaseWebSession;
 import io.cloudbeaver.model.session.WebHeadlessSession;
+import io.cloudbeaver.server.AppWebSessionManager;
+import io.cloudbeaver.server.CBPlatform;
 import io.cloudbeaver.service.security.SMUtils;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.DBException;
@@ -26,11 +28,28 @@ import org.jkiss.dbeaver.model.websocket.event.permissions.WSSubjectPermissionEv
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 
 public class WSSubjectPermissionUpdatedEventHandler extends WSDefaultEventHandler<WSSubjectPermissionEvent> {
     private static final Log log = Log.getLog(WSSubjectPermissionUpdatedEventHandler.class);
 
+    @NotNull
+    @Override
+    protected Collection<BaseWebSession> getEventSessions(@NotNull WSSubjectPermissionEvent event) {
+        AppWebSessionManager sessionManager = CBPlatform.getInstance().getSessionManager();
+        String subjectId = event.getSubjectId();
+        if (subjectId == null) {
+            return List.of();
+        }
+        return switch (event.getSubjectType()) {
+            case user -> sessionManager.getUserSessions(subjectId);
+            case team -> sessionManager.getTeamSessions(subjectId);
+            default -> List.of();
+        };
+    }
+
     @Override
     protected void updateSessionData(@NotNull BaseWebSession activeUserSession, @NotNull WSSubjectPermissionEvent event) {
         var oldUserPermissions = new HashSet<>(activeUserSession.getUserContext().getUserPermissions());
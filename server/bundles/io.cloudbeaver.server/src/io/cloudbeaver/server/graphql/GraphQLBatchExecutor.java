@@ -0,0 +1,77 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import org.jkiss.code.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Executes operations of a GraphQL batch concurrently.
+ * <p>
+ * Number of operations executed at once is limited by the given semaphore (shared by all batches of the session).
+ * If there are no free permits or all threads are busy then operation is executed in the calling thread.
+ * The last operation is always executed in the calling thread.
+ */
+public class GraphQLBatchExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    public GraphQLBatchExecutor(int maxThreads) {
+        this.executor = new ThreadPoolExecutor(
+            0, maxThreads, 60, TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "GraphQL batch executor");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Executes operations and returns their results in the same order as operations.
+     * Operations must not throw exceptions, errors should be returned as results.
+     */
+    @NotNull
+    public <T> List<T> execute(@NotNull List<Supplier<T>> operations, @NotNull Semaphore semaphore) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            Supplier<T> operation = operations.get(i);
+            boolean lastOperation = i == operations.size() - 1;
+            if (!lastOperation && semaphore.tryAcquire()) {
+                futures.add(CompletableFuture
+                    .supplyAsync(operation, executor)
+                    .whenComplete((result, error) -> semaphore.release()));
+            } else {
+                futures.add(CompletableFuture.completedFuture(operation.get()));
+            }
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -21,6 +21,33 @@ public class GraphQLConstants {
 
     public static final String CONTENT_TYPE_JSON_UTF8 = "application/json;charset=UTF-8";
 
+    public static final String QUOTA_PROP_MAX_REQUEST_SIZE = "gqlMaxRequestSize";
+    public static final String QUOTA_PROP_MAX_BATCH_OPERATIONS = "gqlMaxBatchOperations";
+    public static final String QUOTA_PROP_BATCH_CONCURRENCY = "gqlBatchConcurrency";
+    public static final String QUOTA_PROP_MAX_QUERY_COST = "gqlMaxQueryCost";
+    public static final String QUOTA_PROP_DEFAULT_LIST_SIZE = "gqlDefaultListSize";
+    public static final String QUOTA_PROP_RATE_LIMIT_COST_PER_SECOND = "gqlRateLimitCostPerSecond";
+    public static final String QUOTA_PROP_RATE_LIMIT_BURST = "gqlRateLimitBurst";
+
+    // Bytes
+    public static final long MAX_REQUEST_SIZE = 32 * 1024 * 1024;
+    public static final long MAX_BATCH_OPERATIONS = 100;
+    // Max number of batch operations executed at once in one session. 1 means sequential execution.
+    public static final long BATCH_CONCURRENCY = 1;
+    // Sum of field weights (see @cost directive) allowed in one operation. 0 means no limit.
+    // Navigator queries of the web application with large children limit cost more than 100000.
+    public static final long MAX_QUERY_COST = 0;
+    // Expected size of lists without limit argument, used in operation cost calculation
+    public static final long DEFAULT_LIST_SIZE = 10;
+    // Operations cost restored per second in each session (or client without session). 0 means no rate limit.
+    public static final long RATE_LIMIT_COST_PER_SECOND = 0;
+    // Max operations cost which may be spent at once by the session
+    public static final long RATE_LIMIT_BURST = 200000;
+
+    public static final String ERROR_CODE_QUERY_TOO_COMPLEX = "QUERY_TOO_COMPLEX";
+    public static final String ERROR_CODE_RATE_LIMITED = "RATE_LIMITED";
+    public static final String ERROR_EXT_RETRY_AFTER = "retryAfter";
+
     public static final String SCHEMA_READ_QUERY = """
           __schema {
               queryType { name }
@@ -0,0 +1,51 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+/**
+ * Token bucket of the session operations cost.
+ * Tokens are restored continuously with the fixed rate up to the bucket capacity.
+ * Rate and capacity are passed on each call, so quota changes are applied to existing buckets.
+ */
+public class GraphQLCostBucket {
+
+    private double tokens = -1;
+    private long lastRefillTime;
+
+    /**
+     * Takes the specified amount of tokens.
+     *
+     * @return 0 if tokens were taken, otherwise number of milliseconds after which the same request may succeed
+     */
+    public synchronized long tryConsume(long amount, long capacity, long refillPerSecond) {
+        long now = System.nanoTime();
+        if (tokens < 0) {
+            tokens = capacity;
+        } else {
+            tokens = Math.min(capacity, tokens + (now - lastRefillTime) * refillPerSecond / 1_000_000_000.0);
+        }
+        lastRefillTime = now;
+
+        // Operations heavier than the whole bucket need the full bucket
+        double required = Math.min(amount, capacity);
+        if (tokens >= required) {
+            tokens -= required;
+            return 0;
+        }
+        return (long) Math.ceil((required - tokens) * 1000 / refillPerSecond);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import graphql.ExecutionResult;
+import graphql.GraphqlErrorBuilder;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.CoercedVariables;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.language.Document;
+import graphql.schema.*;
+import io.cloudbeaver.model.session.WebSession;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Limits operations complexity.
+ * <p>
+ * Operation cost is the sum of weights of all selected fields. Field weight is declared
+ * with the {@code @cost} schema directive, fields without the directive weight 1.
+ * Fields selected in list items are counted once per expected list item: list size is taken
+ * from the {@code limit} (or {@code page.limit}) argument, otherwise default list size is used.
+ * If the budget is configured then operations which cost exceeds it are rejected before execution.
+ * If rate limit is configured then cost is also taken from the session token bucket
+ * (or from the client bucket for requests without web session),
+ * operations are rejected with the retry hint when the bucket is empty.
+ * Both limits are disabled by default.
+ */
+public class GraphQLCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final Log log = Log.getLog(GraphQLCostInstrumentation.class);
+
+    private static final String COST_DIRECTIVE = "cost";
+    private static final String COST_WEIGHT_ARGUMENT = "weight";
+    private static final String LIMIT_ARGUMENT = "limit";
+    private static final String PAGE_ARGUMENT = "page";
+    private static final String ATTR_COST_BUCKET = "cb.graphql.costBucket";
+    private static final int MAX_CLIENT_BUCKETS = 10000;
+
+    // Buckets of requests without web session, by client key. Least recently used buckets are dropped.
+    private final Map<String, GraphQLCostBucket> clientBuckets = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, GraphQLCostBucket> eldest) {
+            return size() > MAX_CLIENT_BUCKETS;
+        }
+    };
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+        InstrumentationExecuteOperationParameters parameters,
+        InstrumentationState state
+    ) {
+        long maxCost = GraphQLEndpoint.getQuota(GraphQLConstants.QUOTA_PROP_MAX_QUERY_COST, GraphQLConstants.MAX_QUERY_COST);
+        long costPerSecond = GraphQLEndpoint.getQuota(
+            GraphQLConstants.QUOTA_PROP_RATE_LIMIT_COST_PER_SECOND, GraphQLConstants.RATE_LIMIT_COST_PER_SECOND);
+        if (maxCost <= 0 && costPerSecond <= 0) {
+            return super.beginExecuteOperation(parameters, state);
+        }
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        long cost = calculateCost(
+            executionContext.getGraphQLSchema(),
+            executionContext.getDocument(),
+            executionContext.getOperationDefinition().getName(),
+            executionContext.getCoercedVariables(),
+            GraphQLEndpoint.getQuota(GraphQLConstants.QUOTA_PROP_DEFAULT_LIST_SIZE, GraphQLConstants.DEFAULT_LIST_SIZE));
+
+        if (maxCost > 0 && cost > maxCost) {
+            throw new AbortExecutionException(List.of(GraphqlErrorBuilder.newError()
+                .message("Operation is too complex (cost " + cost + " exceeds the maximum " + maxCost + ")")
+                .extensions(Map.of("code", GraphQLConstants.ERROR_CODE_QUERY_TOO_COMPLEX))
+                .build()));
+        }
+
+        long retryAfter = costPerSecond > 0 ? consumeSessionCost(executionContext, cost, costPerSecond) : 0;
+        if (retryAfter > 0) {
+            long retryAfterSeconds = (retryAfter + 999) / 1000;
+            throw new AbortExecutionException(List.of(GraphqlErrorBuilder.newError()
+                .message("Too many requests, retry after " + retryAfterSeconds + " seconds")
+                .extensions(Map.of(
+                    "code", GraphQLConstants.ERROR_CODE_RATE_LIMITED,
+                    GraphQLConstants.ERROR_EXT_RETRY_AFTER, retryAfterSeconds))
+                .build()));
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    /**
+     * Calculates operation cost. Field weight is multiplied by expected sizes of all enclosing lists.
+     */
+    public static long calculateCost(
+        @NotNull GraphQLSchema schema,
+        @NotNull Document document,
+        @Nullable String operationName,
+        @NotNull CoercedVariables variables,
+        long defaultListSize
+    ) {
+        return QueryTraverser.newQueryTraverser()
+            .schema(schema)
+            .document(document)
+            .operationName(operationName)
+            .coercedVariables(variables)
+            .build()
+            .reducePreOrder((env, cost) -> saturatedAdd(
+                cost,
+                saturatedMultiply(getFieldWeight(env.getFieldDefinition()), getItemsCount(env.getParentEnvironment(), defaultListSize))),
+                0L);
+    }
+
+    /**
+     * Returns expected number of field values: product of expected sizes of the field and all its parents
+     */
+    private static long getItemsCount(@Nullable QueryVisitorFieldEnvironment env, long defaultListSize) {
+        long count = 1;
+        for (; env != null; env = env.getParentEnvironment()) {
+            if (GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(env.getFieldDefinition().getType()))) {
+                count = saturatedMultiply(count, getListSize(env.getArguments(), defaultListSize));
+            }
+        }
+        return count;
+    }
+
+    private static long getListSize(@NotNull Map<String, Object> arguments, long defaultListSize) {
+        Object limit = arguments.get(LIMIT_ARGUMENT);
+        if (limit == null && arguments.get(PAGE_ARGUMENT) instanceof Map<?, ?> page) {
+            limit = page.get(LIMIT_ARGUMENT);
+        }
+        return limit == null ? defaultListSize : Math.max(CommonUtils.toLong(limit, defaultListSize), 0);
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long result = a + b;
+        return result < 0 ? Long.MAX_VALUE : result;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        return high != 0 || low < 0 ? Long.MAX_VALUE : low;
+    }
+
+    private static long getFieldWeight(GraphQLFieldDefinition fieldDefinition) {
+        GraphQLAppliedDirective directive = fieldDefinition.getAppliedDirective(COST_DIRECTIVE);
+        if (directive == null) {
+            return 1;
+        }
+        GraphQLAppliedDirectiveArgument weight = directive.getArgument(COST_WEIGHT_ARGUMENT);
+        return weight == null ? 1 : CommonUtils.toLong(weight.getValue(), 1);
+    }
+
+    /**
+     * Takes operation cost from the session token bucket.
+     * Requests without web session (e.g. initial requests or requests without session cookie)
+     * use the bucket of the client.
+     *
+     * @return 0 if operation is allowed, otherwise number of milliseconds to wait
+     */
+    private long consumeSessionCost(ExecutionContext executionContext, long cost, long costPerSecond) {
+        GraphQLRequestContext requestContext = executionContext.getGraphQLContext().get("requestContext");
+        if (requestContext == null) {
+            return 0;
+        }
+        WebSession webSession = requestContext.findWebSession();
+        GraphQLCostBucket bucket;
+        String bucketOwner;
+        if (webSession != null) {
+            bucket = webSession.getAttribute(ATTR_COST_BUCKET, value -> new GraphQLCostBucket(), null);
+            bucketOwner = "session " + webSession.getSessionId();
+        } else {
+            bucketOwner = getClientKey(requestContext.getRequest());
+            synchronized (clientBuckets) {
+                bucket = clientBuckets.computeIfAbsent(bucketOwner, key -> new GraphQLCostBucket());
+            }
+        }
+        long burst = GraphQLEndpoint.getQuota(GraphQLConstants.QUOTA_PROP_RATE_LIMIT_BURST, GraphQLConstants.RATE_LIMIT_BURST);
+        long retryAfter = bucket.tryConsume(cost, burst, costPerSecond);
+        if (retryAfter > 0) {
+            log.debug("GraphQL operation rejected by rate limit of " + bucketOwner);
+        }
+        return retryAfter;
+    }
+
+    /**
+     * Returns rate limit key of the request without web session.
+     * HTTP session is used if request has it, so clients behind one reverse proxy don't share the bucket.
+     * Otherwise client address is used. It is taken from X-Forwarded-For headers
+     * if forward proxy is enabled in the server configuration.
+     */
+    @NotNull
+    public static String getClientKey(@NotNull HttpServletRequest request) {
+        HttpSession httpSession = request.getSession(false);
+        if (httpSession != null) {
+            return "session " + httpSession.getId();
+        }
+        return "client " + CommonUtils.notEmpty(request.getRemoteAddr());
+    }
+}
@@ -17,10 +17,16 @@
 package io.cloudbeaver.server.graphql;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import graphql.*;
 import graphql.execution.*;
-import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
 import graphql.language.SourceLocation;
+import graphql.parser.Parser;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.PropertyDataFetcherHelper;
@@ -29,6 +35,7 @@ import graphql.schema.idl.SchemaParser;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import io.cloudbeaver.DBWebException;
 import io.cloudbeaver.WebServiceUtils;
+import io.cloudbeaver.model.metrics.WebMetricsRegistry;
 import io.cloudbeaver.model.session.WebSession;
 import io.cloudbeaver.registry.WebServiceRegistry;
 import io.cloudbeaver.server.HttpConstants;
@@ -40,22 +47,25 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.dataloader.DataLoaderRegistry;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpStatus;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.data.json.JSONUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.IOUtils;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.io.*;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 public class GraphQLEndpoint extends HttpServlet {
 
@@ -69,10 +79,28 @@ public class GraphQLEndpoint extends HttpServlet {
 
     private static final String CORE_SCHEMA_FILE_NAME = "schema/schema.graphqls";
 
+    private static final String EXT_PERSISTED_QUERY = "persistedQuery";
+    private static final String EXT_PERSISTED_QUERY_HASH = "sha256Hash";
+    private static final String ERROR_PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+    private static final String ERROR_CODE_PERSISTED_QUERY_NOT_FOUND = "PERSISTED_QUERY_NOT_FOUND";
+    private static final String ERROR_CODE_REQUEST_TOO_LARGE = "REQUEST_TOO_LARGE";
+    private static final String ERROR_CODE_TOO_MANY_OPERATIONS = "TOO_MANY_OPERATIONS";
+    private static final String ERROR_CODE_BAD_REQUEST = "BAD_REQUEST";
+
+    private static final String ATTR_BATCH_SEMAPHORE = "cb.graphql.batchSemaphore";
+    private static final String ATTR_REQUEST_CONTEXT = "cb.graphql.requestContext";
+    private static final int MAX_BATCH_THREADS = 64;
+
     private final GraphQL graphQL;
+    private final GraphQLQueryCache queryCache = new GraphQLQueryCache(GraphQLQueryCache.DEFAULT_MAX_SIZE);
+    // Executes batch operations concurrently. When all threads are busy operations are executed in the request thread.
+    private final GraphQLBatchExecutor batchExecutor = new GraphQLBatchExecutor(MAX_BATCH_THREADS);
 
     private static final Gson gson = new GsonBuilder()
         .serializeNulls()
+        .create();
+    // Human-readable responses are produced in development mode only
+    private static final Gson prettyGson = gson.newBuilder()
         .setPrettyPrinting()
         .create();
     private GraphQLBindingContext bindingContext;
@@ -83,13 +111,30 @@ public class GraphQLEndpoint extends HttpServlet {
         PropertyDataFetcherHelper.setUseLambdaFactory(false);
         graphQL = GraphQL
             .newGraphQL(schema)
-            .instrumentation(new SimplePerformantInstrumentation())
+            .instrumentation(new ChainedInstrumentation(List.of(
+                new GraphQLMetricsInstrumentation(),
+                new GraphQLCostInstrumentation())))
             .queryExecutionStrategy(new WebExecutionStrategy())
             .mutationExecutionStrategy(new WebExecutionStrategy())
+            .preparsedDocumentProvider(queryCache)
             .build();
+
+        WebMetricsRegistry metrics = WebMetricsRegistry.getInstance();
+        metrics.gauge("cb_graphql_query_cache_hits", "GraphQL parsed documents cache hits", queryCache::getHitCount);
+        metrics.gauge("cb_graphql_query_cache_misses", "GraphQL parsed documents cache misses", queryCache::getMissCount);
     }
 
     private GraphQLSchema buildSchema() {
+        TypeDefinitionRegistry parsedSchema = readSchemaDefinition();
+        SchemaGenerator schemaGenerator = new SchemaGenerator();
+        bindingContext = new GraphQLBindingContext();
+        return schemaGenerator.makeExecutableSchema(parsedSchema, bindingContext.buildRuntimeWiring());
+    }
+
+    /**
+     * Reads type definitions of the core schema and all registered services
+     */
+    public static TypeDefinitionRegistry readSchemaDefinition() {
         SchemaParser schemaParser = new SchemaParser();
         TypeDefinitionRegistry parsedSchema = new TypeDefinitionRegistry();
 
@@ -114,10 +159,13 @@ public class GraphQLEndpoint extends HttpServlet {
             }
         }
         log.debug("Schema extensions loaded: " + String.join(",", addedBindings));
+        return parsedSchema;
+    }
 
-        SchemaGenerator schemaGenerator = new SchemaGenerator();
-        bindingContext = new GraphQLBindingContext();
-        return schemaGenerator.makeExecutableSchema(parsedSchema, bindingContext.buildRuntimeWiring());
+    @Override
+    public void destroy() {
+        batchExecutor.shutdown();
+        super.destroy();
     }
 
     @Override
@@ -156,8 +204,22 @@ public class GraphQLEndpoint extends HttpServlet {
         }
     }
 
+    /**
+     * Returns context of the HTTP request. Context is shared by all operations of the request.
+     */
+    private static GraphQLRequestContext getRequestContext(HttpServletRequest request, HttpServletResponse response) {
+        Object requestContext = request.getAttribute(ATTR_REQUEST_CONTEXT);
+        if (requestContext instanceof GraphQLRequestContext context) {
+            return context;
+        }
+        GraphQLRequestContext context = new GraphQLRequestContext(request, response);
+        request.setAttribute(ATTR_REQUEST_CONTEXT, context);
+        return context;
+    }
+
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        GraphQLRequestContext requestContext = getRequestContext(request, response);
         String contentType = request.getContentType();
         if (CommonUtils.isEmpty(contentType) || !contentType.startsWith(HttpConstants.TYPE_JSON)) {
             String error = "Bad request," + (CommonUtils.isEmpty(contentType)
@@ -166,45 +228,312 @@ public class GraphQLEndpoint extends HttpServlet {
             response.sendError(400, error);
             return;
         }
-        String postBody = IOUtils.readToString(request.getReader());
-        JsonElement json = gson.fromJson(postBody, JsonElement.class);
-        if (json instanceof JsonArray array) {
+        long maxRequestSize = getQuota(GraphQLConstants.QUOTA_PROP_MAX_REQUEST_SIZE, GraphQLConstants.MAX_REQUEST_SIZE);
+        if (request.getContentLengthLong() > maxRequestSize) {
+            writeRequestError(request, response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                "Request size exceeds the maximum allowed size (" + maxRequestSize + " bytes)", ERROR_CODE_REQUEST_TOO_LARGE);
+            return;
+        }
+        List<GraphQLOperation> operations;
+        boolean batch;
+        try (JsonReader jsonReader = new JsonReader(new InputStreamReader(
+            new LimitedInputStream(request.getInputStream(), maxRequestSize),
+            CommonUtils.toString(request.getCharacterEncoding(), StandardCharsets.UTF_8.name())))
+        ) {
+            batch = jsonReader.peek() == JsonToken.BEGIN_ARRAY;
+            if (batch) {
+                int maxBatchOperations = (int) getQuota(
+                    GraphQLConstants.QUOTA_PROP_MAX_BATCH_OPERATIONS, GraphQLConstants.MAX_BATCH_OPERATIONS);
+                operations = new ArrayList<>();
+                jsonReader.beginArray();
+                while (jsonReader.hasNext()) {
+                    if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+                        jsonReader.skipValue();
+                        continue;
+                    }
+                    if (operations.size() >= maxBatchOperations) {
+                        writeRequestError(request, response, HttpServletResponse.SC_BAD_REQUEST,
+                            "Batch contains too many operations (maximum is " + maxBatchOperations + ")", ERROR_CODE_TOO_MANY_OPERATIONS);
+                        return;
+                    }
+                    operations.add(readOperation(jsonReader));
+                }
+                jsonReader.endArray();
+            } else if (jsonReader.peek() == JsonToken.BEGIN_OBJECT) {
+                operations = List.of(readOperation(jsonReader));
+            } else {
+                response.sendError(400, "Bad JSON request");
+                return;
+            }
+        } catch (RequestTooLargeException e) {
+            writeRequestError(request, response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, e.getMessage(), ERROR_CODE_REQUEST_TOO_LARGE);
+            return;
+        } catch (IOException | IllegalStateException | JsonParseException e) {
+            log.debug("Bad JSON request", e);
+            response.sendError(400, "Bad JSON request");
+            return;
+        }
+
+        if (batch) {
+            executeBatch(request, response, requestContext, operations);
+        } else {
+            try {
+                ExecutionResult result = executeOperation(requestContext, operations.get(0));
+                setRetryHeaders(response, result, true);
+                writeExecutionResult(request, response, result);
+            } catch (GraphQLRequestException e) {
+                writeRequestError(request, response, e.getStatus(), e.getMessage(), e.getErrorCode());
+            }
+        }
+    }
+
+    /**
+     * Executes batch operations and writes their results in the same order as operations.
+     * <p>
+     * By default operations are executed sequentially and each result is written as soon as it is ready.
+     * If batch concurrency is enabled then operations are executed concurrently and results are written
+     * once all operations are finished. Operations use copies of the servlet request and response,
+     * response changes are applied before results are written.
+     * Number of operations executed at once in the same web session is limited.
+     * The request thread executes operations too (when there are no free permits, and always the last one).
+     * Batches with mutations and batches without web session are always executed sequentially.
+     */
+    private void executeBatch(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        GraphQLRequestContext requestContext,
+        List<GraphQLOperation> operations
+    ) throws IOException {
+        Semaphore semaphore = null;
+        int concurrency = (int) getQuota(GraphQLConstants.QUOTA_PROP_BATCH_CONCURRENCY, GraphQLConstants.BATCH_CONCURRENCY);
+        if (concurrency > 1 && operations.size() > 1 && operations.stream().allMatch(this::isQueryOperation)) {
+            // Session is resolved in the request thread, operations reuse it
+            WebSession webSession = requestContext.findWebSession();
+            if (webSession != null) {
+                semaphore = getSessionBatchSemaphore(webSession, concurrency - 1);
+            }
+        }
+        if (semaphore == null) {
             setDevelHeaders(request, response);
             response.setContentType(GraphQLConstants.CONTENT_TYPE_JSON_UTF8);
             response.getWriter().print("[\n");
-
-            int reqCount = 0;
-            for (int i = 0; i < array.size(); i++) {
-                if (reqCount > 0) {
+            for (int i = 0; i < operations.size(); i++) {
+                ExecutionResult result = executeBatchOperation(requestContext, operations.get(i));
+                // Headers are ignored if response is already committed by previous results
+                setRetryHeaders(response, result, false);
+                if (i > 0) {
                     response.getWriter().print(",\n");
                 }
-                JsonElement item = array.get(i);
-                if (item instanceof JsonObject) {
-                    executeSingleQuery(request, response, (JsonObject) item);
-                    reqCount++;
-                }
+                writeExecutionResult(request, response, result);
+                response.getWriter().flush();
             }
-
             response.getWriter().print("\n]");
-        } else if (json instanceof JsonObject reqObject) {
-            executeSingleQuery(request, response, reqObject);
+            return;
+        }
+
+        List<Supplier<ExecutionResult>> batchOperations = new ArrayList<>(operations.size());
+        for (GraphQLOperation operation : operations) {
+            batchOperations.add(() -> executeBatchOperation(requestContext, operation));
+        }
+        List<ExecutionResult> results;
+        requestContext.beginConcurrentAccess();
+        try {
+            results = batchExecutor.execute(batchOperations, semaphore);
+        } finally {
+            requestContext.endConcurrentAccess();
+        }
+        for (ExecutionResult result : results) {
+            setRetryHeaders(response, result, false);
+        }
+        setDevelHeaders(request, response);
+        response.setContentType(GraphQLConstants.CONTENT_TYPE_JSON_UTF8);
+        response.getWriter().print("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            if (i > 0) {
+                response.getWriter().print(",\n");
+            }
+            writeExecutionResult(request, response, results.get(i));
+        }
+        response.getWriter().print("\n]");
+    }
+
+    private ExecutionResult executeBatchOperation(
+        GraphQLRequestContext requestContext,
+        GraphQLOperation operation
+    ) {
+        try {
+            return executeOperation(requestContext, operation);
+        } catch (GraphQLRequestException e) {
+            return makeErrorResult(e.getMessage(), e.getErrorCode());
+        } catch (Exception e) {
+            log.error("Error executing batch operation", e);
+            return makeErrorResult(e.getMessage(), null);
+        }
+    }
+
+    /**
+     * Checks that operation is a query, so it can be executed concurrently with other queries.
+     * Operation type is taken from the parsed document. Operations which can't be resolved are not considered queries.
+     */
+    private boolean isQueryOperation(GraphQLOperation operation) {
+        String query;
+        try {
+            query = resolveQuery(operation.query(), operation.extensions());
+        } catch (GraphQLRequestException e) {
+            return false;
+        }
+        Document document = queryCache.getCachedDocument(query);
+        if (document == null) {
+            try {
+                document = Parser.parse(query);
+            } catch (GraphQLException e) {
+                return false;
+            }
+        }
+        List<OperationDefinition> definitions = document.getDefinitionsOfType(OperationDefinition.class);
+        OperationDefinition definition = null;
+        if (operation.operationName() == null) {
+            if (definitions.size() == 1) {
+                definition = definitions.get(0);
+            }
         } else {
-            response.sendError(400, "Bad JSON request");
+            for (OperationDefinition def : definitions) {
+                if (operation.operationName().equals(def.getName())) {
+                    definition = def;
+                    break;
+                }
+            }
         }
+        return definition != null && definition.getOperation() == OperationDefinition.Operation.QUERY;
     }
 
-    private void executeSingleQuery(HttpServletRequest request, HttpServletResponse response, JsonObject reqObject) throws IOException {
-        JsonElement query = reqObject.get("query");
-        if (query == null) {
-            response.sendError(400, "Query not specified");
-            return;
+    /**
+     * Returns session semaphore which limits number of batch operations executed concurrently in the session.
+     * Semaphore is recreated if batch concurrency configuration was changed.
+     */
+    private static Semaphore getSessionBatchSemaphore(WebSession webSession, int permits) {
+        AtomicReference<BatchPermits> sessionPermits = webSession.getAttribute(
+            ATTR_BATCH_SEMAPHORE, value -> new AtomicReference<>(), null);
+        // Operations which hold permits of the previous semaphore release them to that semaphore
+        return sessionPermits.updateAndGet(batchPermits -> batchPermits != null && batchPermits.permits() == permits ?
+            batchPermits : new BatchPermits(permits, new Semaphore(permits))).semaphore();
+    }
+
+    /**
+     * Reads single operation object. Variables are decoded directly from the request stream.
+     */
+    private static GraphQLOperation readOperation(JsonReader jsonReader) throws IOException {
+        String query = null;
+        String operationName = null;
+        Map<String, Object> variables = null;
+        JsonElement extensions = null;
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            if (jsonReader.peek() == JsonToken.NULL) {
+                jsonReader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "query" -> query = jsonReader.nextString();
+                case "operationName" -> operationName = jsonReader.nextString();
+                case "variables" -> variables = gson.fromJson(jsonReader, JSONUtils.MAP_TYPE_TOKEN);
+                case "extensions" -> extensions = gson.fromJson(jsonReader, JsonElement.class);
+                default -> jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+        return new GraphQLOperation(query, operationName, variables, extensions);
+    }
+
+    private ExecutionResult executeOperation(
+        GraphQLRequestContext requestContext,
+        GraphQLOperation operation
+    ) throws GraphQLRequestException {
+        String query = resolveQuery(operation.query(), operation.extensions());
+        return executeQuery(requestContext, query, operation.variables(), operation.operationName());
+    }
+
+    private void writeRequestError(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        int status,
+        String message,
+        String errorCode
+    ) throws IOException {
+        log.debug("GraphQL request rejected: " + message);
+        response.setStatus(status);
+        writeExecutionResult(request, response, makeErrorResult(message, errorCode));
+    }
+
+    /**
+     * Sets Retry-After header if operation was rejected by the rate limit.
+     * Single operation responses also get 429 status, batch responses keep per operation errors.
+     */
+    private static void setRetryHeaders(HttpServletResponse response, ExecutionResult result, boolean setStatus) {
+        for (GraphQLError error : result.getErrors()) {
+            Map<String, Object> extensions = error.getExtensions();
+            if (extensions != null && GraphQLConstants.ERROR_CODE_RATE_LIMITED.equals(extensions.get("code"))) {
+                response.setHeader(HttpHeader.RETRY_AFTER.toString(),
+                    String.valueOf(extensions.get(GraphQLConstants.ERROR_EXT_RETRY_AFTER)));
+                if (setStatus) {
+                    response.setStatus(HttpStatus.TOO_MANY_REQUESTS_429);
+                }
+                return;
+            }
+        }
+    }
+
+    private static ExecutionResult makeErrorResult(String message, String errorCode) {
+        GraphqlErrorBuilder<?> error = GraphqlErrorBuilder.newError().message(message);
+        if (errorCode != null) {
+            error.extensions(Map.of("code", errorCode));
         }
-        JsonElement varJSON = reqObject.get("variables");
-        Map<String, Object> variables = varJSON == null ? null : gson.fromJson(varJSON, JSONUtils.MAP_TYPE_TOKEN);
+        return ExecutionResult.newExecutionResult()
+            .addError(error.build())
+            .build();
+    }
 
-        JsonElement operNameJSON = reqObject.get("operationName");
+    static long getQuota(String quotaId, long defaultValue) {
+        long value = CommonUtils.toLong(
+            WebAppUtils.getWebApplication().getAppConfiguration().getResourceQuota(quotaId),
+            defaultValue);
+        return value > 0 ? value : defaultValue;
+    }
 
-        executeQuery(request, response, query.getAsString(), variables, operNameJSON == null || operNameJSON instanceof JsonNull ? null : operNameJSON.getAsString());
+    /**
+     * Resolves query text. If request contains persisted query hash then query text may be omitted,
+     * in this case it is taken from the query cache.
+     */
+    private String resolveQuery(String query, JsonElement extensions) throws GraphQLRequestException {
+        String queryHash = null;
+        if (extensions instanceof JsonObject extObject
+            && extObject.get(EXT_PERSISTED_QUERY) instanceof JsonObject persistedQuery
+            && persistedQuery.get(EXT_PERSISTED_QUERY_HASH) instanceof JsonPrimitive hashJSON
+        ) {
+            queryHash = hashJSON.getAsString();
+        }
+        if (queryHash == null) {
+            if (query == null) {
+                throw new GraphQLRequestException(
+                    HttpServletResponse.SC_BAD_REQUEST, "Query not specified", ERROR_CODE_BAD_REQUEST);
+            }
+            return query;
+        }
+        if (query == null) {
+            query = queryCache.getPersistedQuery(queryHash);
+            if (query == null) {
+                // Client must repeat request with the full query text
+                throw new GraphQLRequestException(
+                    HttpServletResponse.SC_OK, ERROR_PERSISTED_QUERY_NOT_FOUND, ERROR_CODE_PERSISTED_QUERY_NOT_FOUND);
+            }
+            return query;
+        }
+        if (!queryHash.equalsIgnoreCase(GraphQLQueryCache.getQueryHash(query))) {
+            throw new GraphQLRequestException(
+                HttpServletResponse.SC_BAD_REQUEST, "Persisted query hash doesn't match query text", ERROR_CODE_BAD_REQUEST);
+        }
+        return query;
     }
 
     @Override
@@ -216,29 +545,50 @@ public class GraphQLEndpoint extends HttpServlet {
         boolean develMode = WebAppUtils.getWebApplication().getServerConfiguration().isDevelMode();
 
         if (path.contentEquals("/schema.json") && develMode) {
-            executeQuery(request, response, GraphQLConstants.SCHEMA_READ_QUERY, null, null);
+            writeExecutionResult(request, response,
+                executeQuery(getRequestContext(request, response), GraphQLConstants.SCHEMA_READ_QUERY, null, null));
         } else if (path.contentEquals("/console") && develMode) {
             try (InputStream consolePageStream = WebServiceUtils.openStaticResource("static/graphiql/index.html")) {
                 IOUtils.copyStream(consolePageStream, response.getOutputStream());
             }
         } else {
             String query = request.getParameter("query");
-            if (query != null) {
-                executeQuery(request, response, query, null, request.getParameter("operationName"));
+            String extensions = request.getParameter("extensions");
+            if (query != null || extensions != null) {
+                GraphQLOperation operation = new GraphQLOperation(
+                    query,
+                    request.getParameter("operationName"),
+                    null,
+                    extensions == null ? null : gson.fromJson(extensions, JsonElement.class));
+                try {
+                    ExecutionResult result = executeOperation(getRequestContext(request, response), operation);
+                    setRetryHeaders(response, result, true);
+                    writeExecutionResult(request, response, result);
+                } catch (GraphQLRequestException e) {
+                    writeRequestError(request, response, e.getStatus(), e.getMessage(), e.getErrorCode());
+                }
             } else {
                 response.sendError(400, "Bad GET request");
             }
         }
     }
 
-    private void executeQuery(HttpServletRequest request, HttpServletResponse response, String query, Map<String, Object> variables, String operationName) throws IOException {
+    private ExecutionResult executeQuery(
+        GraphQLRequestContext requestContext,
+        String query,
+        Map<String, Object> variables,
+        String operationName
+    ) {
         Map<String, Object> mapOfContext =
             Map.of(
-                "request", request,
-                "response", response,
+                "request", requestContext.getRequest(),
+                "response", requestContext.getResponse(),
+                "requestContext", requestContext,
                 "bindingContext", bindingContext);
         ExecutionInput.Builder contextBuilder = ExecutionInput.newExecutionInput()
             .graphQLContext(mapOfContext)
+            // Data loaders are registered by field resolvers on demand and live for a single operation
+            .dataLoaderRegistry(new DataLoaderRegistry())
             .query(query);
         if (variables != null) {
             contextBuilder.variables(variables);
@@ -260,13 +610,27 @@ public class GraphQLEndpoint extends HttpServlet {
             }
         }
         ExecutionInput executionInput = contextBuilder.build();
-        ExecutionResult executionResult = graphQL.execute(executionInput);
+        return graphQL.execute(executionInput);
+    }
 
+    private void writeExecutionResult(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        ExecutionResult executionResult
+    ) throws IOException {
         Map<String, Object> resJSON = executionResult.toSpecification();
-        String resString = gson.toJson(resJSON);
         setDevelHeaders(request, response);
         response.setContentType(GraphQLConstants.CONTENT_TYPE_JSON_UTF8);
-        response.getWriter().print(resString);
+        // Serialize result directly into the response writer (batch requests write all results into the same writer).
+        // Writer must not be closed here.
+        Gson resultGson = WebAppUtils.getWebApplication().getServerConfiguration().isDevelMode() ? prettyGson : gson;
+        JsonWriter jsonWriter = resultGson.newJsonWriter(response.getWriter());
+        try {
+            resultGson.toJson(resJSON, resJSON.getClass(), jsonWriter);
+        } catch (JsonIOException e) {
+            throw new IOException("Error writing GraphQL response", e);
+        }
+        jsonWriter.flush();
     }
 
     private static class WebExecutionStrategy extends AsyncExecutionStrategy {
@@ -311,6 +675,97 @@ public class GraphQLEndpoint extends HttpServlet {
     }
 
 
+    private record GraphQLOperation(
+        String query,
+        String operationName,
+        Map<String, Object> variables,
+        JsonElement extensions
+    ) {
+    }
+
+    private record BatchPermits(int permits, Semaphore semaphore) {
+    }
+
+    private static class GraphQLRequestException extends Exception {
+        private final int status;
+        private final String errorCode;
+
+        GraphQLRequestException(int status, String message, String errorCode) {
+            super(message);
+            this.status = status;
+            this.errorCode = errorCode;
+        }
+
+        int getStatus() {
+            return status;
+        }
+
+        String getErrorCode() {
+            return errorCode;
+        }
+    }
+
+    private static class RequestTooLargeException extends IOException {
+        RequestTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Fails as soon as more than the specified number of bytes is read.
+     * Request size is checked while reading, because content length may be unknown (chunked requests).
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+        private final long maxSize;
+        private long readSize;
+
+        LimitedInputStream(InputStream in, long maxSize) {
+            super(in);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = super.read(b, off, len);
+            if (count > 0) {
+                count(count);
+            }
+            return count;
+        }
+
+        private void count(int count) throws RequestTooLargeException {
+            readSize += count;
+            if (readSize > maxSize) {
+                throw new RequestTooLargeException("Request size exceeds the maximum allowed size (" + maxSize + " bytes)");
+            }
+        }
+    }
+
+    /**
+     * Returns cache of parsed queries. Cache statistics can be used to monitor queries reuse.
+     */
+    public GraphQLQueryCache getQueryCache() {
+        return queryCache;
+    }
+
+    public static GraphQLRequestContext getRequestContext(DataFetchingEnvironment env) {
+        GraphQLContext context = env.getGraphQlContext();
+        GraphQLRequestContext requestContext = context.get("requestContext");
+        if (requestContext == null) {
+            throw new IllegalStateException("Null request context");
+        }
+        return requestContext;
+    }
+
     public static HttpServletRequest getServletRequest(DataFetchingEnvironment env) {
         GraphQLContext context = env.getGraphQlContext();
         HttpServletRequest request = context.get("request");
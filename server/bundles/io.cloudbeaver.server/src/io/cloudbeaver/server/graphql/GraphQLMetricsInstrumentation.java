@@ -0,0 +1,133 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import io.cloudbeaver.model.metrics.WebCounter;
+import io.cloudbeaver.model.metrics.WebHistogram;
+import io.cloudbeaver.model.metrics.WebMetricsRegistry;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records operations and resolvers timing.
+ * Trivial property fetchers are not measured.
+ * <p>
+ * Operations are labeled with the name of the executed operation definition of the parsed and validated document,
+ * so names which are not present in the document are never used as labels. Number of distinct operation labels
+ * is limited, operations beyond the limit are labeled as "other". Operations which failed
+ * before execution (parse or validation errors) are labeled as "invalid".
+ */
+public class GraphQLMetricsInstrumentation extends SimplePerformantInstrumentation {
+
+    public static final int MAX_OPERATION_LABELS = 500;
+
+    private static final String ANONYMOUS_OPERATION = "anonymous";
+    private static final String INVALID_OPERATION = "invalid";
+    private static final String OTHER_OPERATION = "other";
+    private static final String CONTEXT_OPERATION_LABEL = "cb.metrics.operationLabel";
+
+    private final WebHistogram operationTime;
+    private final WebHistogram fieldTime;
+    private final WebCounter operationErrors;
+    private final Set<String> operationLabels = ConcurrentHashMap.newKeySet();
+
+    public GraphQLMetricsInstrumentation() {
+        WebMetricsRegistry registry = WebMetricsRegistry.getInstance();
+        operationTime = registry.histogram(
+            "cb_graphql_operation_seconds", "GraphQL operation execution time", "operation");
+        fieldTime = registry.histogram(
+            "cb_graphql_field_seconds", "GraphQL field resolver time", "field");
+        operationErrors = registry.counter(
+            "cb_graphql_errors_total", "Number of errors returned by GraphQL operations", "operation");
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(
+        InstrumentationExecutionParameters parameters,
+        InstrumentationState state
+    ) {
+        long startTime = System.nanoTime();
+        GraphQLContext context = parameters.getGraphQLContext();
+        return SimpleInstrumentationContext.whenCompleted((result, error) -> {
+            String operationName = context.getOrDefault(CONTEXT_OPERATION_LABEL, INVALID_OPERATION);
+            operationTime.observeSince(startTime, operationName);
+            int errorCount = error != null ? 1 : result == null ? 0 : result.getErrors().size();
+            if (errorCount > 0) {
+                operationErrors.add(errorCount, operationName);
+            }
+        });
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+        InstrumentationExecuteOperationParameters parameters,
+        InstrumentationState state
+    ) {
+        // Operation definition is resolved from the validated document at this point
+        var executionContext = parameters.getExecutionContext();
+        executionContext.getGraphQLContext().put(
+            CONTEXT_OPERATION_LABEL,
+            getOperationLabel(executionContext.getOperationDefinition().getName()));
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    /**
+     * Returns metrics label of the operation. Number of distinct labels is limited.
+     */
+    @NotNull
+    public String getOperationLabel(@Nullable String operationName) {
+        String label = CommonUtils.toString(operationName, ANONYMOUS_OPERATION);
+        if (operationLabels.contains(label)) {
+            return label;
+        }
+        if (operationLabels.size() >= MAX_OPERATION_LABELS) {
+            return OTHER_OPERATION;
+        }
+        operationLabels.add(label);
+        return label;
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(
+        InstrumentationFieldFetchParameters parameters,
+        InstrumentationState state
+    ) {
+        if (parameters.isTrivialDataFetcher()) {
+            return super.beginFieldFetch(parameters, state);
+        }
+        long startTime = System.nanoTime();
+        String fieldName = getFieldCoordinates(parameters);
+        return SimpleInstrumentationContext.whenCompleted((result, error) -> fieldTime.observeSince(startTime, fieldName));
+    }
+
+    private static String getFieldCoordinates(InstrumentationFieldFetchParameters parameters) {
+        return parameters.getExecutionStepInfo().getObjectType().getName() + "." + parameters.getField().getName();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.language.Document;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache of parsed and validated GraphQL documents.
+ * Documents are keyed by SHA-256 hash of the query text, which is also the
+ * persisted query ID, so clients may send the hash instead of the full query text
+ * (Automatic Persisted Queries).
+ * Cache is bounded, least recently used queries are evicted first.
+ */
+public class GraphQLQueryCache implements PreparsedDocumentProvider {
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final int maxSize;
+    private final Map<String, CachedQuery> queries;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public GraphQLQueryCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.queries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedQuery> eldest) {
+                return size() > GraphQLQueryCache.this.maxSize;
+            }
+        };
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+        ExecutionInput executionInput,
+        Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction
+    ) {
+        String query = executionInput.getQuery();
+        String queryHash = getQueryHash(query);
+        CachedQuery cachedQuery;
+        synchronized (queries) {
+            cachedQuery = queries.get(queryHash);
+        }
+        if (cachedQuery != null && cachedQuery.query().equals(query)) {
+            hitCount.incrementAndGet();
+            return CompletableFuture.completedFuture(cachedQuery.document());
+        }
+        missCount.incrementAndGet();
+        // Parse outside of the lock, concurrent parsing of the same query is harmless
+        PreparsedDocumentEntry document = parseAndValidateFunction.apply(executionInput);
+        synchronized (queries) {
+            queries.put(queryHash, new CachedQuery(query, document));
+        }
+        return CompletableFuture.completedFuture(document);
+    }
+
+    /**
+     * Returns query text by persisted query hash or null if query is not known (or was evicted).
+     */
+    @Nullable
+    public String getPersistedQuery(@NotNull String queryHash) {
+        CachedQuery cachedQuery;
+        synchronized (queries) {
+            cachedQuery = queries.get(queryHash);
+        }
+        return cachedQuery == null ? null : cachedQuery.query();
+    }
+
+    /**
+     * Returns parsed document of the query if the query is cached and valid
+     */
+    @Nullable
+    public Document getCachedDocument(@NotNull String query) {
+        CachedQuery cachedQuery;
+        synchronized (queries) {
+            cachedQuery = queries.get(getQueryHash(query));
+        }
+        if (cachedQuery == null || !cachedQuery.query().equals(query) || cachedQuery.document().hasErrors()) {
+            return null;
+        }
+        return cachedQuery.document().getDocument();
+    }
+
+    public int size() {
+        synchronized (queries) {
+            return queries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Returns lowercase hex SHA-256 hash of query text, as defined by the persisted queries protocol.
+     */
+    @NotNull
+    public static String getQueryHash(@NotNull String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private record CachedQuery(@NotNull String query, @NotNull PreparsedDocumentEntry document) {
+    }
+}
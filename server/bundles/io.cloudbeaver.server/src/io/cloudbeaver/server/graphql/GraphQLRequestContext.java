@@ -0,0 +1,126 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import io.cloudbeaver.DBWebException;
+import io.cloudbeaver.model.session.WebSession;
+import io.cloudbeaver.server.CBPlatform;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+/**
+ * GraphQL request context. Created once per HTTP request and shared by all its operations.
+ * <p>
+ * Web session is looked up in the session manager only once, all resolvers reuse it.
+ * Permissions are not cached, they are always checked in the session because they change on login/logout.
+ */
+public class GraphQLRequestContext {
+
+    @NotNull
+    private final HttpServletRequest liveRequest;
+    @NotNull
+    private final HttpServletResponse liveResponse;
+    // Live servlet objects or their copies if operations are executed concurrently
+    @NotNull
+    private volatile HttpServletRequest request;
+    @NotNull
+    private volatile HttpServletResponse response;
+    @Nullable
+    private GraphQLServletSnapshot snapshot;
+    private final Object sessionLock = new Object();
+    @Nullable
+    private WebSession webSession;
+
+    GraphQLRequestContext(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response) {
+        this.liveRequest = request;
+        this.liveResponse = response;
+        this.request = request;
+        this.response = response;
+    }
+
+    @NotNull
+    public HttpServletRequest getRequest() {
+        return request;
+    }
+
+    @NotNull
+    public HttpServletResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * Prepares context for operations executed concurrently.
+     * Servlet request and response are not thread-safe, so operations get their copies (see {@link GraphQLServletSnapshot}).
+     * Web session must be resolved before this call.
+     * Must be called in the request thread before operations are started.
+     */
+    void beginConcurrentAccess() {
+        snapshot = new GraphQLServletSnapshot(liveRequest, liveResponse);
+        request = snapshot.getRequest();
+        response = snapshot.getResponse();
+    }
+
+    /**
+     * Restores live servlet objects and applies response changes made by operations.
+     * Must be called in the request thread after all operations are finished.
+     */
+    void endConcurrentAccess() {
+        request = liveRequest;
+        response = liveResponse;
+        if (snapshot != null) {
+            snapshot.applyResponseChanges(liveResponse);
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Returns existing web session or null
+     */
+    @Nullable
+    public WebSession findWebSession() {
+        synchronized (sessionLock) {
+            if (webSession == null) {
+                webSession = CBPlatform.getInstance().getSessionManager().findWebSession(request);
+            }
+            return webSession;
+        }
+    }
+
+    /**
+     * Returns web session. Creates (or restores) session if it doesn't exist.
+     */
+    @NotNull
+    public WebSession getWebSession(boolean errorOnNotFound) throws DBWebException {
+        synchronized (sessionLock) {
+            if (webSession == null) {
+                webSession = CBPlatform.getInstance().getSessionManager().getWebSession(request, response, errorOnNotFound);
+            }
+            return webSession;
+        }
+    }
+
+    /**
+     * Forgets resolved web session. Must be called when session is closed during the request.
+     */
+    public void resetWebSession() {
+        synchronized (sessionLock) {
+            webSession = null;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Servlet request state for batch operations executed concurrently.
+ * <p>
+ * Servlet request, response and HTTP session are not thread-safe, so operations never touch them.
+ * Request and session data are copied in the request thread before operations are started. The copies are read-only,
+ * except request attributes which are local to the copy.
+ * Response changes (headers, cookies, status) are recorded and applied to the response in the request thread
+ * after all operations are finished. Response getters return the response state at the moment of copy.
+ */
+final class GraphQLServletSnapshot {
+
+    private static final Log log = Log.getLog(GraphQLServletSnapshot.class);
+
+    // Properties which don't depend on arguments. They are read once when the copy is created.
+    private static final String[] REQUEST_PROPERTIES = {
+        "getAuthType", "getContextPath", "getMethod", "getPathInfo", "getPathTranslated", "getQueryString",
+        "getRemoteUser", "getRequestedSessionId", "getRequestURI", "getServletPath", "getUserPrincipal",
+        "isRequestedSessionIdValid", "isRequestedSessionIdFromCookie", "isRequestedSessionIdFromURL",
+        "getCharacterEncoding", "getContentLength", "getContentLengthLong", "getContentType", "getProtocol",
+        "getScheme", "getServerName", "getServerPort", "getRemoteAddr", "getRemoteHost", "getRemotePort",
+        "getLocalName", "getLocalAddr", "getLocalPort", "getLocale", "isSecure", "getServletContext",
+        "getDispatcherType", "getRequestId", "getProtocolRequestId"
+    };
+    private static final String[] SESSION_PROPERTIES = {
+        "getId", "getCreationTime", "getLastAccessedTime", "getMaxInactiveInterval", "isNew", "getServletContext"
+    };
+    private static final String[] RESPONSE_PROPERTIES = {
+        "getStatus", "getContentType", "getCharacterEncoding", "getLocale", "isCommitted", "getBufferSize"
+    };
+
+    @NotNull
+    private final HttpServletRequest request;
+    @NotNull
+    private final HttpServletResponse response;
+    private final List<RecordedCall> responseChanges = new ArrayList<>();
+
+    /**
+     * Copies request state. Must be called in the request thread.
+     */
+    GraphQLServletSnapshot(@NotNull HttpServletRequest liveRequest, @NotNull HttpServletResponse liveResponse) {
+        this.request = makeProxy(HttpServletRequest.class, new RequestHandler(liveRequest));
+        this.response = makeProxy(HttpServletResponse.class, new ResponseHandler(liveResponse));
+    }
+
+    @NotNull
+    HttpServletRequest getRequest() {
+        return request;
+    }
+
+    @NotNull
+    HttpServletResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * Applies recorded response changes in the order they were made. Must be called in the request thread.
+     */
+    void applyResponseChanges(@NotNull HttpServletResponse liveResponse) {
+        List<RecordedCall> changes;
+        synchronized (responseChanges) {
+            changes = new ArrayList<>(responseChanges);
+            responseChanges.clear();
+        }
+        for (RecordedCall change : changes) {
+            try {
+                change.method().invoke(liveResponse, change.args());
+            } catch (InvocationTargetException e) {
+                log.debug("Error applying response change '" + change.method().getName() + "'", e.getTargetException());
+            } catch (IllegalAccessException e) {
+                log.debug("Error applying response change '" + change.method().getName() + "'", e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T makeProxy(@NotNull Class<T> type, @NotNull CopyHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+            switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> type.getSimpleName() + " copy";
+                default -> handler.invoke(method, args == null ? new Object[0] : args);
+            });
+    }
+
+    @NotNull
+    private static Map<String, Object> readProperties(@NotNull Class<?> type, @NotNull Object target, @NotNull String[] names) {
+        Map<String, Object> properties = new HashMap<>();
+        for (String name : names) {
+            Method method;
+            try {
+                method = type.getMethod(name);
+            } catch (NoSuchMethodException e) {
+                // Not available in this servlet API version
+                continue;
+            }
+            try {
+                properties.put(name, method.invoke(target));
+            } catch (InvocationTargetException e) {
+                properties.put(name, new PropertyError(e.getTargetException()));
+            } catch (IllegalAccessException e) {
+                properties.put(name, new PropertyError(e));
+            }
+        }
+        return properties;
+    }
+
+    @Nullable
+    private static String getFirst(@Nullable List<String> values) {
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    @NotNull
+    private static UnsupportedOperationException unsupported(@NotNull Method method) {
+        return new UnsupportedOperationException(
+            method.getDeclaringClass().getSimpleName() + "." + method.getName() + " is not available in concurrent batch operations");
+    }
+
+    private abstract static class CopyHandler {
+        private final Map<String, Object> properties;
+
+        CopyHandler(@NotNull Map<String, Object> properties) {
+            this.properties = properties;
+        }
+
+        Object invoke(@NotNull Method method, @NotNull Object[] args) throws Throwable {
+            if (args.length == 0 && properties.containsKey(method.getName())) {
+                Object value = properties.get(method.getName());
+                if (value instanceof PropertyError error) {
+                    throw error.error();
+                }
+                return value;
+            }
+            return invokeMethod(method, args);
+        }
+
+        abstract Object invokeMethod(@NotNull Method method, @NotNull Object[] args);
+    }
+
+    private static class RequestHandler extends CopyHandler {
+        private final String requestURL;
+        private final List<String> headerNames = new ArrayList<>();
+        private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final Map<String, String[]> parameters = new LinkedHashMap<>();
+        private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+        @Nullable
+        private final Cookie[] cookies;
+        @Nullable
+        private final HttpSession session;
+
+        RequestHandler(@NotNull HttpServletRequest request) {
+            super(readProperties(HttpServletRequest.class, request, REQUEST_PROPERTIES));
+            this.requestURL = request.getRequestURL().toString();
+            for (String name : Collections.list(request.getHeaderNames())) {
+                headerNames.add(name);
+                headers.computeIfAbsent(name, key -> new ArrayList<>()).addAll(Collections.list(request.getHeaders(name)));
+            }
+            request.getParameterMap().forEach((name, values) -> parameters.put(name, values.clone()));
+            for (String name : Collections.list(request.getAttributeNames())) {
+                Object value = request.getAttribute(name);
+                if (value != null) {
+                    attributes.put(name, value);
+                }
+            }
+            Cookie[] requestCookies = request.getCookies();
+            if (requestCookies != null) {
+                this.cookies = new Cookie[requestCookies.length];
+                for (int i = 0; i < requestCookies.length; i++) {
+                    this.cookies[i] = (Cookie) requestCookies[i].clone();
+                }
+            } else {
+                this.cookies = null;
+            }
+            HttpSession httpSession = request.getSession(false);
+            HttpSession sessionCopy = null;
+            if (httpSession != null) {
+                try {
+                    sessionCopy = makeProxy(HttpSession.class, new SessionHandler(httpSession));
+                } catch (IllegalStateException e) {
+                    // Session was invalidated
+                }
+            }
+            this.session = sessionCopy;
+        }
+
+        @Override
+        Object invokeMethod(@NotNull Method method, @NotNull Object[] args) {
+            return switch (method.getName()) {
+                case "getRequestURL" -> new StringBuffer(requestURL);
+                case "getHeader" -> getFirst(headers.get((String) args[0]));
+                case "getHeaders" -> Collections.enumeration(headers.getOrDefault((String) args[0], List.of()));
+                case "getHeaderNames" -> Collections.enumeration(headerNames);
+                case "getParameter" -> {
+                    String[] values = parameters.get((String) args[0]);
+                    yield values == null || values.length == 0 ? null : values[0];
+                }
+                case "getParameterValues" -> {
+                    String[] values = parameters.get((String) args[0]);
+                    yield values == null ? null : values.clone();
+                }
+                case "getParameterNames" -> Collections.enumeration(parameters.keySet());
+                case "getParameterMap" -> Collections.unmodifiableMap(parameters);
+                case "getAttribute" -> attributes.get((String) args[0]);
+                case "getAttributeNames" -> Collections.enumeration(new ArrayList<>(attributes.keySet()));
+                case "setAttribute" -> {
+                    if (args[1] == null) {
+                        attributes.remove((String) args[0]);
+                    } else {
+                        attributes.put((String) args[0], args[1]);
+                    }
+                    yield null;
+                }
+                case "removeAttribute" -> attributes.remove((String) args[0]);
+                case "getCookies" -> cookies == null ? null : cookies.clone();
+                case "getSession" -> {
+                    if (session == null && (args.length == 0 || Boolean.TRUE.equals(args[0]))) {
+                        throw new IllegalStateException("HTTP session can't be created in concurrent batch operations");
+                    }
+                    yield session;
+                }
+                default -> throw unsupported(method);
+            };
+        }
+    }
+
+    private static class SessionHandler extends CopyHandler {
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        SessionHandler(@NotNull HttpSession session) {
+            super(readProperties(HttpSession.class, session, SESSION_PROPERTIES));
+            for (String name : Collections.list(session.getAttributeNames())) {
+                Object value = session.getAttribute(name);
+                if (value != null) {
+                    attributes.put(name, value);
+                }
+            }
+        }
+
+        @Override
+        Object invokeMethod(@NotNull Method method, @NotNull Object[] args) {
+            return switch (method.getName()) {
+                case "getAttribute" -> attributes.get((String) args[0]);
+                case "getAttributeNames" -> Collections.enumeration(attributes.keySet());
+                default -> throw unsupported(method);
+            };
+        }
+    }
+
+    private class ResponseHandler extends CopyHandler {
+        private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        ResponseHandler(@NotNull HttpServletResponse response) {
+            super(readProperties(HttpServletResponse.class, response, RESPONSE_PROPERTIES));
+            for (String name : response.getHeaderNames()) {
+                headers.computeIfAbsent(name, key -> new ArrayList<>()).addAll(response.getHeaders(name));
+            }
+        }
+
+        @Override
+        Object invokeMethod(@NotNull Method method, @NotNull Object[] args) {
+            String name = method.getName();
+            return switch (name) {
+                case "containsHeader" -> headers.containsKey((String) args[0]);
+                case "getHeader" -> getFirst(headers.get((String) args[0]));
+                case "getHeaders" -> List.copyOf(headers.getOrDefault((String) args[0], List.of()));
+                case "getHeaderNames" -> List.copyOf(headers.keySet());
+                default -> {
+                    if (method.getReturnType() != void.class || !(name.startsWith("set") || name.startsWith("add"))) {
+                        throw unsupported(method);
+                    }
+                    // Headers, cookies and status are applied when all operations are finished
+                    Object[] changeArgs = args.length > 0 && args[0] instanceof Cookie cookie ?
+                        new Object[]{cookie.clone()} : args.clone();
+                    synchronized (responseChanges) {
+                        responseChanges.add(new RecordedCall(method, changeArgs));
+                    }
+                    yield null;
+                }
+            };
+        }
+    }
+
+    private record RecordedCall(@NotNull Method method, @NotNull Object[] args) {
+    }
+
+    private record PropertyError(@NotNull Throwable error) {
+    }
+}
@@ -16,12 +16,15 @@
  */
 package io.cloudbeaver.server.jetty;
 
+import io.cloudbeaver.model.config.CBCompressionConfig;
 import io.cloudbeaver.model.config.CBServerConfig;
+import io.cloudbeaver.model.metrics.WebMetricsRegistry;
 import io.cloudbeaver.registry.WebServiceRegistry;
 import io.cloudbeaver.server.CBApplication;
 import io.cloudbeaver.server.GQLApplicationAdapter;
 import io.cloudbeaver.server.graphql.GraphQLEndpoint;
 import io.cloudbeaver.server.servlets.CBImageServlet;
+import io.cloudbeaver.server.servlets.CBMetricsServlet;
 import io.cloudbeaver.server.servlets.CBStaticServlet;
 import io.cloudbeaver.server.servlets.CBStatusServlet;
 import io.cloudbeaver.server.websockets.CBJettyWebSocketManager;
@@ -32,10 +35,13 @@ import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
 import org.eclipse.jetty.ee10.servlet.ServletHolder;
 import org.eclipse.jetty.ee10.servlet.ServletMapping;
 import org.eclipse.jetty.server.*;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.eclipse.jetty.session.DefaultSessionCache;
 import org.eclipse.jetty.session.DefaultSessionIdManager;
 import org.eclipse.jetty.session.NullSessionDataStore;
+import org.eclipse.jetty.util.compression.DeflaterPool;
 import org.eclipse.jetty.util.resource.ResourceFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.eclipse.jetty.websocket.server.WebSocketUpgradeHandler;
 import org.eclipse.jetty.xml.XmlConfiguration;
 import org.jkiss.code.NotNull;
@@ -49,6 +55,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.zip.Deflater;
 
 public class CBJettyServer {
 
@@ -105,6 +112,11 @@ public class CBJettyServer {
                 );
                 staticServletHolder.setInitParameter("dirAllowed", "false");
                 staticServletHolder.setInitParameter("cacheControl", "public, max-age=" + CBStaticServlet.STATIC_CACHE_SECONDS);
+                CBCompressionConfig compressionConfig = serverConfiguration.getCompressionConfiguration();
+                if (compressionConfig.isEnabled() && compressionConfig.isPrecompressedStatic()) {
+                    // Serve prebuilt .br/.gz siblings of static files (with Content-Encoding and Vary headers)
+                    staticServletHolder.setInitParameter("precompressed", "br=.br,gzip=.gz");
+                }
                 servletContextHandler.addServlet(staticServletHolder, "/");
 
                 if (Files.isSymbolicLink(contentRootPath)) {
@@ -115,6 +127,9 @@ public class CBJettyServer {
                 servletContextHandler.addServlet(imagesServletHolder, serverConfiguration.getServicesURI() + "images/*");
 
                 servletContextHandler.addServlet(new ServletHolder("status", new CBStatusServlet()), "/status");
+                if (serverConfiguration.isEnableMetrics()) {
+                    servletContextHandler.addServlet(new ServletHolder("metrics", new CBMetricsServlet()), "/metrics");
+                }
 
                 servletContextHandler.addServlet(new ServletHolder("graphql", new GraphQLEndpoint()), serverConfiguration.getServicesURI() + "gql/*");
                 servletContextHandler.addEventListener(new CBServerContextListener(application));
@@ -134,6 +149,11 @@ public class CBJettyServer {
                     }
                 }
 
+                if (compressionConfig.isEnabled()) {
+                    // Must be inserted before websocket handler, so websocket upgrades are not affected
+                    servletContextHandler.insertHandler(createGzipHandler(compressionConfig));
+                }
+
                 CBJettyWebSocketContext webSocketContext = new CBJettyWebSocketContext(server, servletContextHandler);
                 for (DBWServiceBindingWebSocket wsb : WebServiceRegistry.getInstance()
                     .getWebServices(DBWServiceBindingWebSocket.class)
@@ -199,6 +219,7 @@ public class CBJettyServer {
                 }
             }
             refreshJettyConfig();
+            registerThreadPoolMetrics();
             server.start();
             server.join();
         } catch (Exception e) {
@@ -206,6 +227,43 @@ public class CBJettyServer {
         }
     }
 
+    @NotNull
+    private static GzipHandler createGzipHandler(@NotNull CBCompressionConfig compressionConfig) {
+        GzipHandler gzipHandler = new GzipHandler();
+        gzipHandler.setMinGzipSize(Math.max(compressionConfig.getMinSize(), 0));
+        // GraphQL requests are POSTs
+        gzipHandler.setIncludedMethods("GET", "POST");
+        gzipHandler.setIncludedMimeTypes(
+            "application/json",
+            "text/html",
+            "text/css",
+            "text/plain",
+            "text/javascript",
+            "application/javascript",
+            "image/svg+xml"
+        );
+        // Streamed responses (e.g. query results) must reach the client on each flush
+        gzipHandler.setSyncFlush(true);
+        int level = compressionConfig.getLevel();
+        if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+            log.warn("Invalid compression level " + level + ", default level will be used");
+            level = CBCompressionConfig.DEFAULT_LEVEL;
+        }
+        gzipHandler.setDeflaterPool(new DeflaterPool(gzipHandler.getDeflaterPoolCapacity(), level, true));
+        return gzipHandler;
+    }
+
+    private void registerThreadPoolMetrics() {
+        if (!(server.getThreadPool() instanceof QueuedThreadPool threadPool)) {
+            return;
+        }
+        WebMetricsRegistry metrics = WebMetricsRegistry.getInstance();
+        metrics.gauge("cb_jetty_threads", "Jetty pool threads", threadPool::getThreads);
+        metrics.gauge("cb_jetty_threads_busy", "Busy Jetty pool threads", threadPool::getBusyThreads);
+        metrics.gauge("cb_jetty_threads_max", "Max Jetty pool threads", threadPool::getMaxThreads);
+        metrics.gauge("cb_jetty_queue_size", "Jobs waiting for a Jetty pool thread", threadPool::getQueueSize);
+    }
+
     @Nullable
     private Path getSslConfigurationPath() {
         var sslConfigurationPath = application.getServerConfiguration().getSslConfigurationPath();
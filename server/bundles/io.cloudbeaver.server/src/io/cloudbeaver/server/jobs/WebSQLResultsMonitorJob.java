@@ -0,0 +1,72 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.jobs;
+
+import io.cloudbeaver.model.session.BaseWebSession;
+import io.cloudbeaver.model.session.WebSession;
+import io.cloudbeaver.service.session.WebSessionManager;
+import io.cloudbeaver.service.sql.WebSQLConstants;
+import io.cloudbeaver.service.sql.WebServiceBindingSQL;
+import io.cloudbeaver.utils.WebAppUtils;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.app.DBPPlatform;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.PeriodicJob;
+import org.jkiss.utils.CommonUtils;
+
+/**
+ * Maintains SQL results of all sessions.
+ * Closes server-side cursors which weren't accessed for a long time (abandoned cursors keep statements
+ * and database connections busy) and evicts idle results and results exceeding the session limit.
+ */
+public class WebSQLResultsMonitorJob extends PeriodicJob {
+    private static final Log log = Log.getLog(WebSQLResultsMonitorJob.class);
+    private static final int MONITOR_INTERVAL = 30_000; // once per 30 seconds
+    private final WebSessionManager sessionManager;
+
+    public WebSQLResultsMonitorJob(@NotNull DBPPlatform platform, @NotNull WebSessionManager sessionManager) {
+        super("SQL results monitor", platform, MONITOR_INTERVAL);
+        this.sessionManager = sessionManager;
+    }
+
+    @Override
+    protected void doJob(@NotNull DBRProgressMonitor monitor) {
+        long maxCursorIdleTime = getQuota(
+            WebSQLConstants.QUOTA_PROP_SQL_CURSOR_IDLE_TIMEOUT, WebSQLConstants.CURSOR_IDLE_TIMEOUT) * 1000L;
+        long maxResultsIdleTime = getQuota(
+            WebSQLConstants.QUOTA_PROP_SQL_RESULTS_IDLE_TIMEOUT, WebSQLConstants.RESULTS_IDLE_TIMEOUT) * 1000L;
+        int maxSessionResults = getQuota(
+            WebSQLConstants.QUOTA_PROP_SQL_MAX_SESSION_RESULTS, WebSQLConstants.MAX_SESSION_RESULTS);
+        for (BaseWebSession session : sessionManager.getAllActiveSessions()) {
+            if (session instanceof WebSession webSession) {
+                try {
+                    WebServiceBindingSQL.closeIdleCursors(webSession, maxCursorIdleTime);
+                    WebServiceBindingSQL.evictResults(webSession, maxResultsIdleTime, maxSessionResults);
+                } catch (Exception e) {
+                    log.error("Error cleaning up SQL results of session '" + session.getSessionId() + "'", e);
+                }
+            }
+        }
+    }
+
+    private static int getQuota(@NotNull String quotaId, int defaultValue) {
+        Object value = WebAppUtils.getWebApplication().getAppConfiguration().getResourceQuota(quotaId);
+        int intValue = CommonUtils.toInt(value);
+        return intValue > 0 ? intValue : defaultValue;
+    }
+}
@@ -17,6 +17,7 @@
 package io.cloudbeaver.server.websockets;
 
 import io.cloudbeaver.server.AppWebSessionManager;
+import io.cloudbeaver.model.metrics.WebMetricsRegistry;
 import io.cloudbeaver.model.session.BaseWebSession;
 import io.cloudbeaver.model.session.WebHeadlessSession;
 import io.cloudbeaver.model.session.WebHttpRequestInfo;
@@ -46,6 +47,7 @@ public class CBJettyWebSocketManager implements WebSocketCreator {
 
     public CBJettyWebSocketManager(@NotNull AppWebSessionManager webSessionManager) {
         this.webSessionManager = webSessionManager;
+        WebMetricsRegistry.getInstance().gauge("cb_websockets_open", "Open event websockets", this::getOpenWebSocketCount);
 
         new WebSocketPingPongJob(CBPlatform.getInstance(), this).scheduleMonitor();
     }
@@ -102,6 +104,18 @@ public class CBJettyWebSocketManager implements WebSocketCreator {
         return webSessionManager.getHeadlessSession(request, requestSession, true);
     }
 
+    public int getOpenWebSocketCount() {
+        int count = 0;
+        for (List<CBEventsWebSocket> webSockets : socketBySessionId.values()) {
+            for (CBEventsWebSocket webSocket : webSockets) {
+                if (webSocket.isOpen()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
     public void sendPing() {
         //remove expired sessions
         socketBySessionId.entrySet()
@@ -41,7 +41,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.*;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Web service implementation
@@ -50,14 +55,37 @@ public abstract class WebServiceBindingBase<API_TYPE extends DBWService> impleme
 
     private static final Log log = Log.getLog(WebServiceBindingBase.class);
 
+    private static final MethodType SPREAD_INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final Object[] NO_ARGS = new Object[0];
+
     private final Class<API_TYPE> apiInterface;
     private final API_TYPE serviceImpl;
     private final String schemaFileName;
+    // Service method descriptors. Annotations and parameters are analyzed once, not on each call.
+    private final Map<Method, ServiceMethod> serviceMethods;
+    private final Constructor<?> proxyConstructor;
 
     public WebServiceBindingBase(Class<API_TYPE> apiInterface, API_TYPE impl, String schemaFileName) {
         this.apiInterface = apiInterface;
         this.serviceImpl = impl;
         this.schemaFileName = schemaFileName;
+
+        Map<Method, ServiceMethod> methods = new HashMap<>();
+        for (Method method : apiInterface.getMethods()) {
+            if (!Modifier.isStatic(method.getModifiers())) {
+                methods.put(method, new ServiceMethod(method, impl));
+            }
+        }
+        this.serviceMethods = Map.copyOf(methods);
+        // Proxy class is resolved once, getService only instantiates it with a new handler
+        try {
+            this.proxyConstructor = Proxy.newProxyInstance(
+                    getClass().getClassLoader(), new Class[]{apiInterface}, (proxy, method, args) -> null)
+                .getClass()
+                .getConstructor(InvocationHandler.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Can't create proxy for " + apiInterface.getName(), e);
+        }
     }
 
     protected API_TYPE getServiceImpl() {
@@ -73,8 +101,11 @@ public abstract class WebServiceBindingBase<API_TYPE extends DBWService> impleme
      * Creates proxy for permission checks and other general API calls validation/logging.
      */
     protected API_TYPE getService(DataFetchingEnvironment env) {
-        Object proxyImpl = Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{apiInterface}, new ServiceInvocationHandler(serviceImpl, env));
-        return apiInterface.cast(proxyImpl);
+        try {
+            return apiInterface.cast(proxyConstructor.newInstance(new ServiceInvocationHandler(env)));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Can't create proxy for " + apiInterface.getName(), e);
+        }
     }
 
     public static TypeDefinitionRegistry loadSchemaDefinition(Class<?> theClass, String schemaPath) {
@@ -103,13 +134,11 @@ public abstract class WebServiceBindingBase<API_TYPE extends DBWService> impleme
     }
 
     protected static WebSession getWebSession(DataFetchingEnvironment env) throws DBWebException {
-        return CBPlatform.getInstance().getSessionManager().getWebSession(
-            getServletRequest(env), getServletResponse(env));
+        return GraphQLEndpoint.getRequestContext(env).getWebSession(true);
     }
 
     protected static WebSession getWebSession(DataFetchingEnvironment env, boolean errorOnNotFound) throws DBWebException {
-        return CBPlatform.getInstance().getSessionManager().getWebSession(
-            getServletRequest(env), getServletResponse(env), errorOnNotFound);
+        return GraphQLEndpoint.getRequestContext(env).getWebSession(errorOnNotFound);
     }
 
     protected static String getProjectReference(DataFetchingEnvironment env) {
@@ -126,13 +155,15 @@ public abstract class WebServiceBindingBase<API_TYPE extends DBWService> impleme
      */
     @Nullable
     public static WebSession findWebSession(DataFetchingEnvironment env) {
-        return CBPlatform.getInstance().getSessionManager().findWebSession(
-            getServletRequest(env));
+        return GraphQLEndpoint.getRequestContext(env).findWebSession();
     }
 
     public static WebSession findWebSession(DataFetchingEnvironment env, boolean errorOnNotFound) throws DBWebException {
-        return CBPlatform.getInstance().getSessionManager().findWebSession(
-            getServletRequest(env), errorOnNotFound);
+        WebSession webSession = findWebSession(env);
+        if (webSession == null && errorOnNotFound) {
+            throw new DBWebException("Session has expired", DBWebException.ERROR_CODE_SESSION_EXPIRED);
+        }
+        return webSession;
     }
 
     @NotNull
@@ -140,40 +171,108 @@ public abstract class WebServiceBindingBase<API_TYPE extends DBWService> impleme
         return WebDataSourceUtils.getWebConnectionInfo(session, projectId, connectionId);
     }
 
+    /**
+     * Service method descriptor. Contains permission annotations and the target method handle.
+     */
+    private static class ServiceMethod {
+        private final Method method;
+        private final MethodHandle invoker;
+        private final Class<?>[] exceptionTypes;
+        @Nullable
+        private final WebActionSet actionSet;
+        @Nullable
+        private final WebAction webAction;
+        @Nullable
+        private final WebProjectAction projectAction;
+        // Index of the project ID argument (for project actions)
+        private final int objectIdArgumentIndex;
+        @Nullable
+        private final String objectIdArgumentError;
+
+        ServiceMethod(@NotNull Method method, @NotNull Object impl) {
+            this.method = method;
+            this.exceptionTypes = method.getExceptionTypes();
+            this.actionSet = method.getDeclaringClass().getAnnotation(WebActionSet.class);
+            this.webAction = method.getAnnotation(WebAction.class);
+            this.projectAction = method.getAnnotation(WebProjectAction.class);
+
+            int argIndex = -1;
+            String argError = "Project id argument not found";
+            Parameter[] parameters = method.getParameters();
+            for (int i = 0; i < parameters.length; i++) {
+                Parameter parameter = parameters[i];
+                if (parameter.isAnnotationPresent(WebObjectId.class)) {
+                    if (String.class != parameter.getAnnotatedType().getType()) {
+                        argError = "Invalid object id type";
+                    } else {
+                        argIndex = i;
+                        argError = null;
+                    }
+                    break;
+                }
+            }
+            this.objectIdArgumentIndex = argIndex;
+            this.objectIdArgumentError = argError;
+
+            try {
+                this.invoker = MethodHandles.publicLookup().unreflect(method)
+                    .bindTo(impl)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(SPREAD_INVOKER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Service method " + method + " is not accessible", e);
+            }
+        }
+
+        Object invoke(@Nullable Object[] args) throws Throwable {
+            return invoker.invokeExact(args == null ? NO_ARGS : args);
+        }
+
+        boolean isDeclaredException(Throwable ex) {
+            for (Class<?> exType : exceptionTypes) {
+                if (exType.isInstance(ex)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
     private class ServiceInvocationHandler implements InvocationHandler {
-        private final API_TYPE impl;
         private final DataFetchingEnvironment env;
 
-        ServiceInvocationHandler(API_TYPE impl, DataFetchingEnvironment env) {
-            this.impl = impl;
+        ServiceInvocationHandler(DataFetchingEnvironment env) {
             this.env = env;
         }
 
         @Override
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            try {
+            ServiceMethod serviceMethod = serviceMethods.get(method);
+            if (serviceMethod == null) {
+                // Object methods
                 try {
-                    WebActionSet actionSet = method.getDeclaringClass().getAnnotation(WebActionSet.class);
-                    if (actionSet != null) {
-                        checkServicePermissions(method, actionSet);
-                    }
-                    WebAction webAction = method.getAnnotation(WebAction.class);
-                    if (webAction != null) {
-                        checkActionPermissions(method, webAction);
-                    }
-                    WebProjectAction projectAction = method.getAnnotation(WebProjectAction.class);
-                    if (projectAction != null) {
-                        checkObjectActionPermissions(method, projectAction, args);
-                    }
-                    beforeWebActionCall(webAction, method, args);
-                    try {
-                        return method.invoke(impl, args);
-                    } finally {
-                        afterWebActionCall(webAction, method, args);
-                    }
+                    return method.invoke(serviceImpl, args);
                 } catch (InvocationTargetException e) {
                     throw e.getTargetException();
                 }
+            }
+            try {
+                if (serviceMethod.actionSet != null) {
+                    checkServicePermissions(method, serviceMethod.actionSet);
+                }
+                WebAction webAction = serviceMethod.webAction;
+                if (webAction != null) {
+                    checkActionPermissions(method, webAction);
+                }
+                if (serviceMethod.projectAction != null) {
+                    checkObjectActionPermissions(serviceMethod, args);
+                }
+                beforeWebActionCall(webAction, method, args);
+                try {
+                    return serviceMethod.invoke(args);
+                } finally {
+                    afterWebActionCall(webAction, method, args);
+                }
             } catch (Throwable ex) {
                 log.error("Unexpected error during gql request", ex);
                 if (SMUtils.isRefreshTokenExpiredExceptionWasHandled(ex)) {
@@ -187,38 +286,25 @@ public abstract class WebServiceBindingBase<API_TYPE extends DBWService> impleme
                         ex
                     );
                 }
-                for (Class<?> exType : method.getExceptionTypes()) {
-                    if (exType.isInstance(ex)) {
-                        throw ex;
-                    }
+                if (serviceMethod.isDeclaredException(ex)) {
+                    throw ex;
                 }
                 // Undeclared exception - wrap
                 throw new InvocationTargetException(ex);
             }
         }
 
-        private void checkObjectActionPermissions(Method method, WebProjectAction objectAction, Object[] args) throws DBException {
+        private void checkObjectActionPermissions(ServiceMethod serviceMethod, Object[] args) throws DBException {
             WebSession webSession = findWebSession(env);
             if (webSession != null && webSession.hasPermission(DBWConstants.PERMISSION_ADMIN)) {
                 return;
             }
-            String[] requireProjectPermissions = objectAction.requireProjectPermissions();
+            String[] requireProjectPermissions = serviceMethod.projectAction.requireProjectPermissions();
             if (requireProjectPermissions.length > 0) {
-                int objectIdArgumentIndex = -1;
-                for (int i = 0; i < method.getParameters().length; i++) {
-                    Parameter parameter = method.getParameters()[i];
-                    if (parameter.isAnnotationPresent(WebObjectId.class)) {
-                        if (String.class != parameter.getAnnotatedType().getType()) {
-                            throw new DBWebExceptionAccessDenied("Invalid object id type");
-                        }
-                        objectIdArgumentIndex = i;
-                        break;
-                    }
-                }
-
-                if (objectIdArgumentIndex < 0) {
-                    throw new DBWebExceptionAccessDenied("Project id argument not found");
+                if (serviceMethod.objectIdArgumentError != null) {
+                    throw new DBWebExceptionAccessDenied(serviceMethod.objectIdArgumentError);
                 }
+                int objectIdArgumentIndex = serviceMethod.objectIdArgumentIndex;
                 if (webSession == null) {
                     throw new DBException("Web session not instantiated");
                 }
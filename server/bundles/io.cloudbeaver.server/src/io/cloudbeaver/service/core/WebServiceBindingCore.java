@@ -96,7 +96,11 @@ public class WebServiceBindingCore extends WebServiceBindingBase<DBWServiceCore>
                     servletRequest,
                     servletResponse);
             })
-            .dataFetcher("closeSession", env -> getService(env).closeSession(GraphQLEndpoint.getServletRequest(env)))
+            .dataFetcher("closeSession", env -> {
+                boolean closed = getService(env).closeSession(GraphQLEndpoint.getServletRequest(env));
+                GraphQLEndpoint.getRequestContext(env).resetWebSession();
+                return closed;
+            })
             .dataFetcher("touchSession", env -> getService(env).touchSession(
                 GraphQLEndpoint.getServletRequest(env), GraphQLEndpoint.getServletResponse(env)))
             .dataFetcher("updateSession", env -> getService(env).updateSession(
@@ -0,0 +1,85 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.session;
+
+import org.jkiss.code.NotNull;
+
+import java.util.*;
+
+/**
+ * Index of web session ids ordered by their idle deadline.
+ * Sessions are grouped in buckets (one per second), so expiry check visits only sessions
+ * whose deadline has passed instead of all active sessions.
+ * Session touch doesn't update the index: when due session turns out to be accessed recently
+ * it is rescheduled with its actual deadline.
+ * Only session ids are stored (each id is scheduled at most once), so closed sessions are not retained
+ * by the index. Sessions are looked up by id when they are due.
+ */
+public final class WebSessionExpiryIndex {
+
+    private static final long BUCKET_MILLIS = 1000;
+
+    private final NavigableMap<Long, Set<String>> buckets = new TreeMap<>();
+    private final Map<String, Long> sessionBuckets = new HashMap<>();
+
+    /**
+     * Schedules session check. Previous schedule of the same session id is replaced.
+     */
+    public void schedule(@NotNull String sessionId, long deadline) {
+        // Round up, so session is never checked before its deadline
+        long bucket = (deadline + BUCKET_MILLIS - 1) / BUCKET_MILLIS;
+        synchronized (buckets) {
+            Long oldBucket = sessionBuckets.put(sessionId, bucket);
+            if (oldBucket != null) {
+                removeFromBucket(oldBucket, sessionId);
+            }
+            buckets.computeIfAbsent(bucket, k -> new HashSet<>()).add(sessionId);
+        }
+    }
+
+    /**
+     * Removes and returns ids of all sessions with deadline before {@code now}
+     */
+    @NotNull
+    public List<String> pollDue(long now) {
+        List<String> result = new ArrayList<>();
+        synchronized (buckets) {
+            Map<Long, Set<String>> dueBuckets = buckets.headMap(now / BUCKET_MILLIS, true);
+            for (Set<String> sessionIds : dueBuckets.values()) {
+                result.addAll(sessionIds);
+            }
+            dueBuckets.clear();
+            for (String sessionId : result) {
+                sessionBuckets.remove(sessionId);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        synchronized (buckets) {
+            return sessionBuckets.size();
+        }
+    }
+
+    private void removeFromBucket(long bucket, @NotNull String sessionId) {
+        Set<String> sessionIds = buckets.get(bucket);
+        if (sessionIds != null && sessionIds.remove(sessionId) && sessionIds.isEmpty()) {
+            buckets.remove(bucket);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.session;
+
+import io.cloudbeaver.model.session.BaseWebSession;
+import io.cloudbeaver.model.session.WebUserContext;
+import io.cloudbeaver.model.user.WebUser;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Secondary indexes of active sessions by user, SM session, team and accessible project.
+ * Indexes are updated when session user context changes (login, logout, projects refresh),
+ * so event handlers can reach affected sessions without iterating all active sessions.
+ */
+public final class WebSessionIndex {
+
+    private final Map<BaseWebSession, SessionKeys> sessionKeys = new ConcurrentHashMap<>();
+    private final Map<String, Set<BaseWebSession>> userSessions = new ConcurrentHashMap<>();
+    private final Map<String, Set<BaseWebSession>> smSessions = new ConcurrentHashMap<>();
+    private final Map<String, Set<BaseWebSession>> teamSessions = new ConcurrentHashMap<>();
+    private final Map<String, Set<BaseWebSession>> projectSessions = new ConcurrentHashMap<>();
+
+    public void addSession(@NotNull String sessionKey, @NotNull BaseWebSession session) {
+        synchronized (this) {
+            sessionKeys.putIfAbsent(session, SessionKeys.empty(sessionKey));
+        }
+        session.getUserContext().setChangeListener(context -> updateSession(session));
+        updateSession(session);
+    }
+
+    public void removeSession(@NotNull BaseWebSession session) {
+        session.getUserContext().setChangeListener(null);
+        synchronized (this) {
+            SessionKeys oldKeys = sessionKeys.remove(session);
+            if (oldKeys != null) {
+                updateIndexes(session, oldKeys, SessionKeys.empty(oldKeys.sessionKey()));
+            }
+        }
+    }
+
+    /**
+     * Returns key of the session in the session manager registry
+     */
+    @Nullable
+    public String getSessionKey(@NotNull BaseWebSession session) {
+        SessionKeys keys = sessionKeys.get(session);
+        return keys == null ? null : keys.sessionKey();
+    }
+
+    @NotNull
+    public Collection<BaseWebSession> getUserSessions(@NotNull String userId) {
+        return getSessions(userSessions, userId);
+    }
+
+    @NotNull
+    public Collection<BaseWebSession> getSmSessions(@NotNull String smSessionId) {
+        return getSessions(smSessions, smSessionId);
+    }
+
+    @NotNull
+    public Collection<BaseWebSession> getTeamSessions(@NotNull String teamId) {
+        return getSessions(teamSessions, normalizeTeamId(teamId));
+    }
+
+    @NotNull
+    public Collection<BaseWebSession> getProjectSessions(@NotNull String projectId) {
+        return getSessions(projectSessions, projectId);
+    }
+
+    private void updateSession(@NotNull BaseWebSession session) {
+        String sessionKey = getSessionKey(session);
+        if (sessionKey == null) {
+            return;
+        }
+        // Read context state before index lock. Listener is called under user context lock.
+        SessionKeys newKeys = readKeys(sessionKey, session.getUserContext());
+        synchronized (this) {
+            SessionKeys oldKeys = sessionKeys.get(session);
+            if (oldKeys == null) {
+                // Session was already removed
+                return;
+            }
+            sessionKeys.put(session, newKeys);
+            updateIndexes(session, oldKeys, newKeys);
+        }
+    }
+
+    private void updateIndexes(@NotNull BaseWebSession session, @NotNull SessionKeys oldKeys, @NotNull SessionKeys newKeys) {
+        if (!Objects.equals(oldKeys.userId(), newKeys.userId())) {
+            unindex(userSessions, oldKeys.userId(), session);
+            index(userSessions, newKeys.userId(), session);
+        }
+        if (!Objects.equals(oldKeys.smSessionId(), newKeys.smSessionId())) {
+            unindex(smSessions, oldKeys.smSessionId(), session);
+            index(smSessions, newKeys.smSessionId(), session);
+        }
+        updateIndex(teamSessions, oldKeys.teams(), newKeys.teams(), session);
+        updateIndex(projectSessions, oldKeys.projects(), newKeys.projects(), session);
+    }
+
+    private static void updateIndex(
+        @NotNull Map<String, Set<BaseWebSession>> index,
+        @NotNull Set<String> oldKeys,
+        @NotNull Set<String> newKeys,
+        @NotNull BaseWebSession session
+    ) {
+        for (String key : oldKeys) {
+            if (!newKeys.contains(key)) {
+                unindex(index, key, session);
+            }
+        }
+        for (String key : newKeys) {
+            if (!oldKeys.contains(key)) {
+                index(index, key, session);
+            }
+        }
+    }
+
+    private static void index(@NotNull Map<String, Set<BaseWebSession>> index, @Nullable String key, @NotNull BaseWebSession session) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(session);
+        }
+    }
+
+    private static void unindex(@NotNull Map<String, Set<BaseWebSession>> index, @Nullable String key, @NotNull BaseWebSession session) {
+        if (key != null) {
+            index.computeIfPresent(key, (k, sessions) -> {
+                sessions.remove(session);
+                return sessions.isEmpty() ? null : sessions;
+            });
+        }
+    }
+
+    @NotNull
+    private static Collection<BaseWebSession> getSessions(@NotNull Map<String, Set<BaseWebSession>> index, @NotNull String key) {
+        Set<BaseWebSession> sessions = index.get(key);
+        return sessions == null ? List.of() : new ArrayList<>(sessions);
+    }
+
+    @NotNull
+    private static SessionKeys readKeys(@NotNull String sessionKey, @NotNull WebUserContext context) {
+        synchronized (context) {
+            WebUser user = context.getUser();
+            Set<String> teams = new HashSet<>();
+            if (user != null) {
+                for (String teamId : user.getTeams()) {
+                    teams.add(normalizeTeamId(teamId));
+                }
+            }
+            return new SessionKeys(
+                sessionKey,
+                user == null ? null : user.getUserId(),
+                context.getSmSessionId(),
+                teams,
+                new HashSet<>(context.getAccessibleProjectIds())
+            );
+        }
+    }
+
+    @NotNull
+    private static String normalizeTeamId(@NotNull String teamId) {
+        // Team ids are compared ignoring case
+        return teamId.toLowerCase(Locale.ENGLISH);
+    }
+
+    private record SessionKeys(
+        @NotNull String sessionKey,
+        @Nullable String userId,
+        @Nullable String smSessionId,
+        @NotNull Set<String> teams,
+        @NotNull Set<String> projects
+    ) {
+        static SessionKeys empty(@NotNull String sessionKey) {
+            return new SessionKeys(sessionKey, null, null, Set.of(), Set.of());
+        }
+    }
+}
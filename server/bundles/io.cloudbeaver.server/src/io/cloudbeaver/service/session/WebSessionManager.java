@@ -19,6 +19,8 @@ package io.cloudbeaver.service.session;
 import io.cloudbeaver.DBWebException;
 import io.cloudbeaver.auth.SMTokenCredentialProvider;
 import io.cloudbeaver.server.AppWebSessionManager;
+import io.cloudbeaver.model.metrics.WebHistogram;
+import io.cloudbeaver.model.metrics.WebMetricsRegistry;
 import io.cloudbeaver.model.session.*;
 import io.cloudbeaver.registry.WebHandlerRegistry;
 import io.cloudbeaver.registry.WebSessionHandlerDescriptor;
@@ -43,6 +45,10 @@ import org.jkiss.dbeaver.model.websocket.event.session.WSSessionStateEvent;
 import org.jkiss.utils.CommonUtils;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -52,11 +58,31 @@ public class WebSessionManager implements AppWebSessionManager {
 
     private static final Log log = Log.getLog(WebSessionManager.class);
 
+    // Seconds
+    private static final double[] EXPIRY_LAG_BUCKETS = {1, 5, 10, 15, 30, 60, 120, 300};
     private final CBApplication application;
-    private final Map<String, BaseWebSession> sessionMap = new HashMap<>();
+    private final Map<String, BaseWebSession> sessionMap = new ConcurrentHashMap<>();
+    // Sessions which are being created or restored right now. Used to create each session only once
+    // without holding any global lock while security controller is accessed.
+    private final Map<String, PendingSession> pendingSessions = new ConcurrentHashMap<>();
+    private final WebSessionExpiryIndex expiryIndex = new WebSessionExpiryIndex();
+    private final WebSessionIndex sessionIndex = new WebSessionIndex();
+    private final WebHistogram expiryLag;
+    private final WebHistogram expiryScanTime;
 
     public WebSessionManager(CBApplication application) {
         this.application = application;
+        WebMetricsRegistry registry = WebMetricsRegistry.getInstance();
+        registry.gauge("cb_sessions_active", "Active web sessions", this::getActiveSessionCount);
+        registry.gauge("cb_sessions_expiry_scheduled", "Sessions scheduled for idle check", expiryIndex::size);
+        expiryLag = registry.histogram(
+            "cb_sessions_expiry_lag_seconds", "Delay between session idle deadline and its expiration", EXPIRY_LAG_BUCKETS);
+        expiryScanTime = registry.histogram(
+            "cb_sessions_expiry_scan_seconds", "Idle sessions expiration time");
+    }
+
+    public int getActiveSessionCount() {
+        return sessionMap.size();
     }
 
     /**
@@ -66,11 +92,10 @@ public class WebSessionManager implements AppWebSessionManager {
     public BaseWebSession closeSession(@NotNull HttpServletRequest request) {
         HttpSession session = request.getSession();
         if (session != null) {
-            BaseWebSession webSession;
-            synchronized (sessionMap) {
-                webSession = sessionMap.remove(session.getId());
-            }
+            cancelPendingSession(session.getId());
+            BaseWebSession webSession = sessionMap.remove(session.getId());
             if (webSession != null) {
+                sessionIndex.removeSession(webSession);
                 log.debug("> Close session '" + session.getId() + "'");
                 webSession.close();
                 return webSession;
@@ -113,21 +138,17 @@ public class WebSessionManager implements AppWebSessionManager {
     ) throws DBWebException {
         HttpSession httpSession = request.getSession(true);
         String sessionId = httpSession.getId();
-        WebSession webSession;
-        synchronized (sessionMap) {
-            var baseWebSession = sessionMap.get(sessionId);
-            if (baseWebSession == null && CBApplication.getInstance().isConfigurationMode()) {
+        BaseWebSession baseWebSession;
+        try {
+            baseWebSession = getOrCreateSession(sessionId, () -> {
+                WebSession webSession;
                 try {
                     webSession = createWebSessionImpl(new WebHttpRequestInfo(request));
                 } catch (DBException e) {
                     throw new DBWebException("Failed to create web session", e);
                 }
-                sessionMap.put(sessionId, webSession);
-            } else if (baseWebSession == null) {
-                try {
-                    webSession = createWebSessionImpl(new WebHttpRequestInfo(request));
-                } catch (DBException e) {
-                    throw new DBWebException("Failed to create web session", e);
+                if (CBApplication.getInstance().isConfigurationMode()) {
+                    return webSession;
                 }
 
                 boolean restored = false;
@@ -144,16 +165,20 @@ public class WebSessionManager implements AppWebSessionManager {
                 log.debug((restored ? "Restored " : "New ") + "web session '" + webSession.getSessionId() + "'");
 
                 webSession.setCacheExpired(!httpSession.isNew());
-
-                sessionMap.put(sessionId, webSession);
-            } else {
-                if (!(baseWebSession instanceof WebSession)) {
-                    throw new DBWebException("Unexpected session type: " + baseWebSession.getClass().getName());
-                }
-                webSession = (WebSession) baseWebSession;
-            }
+                return webSession;
+            });
+        } catch (DBWebException e) {
+            throw e;
+        } catch (DBException e) {
+            throw new DBWebException("Failed to create web session", e);
+        }
+        if (baseWebSession == null) {
+            // Session was closed while it was created
+            throw new DBWebException("Session has expired", DBWebException.ERROR_CODE_SESSION_EXPIRED);
+        }
+        if (!(baseWebSession instanceof WebSession webSession)) {
+            throw new DBWebException("Unexpected session type: " + baseWebSession.getClass().getName());
         }
-
         return webSession;
     }
 
@@ -172,42 +197,125 @@ public class WebSessionManager implements AppWebSessionManager {
             return null;
         }
         var sessionId = sessionIdCookie.getValue();
-        WebSession webSession;
-        synchronized (sessionMap) {
-            if (sessionMap.containsKey(sessionId)) {
-                var cachedWebSession = sessionMap.get(sessionId);
-                if (!(cachedWebSession instanceof WebSession)) {
-                    log.warn("Unexpected session type: " + cachedWebSession.getClass().getName());
+        BaseWebSession session;
+        try {
+            session = getOrCreateSession(sessionId, () -> {
+                var oldAuthInfo = getApplication().getSecurityController().restoreUserSession(sessionId);
+                if (oldAuthInfo == null) {
+                    log.debug("Couldn't restore previous user session '" + sessionId + "'");
                     return null;
                 }
-                return (WebSession) cachedWebSession;
-            } else {
-                try {
-                    var oldAuthInfo = getApplication().getSecurityController().restoreUserSession(sessionId);
-                    if (oldAuthInfo == null) {
-                        log.debug("Couldn't restore previous user session '" + sessionId + "'");
-                        return null;
-                    }
 
-                    webSession = createWebSessionImpl(new WebHttpRequestInfo(
-                        request.getId(),
-                        request.getAttribute("locale"),
-                        Request.getRemoteAddr(request),
-                        request.getHeaders().get("User-Agent")
-                    ));
-                    restorePreviousUserSession(webSession, oldAuthInfo);
+                WebSession webSession = createWebSessionImpl(new WebHttpRequestInfo(
+                    request.getId(),
+                    request.getAttribute("locale"),
+                    Request.getRemoteAddr(request),
+                    request.getHeaders().get("User-Agent")
+                ));
+                restorePreviousUserSession(webSession, oldAuthInfo);
+                log.debug("Web session restored");
+                return webSession;
+            });
+        } catch (DBException e) {
+            log.error("Failed to restore previous user session", e);
+            return null;
+        }
+        if (session != null && !(session instanceof WebSession)) {
+            log.warn("Unexpected session type: " + session.getClass().getName());
+            return null;
+        }
+        return (WebSession) session;
+    }
 
-                    sessionMap.put(sessionId, webSession);
-                    log.debug("Web session restored");
-                    return webSession;
-                } catch (DBException e) {
-                    log.error("Failed to restore previous user session", e);
-                    return null;
+    /**
+     * Returns cached session or creates a new one with the specified factory.
+     * Sessions are created outside of any global lock, so slow session restore (which reads security database)
+     * doesn't block other requests. Concurrent requests with the same session id wait for a single creation.
+     * If session is closed while it is being created then created session is closed and is not registered.
+     *
+     * @return session or null if factory didn't create it
+     */
+    @Nullable
+    protected BaseWebSession getOrCreateSession(
+        @NotNull String sessionId,
+        @NotNull SessionFactory factory
+    ) throws DBException {
+        while (true) {
+            BaseWebSession session = sessionMap.get(sessionId);
+            if (session != null) {
+                return session;
+            }
+            PendingSession creation = new PendingSession();
+            PendingSession activeCreation = pendingSessions.putIfAbsent(sessionId, creation);
+            if (activeCreation != null) {
+                try {
+                    BaseWebSession createdSession = activeCreation.future.join();
+                    if (createdSession != null || activeCreation.discarded) {
+                        return createdSession;
+                    }
+                    // Factory of another request didn't create the session (e.g. it couldn't be restored).
+                    // Try to create session with our own factory.
+                } catch (CompletionException | CancellationException e) {
+                    // Creation failed in another request. Try to create session ourselves.
+                }
+                continue;
+            }
+            try {
+                // Session may be created right before we registered our creation
+                session = sessionMap.get(sessionId);
+                if (session == null) {
+                    session = factory.createSession();
+                    if (session != null && !registerSession(sessionId, creation, session)) {
+                        log.debug("> Session '" + sessionId + "' was closed while it was created");
+                        session.close();
+                        session = null;
+                        creation.discarded = true;
+                    }
                 }
+                creation.future.complete(session);
+                return session;
+            } catch (Throwable e) {
+                creation.future.completeExceptionally(e);
+                throw e;
+            } finally {
+                pendingSessions.remove(sessionId, creation);
             }
         }
     }
 
+    /**
+     * Registers created session unless it was closed during creation.
+     * Runs under the pending sessions map entry lock, so it can't interleave with {@link #cancelPendingSession}.
+     */
+    private boolean registerSession(
+        @NotNull String sessionId,
+        @NotNull PendingSession creation,
+        @NotNull BaseWebSession session
+    ) {
+        boolean[] registered = new boolean[1];
+        pendingSessions.computeIfPresent(sessionId, (key, pending) -> {
+            if (pending == creation && !pending.closed) {
+                sessionMap.put(sessionId, session);
+                sessionIndex.addSession(sessionId, session);
+                expiryIndex.schedule(
+                    sessionId, session.getLastAccessTimeMillis() + application.getMaxSessionIdleTime());
+                registered[0] = true;
+            }
+            return pending;
+        });
+        return registered[0];
+    }
+
+    /**
+     * Marks session which is being created right now as closed, so it won't be registered
+     */
+    private void cancelPendingSession(@NotNull String sessionId) {
+        pendingSessions.computeIfPresent(sessionId, (key, pending) -> {
+            pending.closed = true;
+            return pending;
+        });
+    }
+
     private boolean restorePreviousUserSession(@NotNull WebSession webSession) throws DBException {
         var oldAuthInfo = webSession.getSecurityController().restoreUserSession(webSession.getSessionId());
         if (oldAuthInfo == null) {
@@ -242,22 +350,18 @@ public class WebSessionManager implements AppWebSessionManager {
     @Override
     @Nullable
     public BaseWebSession getSession(@NotNull String sessionId) {
-        synchronized (sessionMap) {
-            return sessionMap.get(sessionId);
-        }
+        return sessionMap.get(sessionId);
     }
 
     @Override
     @Nullable
     public WebSession findWebSession(HttpServletRequest request) {
         String sessionId = request.getSession().getId();
-        synchronized (sessionMap) {
-            var session = sessionMap.get(sessionId);
-            if (session instanceof WebSession) {
-                return (WebSession) session;
-            }
-            return null;
+        var session = sessionMap.get(sessionId);
+        if (session instanceof WebSession) {
+            return (WebSession) session;
         }
+        return null;
     }
 
     @Override
@@ -272,20 +376,33 @@ public class WebSessionManager implements AppWebSessionManager {
         return null;
     }
 
+    /**
+     * Closes sessions which were not accessed longer than max session idle time.
+     * Only sessions with passed idle deadline are checked, so expiration cost doesn't depend on active sessions count.
+     */
     public void expireIdleSessions() {
+        long startTime = System.nanoTime();
         long maxSessionIdleTime = application.getMaxSessionIdleTime();
+        long currentTime = System.currentTimeMillis();
 
         List<BaseWebSession> expiredList = new ArrayList<>();
-        synchronized (sessionMap) {
-            for (Iterator<BaseWebSession> iterator = sessionMap.values().iterator(); iterator.hasNext(); ) {
-                var session = iterator.next();
-                long idleMillis = System.currentTimeMillis() - session.getLastAccessTimeMillis();
-                if (idleMillis >= maxSessionIdleTime) {
-                    iterator.remove();
-                    expiredList.add(session);
-                }
+        for (String sessionId : expiryIndex.pollDue(currentTime)) {
+            var session = sessionMap.get(sessionId);
+            if (session == null) {
+                // Already closed
+                continue;
+            }
+            long deadline = session.getLastAccessTimeMillis() + maxSessionIdleTime;
+            if (deadline > currentTime) {
+                // Session was accessed after it was scheduled
+                expiryIndex.schedule(sessionId, deadline);
+            } else if (sessionMap.remove(sessionId, session)) {
+                sessionIndex.removeSession(session);
+                expiryLag.observe((currentTime - deadline) / 1000.0);
+                expiredList.add(session);
             }
         }
+        expiryScanTime.observeSince(startTime);
 
         for (var session : expiredList) {
             log.debug("> Expire session '" + session.getSessionId() + "'");
@@ -295,9 +412,7 @@ public class WebSessionManager implements AppWebSessionManager {
 
     @Override
     public Collection<BaseWebSession> getAllActiveSessions() {
-        synchronized (sessionMap) {
-            return new ArrayList<>(sessionMap.values());
-        }
+        return new ArrayList<>(sessionMap.values());
     }
 
     @Nullable
@@ -306,89 +421,78 @@ public class WebSessionManager implements AppWebSessionManager {
         if (CommonUtils.isEmpty(smAccessToken)) {
             return null;
         }
-        synchronized (sessionMap) {
-            var tempCredProvider = new SMTokenCredentialProvider(smAccessToken);
-            SMAuthPermissions authPermissions = application.createSecurityController(tempCredProvider).getTokenPermissions();
-            var sessionId = session != null ? session.getId()
-                : authPermissions.getSessionId();
-
-            var existSession = sessionMap.get(sessionId);
-
-            if (existSession instanceof WebHeadlessSession) {
-                return (WebHeadlessSession) existSession;
-            }
-            if (existSession != null) {
-                //session exist but it not headless session
-                return null;
-            }
-            if (!create) {
-                return null;
-            }
-            var headlessSession = new WebHeadlessSession(
-                sessionId,
-                application
-            );
-            headlessSession.getUserContext().refresh(
-                smAccessToken,
-                null,
-                authPermissions
-            );
-            sessionMap.put(sessionId, headlessSession);
+        var tempCredProvider = new SMTokenCredentialProvider(smAccessToken);
+        SMAuthPermissions authPermissions = application.createSecurityController(tempCredProvider).getTokenPermissions();
+        var sessionId = session != null ? session.getId()
+            : authPermissions.getSessionId();
+
+        BaseWebSession existSession;
+        if (create) {
+            existSession = getOrCreateSession(sessionId, () -> {
+                var headlessSession = new WebHeadlessSession(
+                    sessionId,
+                    application
+                );
+                headlessSession.getUserContext().refresh(
+                    smAccessToken,
+                    null,
+                    authPermissions
+                );
+                return headlessSession;
+            });
+        } else {
+            existSession = sessionMap.get(sessionId);
+        }
+        if (existSession instanceof WebHeadlessSession headlessSession) {
             return headlessSession;
         }
+        //session doesn't exist or it is not headless session
+        return null;
     }
 
     /**
      * Send session state with remaining alive time to all cached session
      */
     public void sendSessionsStates() {
-        synchronized (sessionMap) {
-            sessionMap.values()
-                .parallelStream()
-                .filter(session -> {
-                    if (session instanceof WebSession webSession) {
-                        return webSession.isAuthorizedInSecurityManager();
-                    }
-                    return false;
-                })
-                .forEach(session -> {
-                    try {
-                        session.addSessionEvent(new WSSessionStateEvent(
-                            session.getLastAccessTimeMillis(),
-                            session.getRemainingTime(),
-                            session.isValid(),
-                            ((WebSession) session).isCacheExpired(),
-                            ((WebSession) session).getLocale(),
-                            ((WebSession) session).getActionParameters()));
-                    } catch (Exception e) {
-                        log.error("Failed to refresh session state: " + session.getSessionId(), e);
-                    }
-                });
-        }
+        sessionMap.values()
+            .parallelStream()
+            .filter(session -> {
+                if (session instanceof WebSession webSession) {
+                    return webSession.isAuthorizedInSecurityManager();
+                }
+                return false;
+            })
+            .forEach(session -> {
+                try {
+                    session.addSessionEvent(new WSSessionStateEvent(
+                        session.getLastAccessTimeMillis(),
+                        session.getRemainingTime(),
+                        session.isValid(),
+                        ((WebSession) session).isCacheExpired(),
+                        ((WebSession) session).getLocale(),
+                        ((WebSession) session).getActionParameters()));
+                } catch (Exception e) {
+                    log.error("Failed to refresh session state: " + session.getSessionId(), e);
+                }
+            });
     }
 
     public void closeUserSession(@NotNull WSUserDeletedEvent userDeletedEvent) {
-        synchronized (sessionMap) {
-            for (Iterator<BaseWebSession> iterator = sessionMap.values().iterator(); iterator.hasNext(); ) {
-                var session = iterator.next();
-                if (CommonUtils.equalObjects(session.getUserContext().getUserId(),
-                    userDeletedEvent.getDeletedUserId())) {
-                    if (session instanceof WebHeadlessSession headlessSession) {
-                        headlessSession.addSessionEvent(userDeletedEvent);
-                    }
-                    iterator.remove();
-                    session.close();
-                }
+        for (var session : sessionIndex.getUserSessions(userDeletedEvent.getDeletedUserId())) {
+            if (!removeSession(session)) {
+                continue;
             }
+            if (session instanceof WebHeadlessSession headlessSession) {
+                headlessSession.addSessionEvent(userDeletedEvent);
+            }
+            session.close();
         }
     }
 
     public void closeSessions(@NotNull List<String> smSessionsId) {
-        synchronized (sessionMap) {
-            for (Iterator<BaseWebSession> iterator = sessionMap.values().iterator(); iterator.hasNext(); ) {
-                var session = iterator.next();
-                if (smSessionsId.contains(session.getUserContext().getSmSessionId())) {
-                    iterator.remove();
+        for (String smSessionId : smSessionsId) {
+            for (var session : sessionIndex.getSmSessions(smSessionId)) {
+                if (removeSession(session)) {
                     session.close(false, true);
                 }
             }
@@ -399,12 +503,65 @@ public class WebSessionManager implements AppWebSessionManager {
      * Closes all sessions in session manager.
      */
     public void closeAllSessions(@Nullable String initiatorSessionId) {
-        synchronized (sessionMap) {
-            for (Iterator<BaseWebSession> iterator = sessionMap.values().iterator(); iterator.hasNext(); ) {
-                var session = iterator.next();
-                iterator.remove();
+        for (String sessionId : pendingSessions.keySet()) {
+            cancelPendingSession(sessionId);
+        }
+        for (var entry : sessionMap.entrySet()) {
+            var session = entry.getValue();
+            if (sessionMap.remove(entry.getKey(), session)) {
+                sessionIndex.removeSession(session);
                 session.close(false, !WSWebUtils.isSessionIdEquals(session, initiatorSessionId));
             }
         }
     }
+
+    @NotNull
+    @Override
+    public Collection<BaseWebSession> getUserSessions(@NotNull String userId) {
+        return sessionIndex.getUserSessions(userId);
+    }
+
+    @NotNull
+    @Override
+    public Collection<BaseWebSession> getSmSessions(@NotNull String smSessionId) {
+        return sessionIndex.getSmSessions(smSessionId);
+    }
+
+    @NotNull
+    @Override
+    public Collection<BaseWebSession> getTeamSessions(@NotNull String teamId) {
+        return sessionIndex.getTeamSessions(teamId);
+    }
+
+    @NotNull
+    @Override
+    public Collection<BaseWebSession> getProjectSessions(@NotNull String projectId) {
+        return sessionIndex.getProjectSessions(projectId);
+    }
+
+    /**
+     * Removes session from the registry by session object (session id may differ from the registry key)
+     */
+    private boolean removeSession(@NotNull BaseWebSession session) {
+        String sessionKey = sessionIndex.getSessionKey(session);
+        if (sessionKey != null && sessionMap.remove(sessionKey, session)) {
+            sessionIndex.removeSession(session);
+            return true;
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    protected interface SessionFactory {
+        @Nullable
+        BaseWebSession createSession() throws DBException;
+    }
+
+    private static final class PendingSession {
+        private final CompletableFuture<BaseWebSession> future = new CompletableFuture<>();
+        // Set if session was closed during creation. Accessed under the pending sessions map entry lock
+        private boolean closed;
+        // Set if created session was discarded because it was closed. Written before the future is completed
+        private boolean discarded;
+    }
 }
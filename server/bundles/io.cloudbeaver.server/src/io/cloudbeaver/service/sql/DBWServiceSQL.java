@@ -97,8 +97,19 @@ public interface DBWServiceSQL extends DBWService {
         @Nullable WebSQLDataFilter filter,
         @Nullable WebDataFormat dataFormat,
         boolean readLogs,
+        boolean useCursor,
         @NotNull WebSession webSession) throws DBException;
 
+    /**
+     * Reads next rows from the open server-side cursor of results.
+     */
+    @WebAction
+    WebAsyncTaskInfo asyncFetchNextResults(
+        @NotNull WebSQLContextInfo contextInfo,
+        @NotNull String resultId,
+        @Nullable Integer count,
+        @Nullable WebDataFormat dataFormat) throws DBWebException;
+
     @WebAction
     WebAsyncTaskInfo asyncReadDataFromContainer(
         @NotNull WebSQLContextInfo contextInfo,
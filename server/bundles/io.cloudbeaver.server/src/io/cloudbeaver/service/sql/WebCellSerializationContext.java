@@ -0,0 +1,85 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import io.cloudbeaver.model.app.WebAppConfiguration;
+import io.cloudbeaver.model.session.WebSession;
+import io.cloudbeaver.utils.CBModelConstants;
+import io.cloudbeaver.utils.WebAppUtils;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.utils.CommonUtils;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Settings of cell values conversion to the web form.
+ * Resolved once per request, so converting of each cell doesn't read the application configuration.
+ */
+public class WebCellSerializationContext {
+
+    @NotNull
+    private final WebSession webSession;
+    @Nullable
+    private final WebDataFormat dataFormat;
+    private final int textPreviewMaxLength;
+    private final int binaryPreviewMaxLength;
+    @NotNull
+    private final DateTimeFormatter dateFormat;
+
+    public WebCellSerializationContext(@NotNull WebSession webSession, @Nullable WebDataFormat dataFormat) {
+        this.webSession = webSession;
+        this.dataFormat = dataFormat;
+        WebAppConfiguration config = WebAppUtils.getWebApplication().getAppConfiguration();
+        this.textPreviewMaxLength = CommonUtils.toInt(
+            config.getResourceQuota(WebSQLConstants.QUOTA_PROP_TEXT_PREVIEW_MAX_LENGTH),
+            WebSQLConstants.TEXT_PREVIEW_MAX_LENGTH);
+        this.binaryPreviewMaxLength = CommonUtils.toInt(
+            config.getResourceQuota(WebSQLConstants.QUOTA_PROP_BINARY_PREVIEW_MAX_LENGTH),
+            WebSQLConstants.BINARY_PREVIEW_MAX_LENGTH);
+        this.dateFormat = CBModelConstants.ISO_DATE_FORMAT;
+    }
+
+    @NotNull
+    public WebSession getWebSession() {
+        return webSession;
+    }
+
+    @Nullable
+    public WebDataFormat getDataFormat() {
+        return dataFormat;
+    }
+
+    /**
+     * The max length of the text preview
+     */
+    public int getTextPreviewMaxLength() {
+        return textPreviewMaxLength;
+    }
+
+    /**
+     * The max length of the binary preview
+     */
+    public int getBinaryPreviewMaxLength() {
+        return binaryPreviewMaxLength;
+    }
+
+    @NotNull
+    public DateTimeFormatter getDateFormat() {
+        return dateFormat;
+    }
+}
@@ -20,10 +20,13 @@ import io.cloudbeaver.DBWebException;
 import io.cloudbeaver.WebAction;
 import io.cloudbeaver.WebProjectImpl;
 import io.cloudbeaver.model.WebAsyncTaskInfo;
+import io.cloudbeaver.model.session.WebAsyncTaskLane;
 import io.cloudbeaver.model.session.WebAsyncTaskProcessor;
 import io.cloudbeaver.model.session.WebSession;
 import io.cloudbeaver.model.session.WebSessionProvider;
+import io.cloudbeaver.utils.WebAppUtils;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBUtils;
@@ -34,6 +37,7 @@ import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.qm.QMTransactionState;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.rdb.DBSCatalog;
 import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
@@ -41,8 +45,10 @@ import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -55,10 +61,16 @@ public class WebSQLContextInfo implements WebSessionProvider {
     private final transient WebSQLProcessor processor;
     private final String id;
     private final String projectId;
-    private final Map<String, WebSQLResultsInfo> resultInfoMap = new HashMap<>();
+    private final WebSQLResultsCache resultsCache;
 
     private final AtomicInteger resultId = new AtomicInteger();
 
+    // Isolated contexts of result set cursors. Released contexts are reused by next cursors of this SQL context.
+    private final Deque<DBCExecutionContext> idleCursorContexts = new ArrayDeque<>();
+    private final int maxCursorContexts;
+    private int openCursorContexts;
+    private boolean disposed;
+
     public WebSQLContextInfo(
         WebSQLProcessor processor, String id, String catalogName, String schemaName, String projectId
     ) throws DBCException {
@@ -71,6 +83,14 @@ public class WebSQLContextInfo implements WebSessionProvider {
         }
 
         this.projectId = project.getId();
+        this.resultsCache = new WebSQLResultsCache(CommonUtils.toInt(
+            WebAppUtils.getWebApplication().getAppConfiguration()
+                .getResourceQuota(WebSQLConstants.QUOTA_PROP_SQL_MAX_CONTEXT_RESULTS),
+            WebSQLConstants.MAX_CONTEXT_RESULTS));
+        this.maxCursorContexts = CommonUtils.toInt(
+            WebAppUtils.getWebApplication().getAppConfiguration()
+                .getResourceQuota(WebSQLConstants.QUOTA_PROP_SQL_MAX_CONTEXT_CURSORS),
+            WebSQLConstants.MAX_CONTEXT_CURSORS);
 
         if (!CommonUtils.isEmpty(catalogName) || !CommonUtils.isEmpty(schemaName)) {
             try {
@@ -146,6 +166,7 @@ public class WebSQLContextInfo implements WebSessionProvider {
     /**
      * Saves results info into cache.
      * Helps to find it with results id sent by front-end.
+     * Least recently used results are evicted if context results limit is exceeded.
      */
     @NotNull
     public WebSQLResultsInfo saveResult(
@@ -158,28 +179,151 @@ public class WebSQLContextInfo implements WebSessionProvider {
         );
         resultInfo.setAttributes(attributes);
         resultInfo.setTrace(trace);
-        resultInfoMap.put(resultInfo.getId(), resultInfo);
+        resultsCache.put(resultInfo);
         return resultInfo;
     }
 
     @NotNull
     public WebSQLResultsInfo getResults(@NotNull String resultId) throws DBWebException {
-        WebSQLResultsInfo resultsInfo = resultInfoMap.get(resultId);
+        WebSQLResultsInfo resultsInfo = resultsCache.get(resultId);
         if (resultsInfo == null) {
+            if (resultsCache.isEvicted(resultId)) {
+                throw new DBWebException("Results '" + resultId + "' expired and were removed from the server cache. " +
+                    "Please execute the query again");
+            }
             throw new DBWebException("Results '" + resultId + "' not found in context '" + getId() + "'@'" + processor.getConnection().getId() + "'");
         }
         return resultsInfo;
     }
 
     public boolean closeResult(@NotNull String resultId) {
-        return resultInfoMap.remove(resultId) != null;
+        WebSQLResultsInfo resultsInfo = resultsCache.remove(resultId);
+        if (resultsInfo == null) {
+            return false;
+        }
+        resultsInfo.closeCursor();
+        return true;
+    }
+
+    /**
+     * Closes server-side cursors which weren't accessed for a given time.
+     * Results info stays in cache, so results still can be re-read or edited.
+     */
+    public void closeIdleCursors(long maxIdleTime) {
+        for (WebSQLResultsInfo resultsInfo : resultsCache.getAll()) {
+            WebSQLResultCursor cursor = resultsInfo.getCursor();
+            if (cursor != null && cursor.isIdle(maxIdleTime)) {
+                log.debug("Close idle cursor of results '" + resultsInfo.getId() + "' in context '" + getId() + "'");
+                resultsInfo.closeCursor();
+            }
+        }
+    }
+
+    /**
+     * Evicts results which weren't accessed for a given time.
+     */
+    public void evictIdleResults(long maxIdleTime) {
+        resultsCache.evictIdle(maxIdleTime);
+    }
+
+    @NotNull
+    WebSQLResultsCache getResultsCache() {
+        return resultsCache;
+    }
+
+    /**
+     * Borrows isolated context for a result set cursor.
+     * Context is opened on demand, number of open cursor contexts is limited by the sqlMaxContextCursors quota.
+     *
+     * @return context or null if all cursor contexts of this SQL context are in use
+     */
+    @Nullable
+    DBCExecutionContext acquireCursorContext(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBCExecutionContext context
+    ) throws DBException {
+        synchronized (idleCursorContexts) {
+            if (disposed) {
+                return null;
+            }
+            DBCExecutionContext idleContext;
+            while ((idleContext = idleCursorContexts.poll()) != null) {
+                if (idleContext.isConnected()) {
+                    return idleContext;
+                }
+                openCursorContexts--;
+                idleContext.close();
+            }
+            if (openCursorContexts >= maxCursorContexts) {
+                return null;
+            }
+            openCursorContexts++;
+        }
+        DBCExecutionContext cursorContext = null;
+        try {
+            cursorContext = context.getOwnerInstance().openIsolatedContext(monitor, "Result set cursor", context);
+            // Some drivers (e.g. PostgreSQL) ignore fetch size and read the whole result set in auto-commit mode.
+            // Cursor context runs plain selects only, so its transaction is just rolled back on release.
+            DBCTransactionManager txnManager = DBUtils.getTransactionManager(cursorContext);
+            if (txnManager != null && txnManager.isAutoCommit()) {
+                txnManager.setAutoCommit(monitor, false);
+            }
+            return cursorContext;
+        } catch (DBException | RuntimeException e) {
+            synchronized (idleCursorContexts) {
+                openCursorContexts--;
+            }
+            if (cursorContext != null) {
+                cursorContext.close();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns cursor context to the SQL context. Context transaction is rolled back, so the context
+     * may be reused by the next cursor. Context is closed if it can't be reused.
+     */
+    void releaseCursorContext(@NotNull DBCExecutionContext cursorContext) {
+        boolean reusable = false;
+        if (cursorContext.isConnected()) {
+            try (DBCSession session = cursorContext.openSession(
+                new VoidProgressMonitor(), DBCExecutionPurpose.UTIL, "End cursor transaction")
+            ) {
+                DBCTransactionManager txnManager = DBUtils.getTransactionManager(cursorContext);
+                if (txnManager != null && !txnManager.isAutoCommit()) {
+                    txnManager.rollback(session, null);
+                }
+                reusable = true;
+            } catch (Throwable e) {
+                log.debug("Error ending cursor context transaction", e);
+            }
+        }
+        synchronized (idleCursorContexts) {
+            if (reusable && !disposed) {
+                idleCursorContexts.push(cursorContext);
+                return;
+            }
+            openCursorContexts--;
+        }
+        cursorContext.close();
     }
 
     ///////////////////////////////////////////////////////
     // Async model
 
     void dispose() {
-        resultInfoMap.clear();
+        resultsCache.clear().forEach(WebSQLResultsInfo::closeCursor);
+        List<DBCExecutionContext> contexts;
+        synchronized (idleCursorContexts) {
+            disposed = true;
+            contexts = new ArrayList<>(idleCursorContexts);
+            idleCursorContexts.clear();
+            openCursorContexts -= contexts.size();
+        }
+        for (DBCExecutionContext context : contexts) {
+            context.close();
+        }
     }
 
     @Override
@@ -212,7 +356,7 @@ public class WebSQLContextInfo implements WebSessionProvider {
 
             }
         };
-        return getWebSession().createAndRunAsyncTask("Set auto-commit", runnable);
+        return getWebSession().createAndRunAsyncTask("Set auto-commit", WebAsyncTaskLane.INTERACTIVE, runnable);
 
     }
 
@@ -240,7 +384,7 @@ public class WebSQLContextInfo implements WebSessionProvider {
                 }
             }
         };
-        return getWebSession().createAndRunAsyncTask("Commit transaction", runnable);
+        return getWebSession().createAndRunAsyncTask("Commit transaction", WebAsyncTaskLane.INTERACTIVE, runnable);
     }
 
 
@@ -269,7 +413,7 @@ public class WebSQLContextInfo implements WebSessionProvider {
             }
         };
 
-        return getWebSession().createAndRunAsyncTask("Rollback transaction", runnable);
+        return getWebSession().createAndRunAsyncTask("Rollback transaction", WebAsyncTaskLane.INTERACTIVE, runnable);
     }
 
     @Property
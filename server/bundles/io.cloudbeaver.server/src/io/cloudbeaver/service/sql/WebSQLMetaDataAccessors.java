@@ -0,0 +1,106 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.meta.MetaData;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of cell value accessors annotated with {@link MetaData}.
+ * Accessors are resolved once per value class, so plain values (strings, numbers, dates)
+ * do not require any reflection during results fetch.
+ */
+public final class WebSQLMetaDataAccessors {
+
+    private static final Log log = Log.getLog(WebSQLMetaDataAccessors.class);
+
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final Accessor[] NO_ACCESSORS = new Accessor[0];
+
+    private static final ClassValue<Accessor[]> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Accessor[] computeValue(Class<?> type) {
+            return resolveAccessors(type);
+        }
+    };
+
+    private WebSQLMetaDataAccessors() {
+    }
+
+    /**
+     * Reads metadata of the cell value and puts it in the map.
+     *
+     * @return metadata map (created if value has metadata and original map is null)
+     */
+    @Nullable
+    public static Map<String, Object> readMetaData(
+        @NotNull Object cellValue,
+        @Nullable Map<String, Object> metaDataMap
+    ) throws Throwable {
+        Accessor[] accessors = ACCESSORS.get(cellValue.getClass());
+        if (accessors.length == 0) {
+            return metaDataMap;
+        }
+        if (metaDataMap == null) {
+            metaDataMap = new HashMap<>();
+        }
+        for (Accessor accessor : accessors) {
+            metaDataMap.put(accessor.name(), accessor.handle().invokeExact(cellValue));
+        }
+        return metaDataMap;
+    }
+
+    @NotNull
+    private static Accessor[] resolveAccessors(@NotNull Class<?> type) {
+        List<Accessor> accessors = null;
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        for (Method method : type.getMethods()) {
+            MetaData metaData = method.getAnnotation(MetaData.class);
+            if (metaData == null) {
+                continue;
+            }
+            if (method.getParameterCount() != 0) {
+                log.debug("Metadata method '" + method + "' has parameters and will be ignored");
+                continue;
+            }
+            try {
+                MethodHandle handle = lookup.unreflect(method).asType(ACCESSOR_TYPE);
+                if (accessors == null) {
+                    accessors = new ArrayList<>();
+                }
+                accessors.add(new Accessor(metaData.name(), handle));
+            } catch (IllegalAccessException e) {
+                log.debug("Metadata method '" + method + "' is not accessible", e);
+            }
+        }
+        return accessors == null ? NO_ACCESSORS : accessors.toArray(new Accessor[0]);
+    }
+
+    private record Accessor(@NotNull String name, @NotNull MethodHandle handle) {
+    }
+}
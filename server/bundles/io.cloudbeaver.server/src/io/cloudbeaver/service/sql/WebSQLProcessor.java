@@ -22,6 +22,7 @@ import io.cloudbeaver.model.session.WebSession;
 import io.cloudbeaver.model.session.WebSessionProvider;
 import io.cloudbeaver.server.CBPlatform;
 import io.cloudbeaver.server.jobs.SqlOutputLogReaderJob;
+import io.cloudbeaver.utils.WebAppUtils;
 import org.eclipse.jface.text.Document;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
@@ -53,10 +54,12 @@ import org.jkiss.utils.CommonUtils;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -165,6 +168,25 @@ public class WebSQLProcessor implements WebSessionProvider {
         @Nullable WebDataFormat dataFormat,
         @NotNull WebSession webSession,
         boolean readLogs) throws DBWebException {
+        return processQuery(monitor, contextInfo, sql, resultId, filter, dataFormat, webSession, readLogs, false);
+    }
+
+    /**
+     * Executes query and reads the first page of results.
+     * In cursor mode statement stays open after the first page,
+     * next pages can be read with {@link #fetchNextResults}.
+     */
+    @NotNull
+    public WebSQLExecuteInfo processQuery(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull WebSQLContextInfo contextInfo,
+        @NotNull String sql,
+        @Nullable String resultId,
+        @Nullable WebSQLDataFilter filter,
+        @Nullable WebDataFormat dataFormat,
+        @NotNull WebSession webSession,
+        boolean readLogs,
+        boolean useCursor) throws DBWebException {
         if (filter == null) {
             // Use default filter
             filter = new WebSQLDataFilter();
@@ -204,61 +226,97 @@ public class WebSQLProcessor implements WebSessionProvider {
                 WebSQLQueryResults stats = new WebSQLQueryResults(webSession, dataFormat);
                 executeInfo.setResults(new WebSQLQueryResults[]{stats});
             } else if (element instanceof SQLQuery sqlQuery) {
-                DBExecUtils.tryExecuteRecover(monitor, connection.getDataSource(), param -> {
-                    try (DBCSession session = context.openSession(monitor, resolveQueryPurpose(dataFilter), "Execute SQL")) {
-                        AbstractExecutionSource source = new AbstractExecutionSource(
-                            dataContainer,
-                            session.getExecutionContext(),
-                            WebSQLProcessor.this,
-                            sqlQuery);
-
-                        try (DBCStatement dbStat = DBUtils.makeStatement(
-                            source,
-                            session,
-                            DBCStatementType.SCRIPT,
-                            sqlQuery,
-                            webDataFilter.getOffset(),
-                            webDataFilter.getLimit()))
-                        {
-                            SqlOutputLogReaderJob sqlOutputLogReaderJob = null;
-                            if (readLogs) {
-                                DBPDataSource dataSource = context.getDataSource();
-                                DBCServerOutputReader dbcServerOutputReader = DBUtils.getAdapter(DBCServerOutputReader.class, dataSource);
-                                if (dbcServerOutputReader == null) {
-                                    dbcServerOutputReader = new DefaultServerOutputReader();
+                // Open result set of the cursor must not share connection with other statements of this context,
+                // so the cursor is read in an isolated context. Only plain selects are executed there,
+                // other queries must run in the SQL context transaction. In manual commit mode selects also run
+                // in the SQL context, otherwise they wouldn't see its uncommitted changes.
+                // If all cursor contexts are busy then the query is executed without a cursor.
+                DBCExecutionContext cursorContext = useCursor && sqlQuery.isPlainSelect() && isAutoCommit(context) ?
+                    contextInfo.acquireCursorContext(monitor, context) : null;
+                boolean cursorMode = cursorContext != null;
+                DBCExecutionContext queryContext = cursorMode ? cursorContext : context;
+                AtomicBoolean cursorContextUsed = new AtomicBoolean();
+                try {
+                    DBExecUtils.tryExecuteRecover(monitor, connection.getDataSource(), param -> {
+                        // In cursor mode session and statement are owned by the cursor if it was left open
+                        boolean cursorOpened = false;
+                        DBCSession session = queryContext.openSession(monitor, resolveQueryPurpose(dataFilter), "Execute SQL");
+                        try {
+                            AbstractExecutionSource source = new AbstractExecutionSource(
+                                dataContainer,
+                                session.getExecutionContext(),
+                                WebSQLProcessor.this,
+                                sqlQuery);
+
+                            DBCStatement dbStat = DBUtils.makeStatement(
+                                source,
+                                session,
+                                DBCStatementType.SCRIPT,
+                                sqlQuery,
+                                webDataFilter.getOffset(),
+                                cursorMode ? 0 : webDataFilter.getLimit());
+                            try {
+                                SqlOutputLogReaderJob sqlOutputLogReaderJob = null;
+                                if (readLogs) {
+                                    DBPDataSource dataSource = context.getDataSource();
+                                    DBCServerOutputReader dbcServerOutputReader = DBUtils.getAdapter(DBCServerOutputReader.class, dataSource);
+                                    if (dbcServerOutputReader == null) {
+                                        dbcServerOutputReader = new DefaultServerOutputReader();
+                                    }
+                                    sqlOutputLogReaderJob = new SqlOutputLogReaderJob(
+                                        webSession, context, dbStat, dbcServerOutputReader, contextInfo.getId());
+                                    sqlOutputLogReaderJob.schedule();
                                 }
-                                sqlOutputLogReaderJob = new SqlOutputLogReaderJob(
-                                    webSession, context, dbStat, dbcServerOutputReader, contextInfo.getId());
-                                sqlOutputLogReaderJob.schedule();
-                            }
-                            // Set query timeout
-                            int queryTimeout = (int) session.getDataSource().getContainer().getPreferenceStore()
-                                .getDouble(WebSQLConstants.QUOTA_PROP_SQL_QUERY_TIMEOUT);
-                            if (queryTimeout <= 0) {
-                                queryTimeout = CommonUtils.toInt(
-                                    getWebSession().getApplication().getAppConfiguration()
-                                        .getResourceQuota(WebSQLConstants.QUOTA_PROP_SQL_QUERY_TIMEOUT));
-                            }
-                            if (queryTimeout > 0) {
-                                try {
-                                    dbStat.setStatementTimeout(queryTimeout);
-                                } catch (Throwable e) {
-                                    log.debug("Can't set statement timeout:" + e.getMessage());
+                                // Set query timeout
+                                int queryTimeout = (int) session.getDataSource().getContainer().getPreferenceStore()
+                                    .getDouble(WebSQLConstants.QUOTA_PROP_SQL_QUERY_TIMEOUT);
+                                if (queryTimeout <= 0) {
+                                    queryTimeout = CommonUtils.toInt(
+                                        getWebSession().getApplication().getAppConfiguration()
+                                            .getResourceQuota(WebSQLConstants.QUOTA_PROP_SQL_QUERY_TIMEOUT));
+                                }
+                                if (queryTimeout > 0) {
+                                    try {
+                                        dbStat.setStatementTimeout(queryTimeout);
+                                    } catch (Throwable e) {
+                                        log.debug("Can't set statement timeout:" + e.getMessage());
+                                    }
+                                }
+                                if (cursorMode) {
+                                    try {
+                                        dbStat.setResultsFetchSize(webDataFilter.getLimit());
+                                    } catch (Throwable e) {
+                                        log.debug("Can't set results fetch size:" + e.getMessage());
+                                    }
                                 }
-                            }
 
-                            boolean hasResultSet = dbStat.executeStatement();
+                                boolean hasResultSet = dbStat.executeStatement();
 
-                            // Wait SqlLogStateJob, if its starts
-                            if (sqlOutputLogReaderJob != null) {
-                                sqlOutputLogReaderJob.join();
+                                // Wait SqlLogStateJob, if its starts
+                                if (sqlOutputLogReaderJob != null) {
+                                    sqlOutputLogReaderJob.join();
+                                }
+                                cursorOpened = fillQueryResults(
+                                    contextInfo, dataContainer, dbStat, hasResultSet, executeInfo, webDataFilter, dataFilter, dataFormat, cursorContext);
+                                cursorContextUsed.set(cursorOpened);
+                            } finally {
+                                if (!cursorOpened) {
+                                    dbStat.close();
+                                }
                             }
-                            fillQueryResults(contextInfo, dataContainer, dbStat, hasResultSet, executeInfo, webDataFilter, dataFilter, dataFormat);
                         } catch (DBException e) {
                             throw new InvocationTargetException(e);
+                        } finally {
+                            if (!cursorOpened) {
+                                session.close();
+                            }
                         }
+                    });
+                } finally {
+                    if (cursorContext != null && !cursorContextUsed.get()) {
+                        contextInfo.releaseCursorContext(cursorContext);
                     }
-                });
+                }
             } else {
                 executeInfo.setResults(new WebSQLQueryResults[0]);
             }
@@ -321,6 +379,100 @@ public class WebSQLProcessor implements WebSessionProvider {
         return executeInfo;
     }
 
+    /**
+     * Re-reads data of the existing results and passes rows directly to the stream writer.
+     * Rows are not accumulated in memory, so the whole result set (up to the rows quota) may be read at once.
+     */
+    @NotNull
+    public DBCStatistics readDataToStream(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull WebSQLResultsInfo resultsInfo,
+        @NotNull WebSQLDataFilter filter,
+        @Nullable WebDataFormat dataFormat,
+        @NotNull WebSQLResultsStreamWriter writer) throws DBException {
+
+        DBSDataContainer dataContainer = resultsInfo.getDataContainer();
+        DBCExecutionContext executionContext = getExecutionContext(dataContainer);
+        DBDDataFilter dataFilter = filter.makeDataFilter(resultsInfo);
+        long maxRows = filter.getLimit();
+        Number rowLimit = WebAppUtils.getWebApplication().getAppConfiguration()
+            .getResourceQuota(WebSQLConstants.QUOTA_PROP_ROW_LIMIT);
+        if (rowLimit != null && rowLimit.longValue() < maxRows) {
+            maxRows = rowLimit.longValue();
+        }
+        try (DBCSession session = executionContext.openSession(monitor, resolveQueryPurpose(dataFilter), "Stream data from container")) {
+            try (WebSQLStreamDataReceiver dataReceiver = new WebSQLStreamDataReceiver(dataContainer, dataFormat, writer)) {
+                return dataContainer.readData(
+                    new WebExecutionSource(dataContainer, executionContext, this),
+                    session,
+                    dataReceiver,
+                    dataFilter,
+                    filter.getOffset(),
+                    maxRows,
+                    DBSDataContainer.FLAG_NONE,
+                    WebSQLStreamDataReceiver.FETCH_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Reads next page of results from the open server-side cursor.
+     * Cursor is closed once result set is fully fetched.
+     */
+    @NotNull
+    public WebSQLExecuteInfo fetchNextResults(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull WebSQLContextInfo contextInfo,
+        @NotNull String resultId,
+        int maxRows,
+        @Nullable WebDataFormat dataFormat
+    ) throws DBException {
+        WebSQLResultsInfo resultsInfo = contextInfo.getResults(resultId);
+        WebSQLResultCursor cursor = resultsInfo.getCursor();
+        if (cursor == null) {
+            throw new DBWebException("Results '" + resultId + "' have no open cursor");
+        }
+        Number rowLimit = WebAppUtils.getWebApplication().getAppConfiguration()
+            .getResourceQuota(WebSQLConstants.QUOTA_PROP_ROW_LIMIT);
+        if (rowLimit != null && rowLimit.longValue() < maxRows) {
+            maxRows = rowLimit.intValue();
+        }
+        long startTime = System.currentTimeMillis();
+        WebSQLExecuteInfo executeInfo = new WebSQLExecuteInfo();
+        WebSQLQueryResults results = new WebSQLQueryResults(webSession, dataFormat);
+        boolean hasMoreData;
+        synchronized (cursor) {
+            if (cursor.isClosed()) {
+                throw new DBWebException("Cursor of results '" + resultId + "' was closed");
+            }
+            cursor.touch();
+            try (WebSQLQueryDataReceiver dataReceiver = new WebSQLQueryDataReceiver(contextInfo, resultsInfo, cursor, dataFormat)) {
+                // Cursor session belongs to the task which executed the query,
+                // so cancel of this fetch task must be passed to the statement explicitly
+                monitor.startBlock(cursor.getStatement(), "Fetch next results");
+                try {
+                    hasMoreData = readResultSetPage(monitor, cursor.getSession(), cursor.getResultSet(), maxRows, dataReceiver);
+                } catch (DBException e) {
+                    resultsInfo.closeCursor();
+                    throw e;
+                } finally {
+                    monitor.endBlock();
+                }
+                WebSQLQueryResultSet resultSet = dataReceiver.getResultSet();
+                resultSet.setHasMoreData(hasMoreData);
+                results.setResultSet(resultSet);
+                executeInfo.setStatusMessage(resultSet.getRowsWithMetaData().size() + " row(s) fetched");
+            }
+        }
+        if (!hasMoreData) {
+            resultsInfo.closeCursor();
+        }
+        executeInfo.setResults(new WebSQLQueryResults[]{results});
+        executeInfo.setFullQuery(resultsInfo.getQueryText());
+        executeInfo.setDuration(System.currentTimeMillis() - startTime);
+        return executeInfo;
+    }
+
     public WebSQLExecuteInfo updateResultsDataBatch(
         @NotNull DBRProgressMonitor monitor,
         @NotNull WebSQLContextInfo contextInfo,
@@ -350,7 +502,7 @@ public class WebSQLProcessor implements WebSessionProvider {
         WebSQLExecuteInfo result = new WebSQLExecuteInfo();
         List<WebSQLQueryResults> queryResults = new ArrayList<>();
         for (var rowIdentifier : rowIdentifierList) {
-            Map<DBSDataManipulator.ExecuteBatch, Object[]> resultBatches = new LinkedHashMap<>();
+            WebSQLUpdateBatches resultBatches = new WebSQLUpdateBatches();
             DBSDataManipulator dataManipulator = generateUpdateResultsDataBatch(
                 monitor, resultsInfo, rowIdentifier, updatedRows, deletedRows, addedRows, dataFormat, resultBatches, keyReceiver);
 
@@ -378,14 +530,16 @@ public class WebSQLProcessor implements WebSessionProvider {
                 }
                 try {
                     Map<String, Object> options = Collections.emptyMap();
-                    for (Map.Entry<DBSDataManipulator.ExecuteBatch, Object[]> rb : resultBatches.entrySet()) {
+                    for (Map.Entry<DBSDataManipulator.ExecuteBatch, List<Object[]>> rb : resultBatches.getBatches().entrySet()) {
                         DBSDataManipulator.ExecuteBatch batch = rb.getKey();
-                        Object[] rowValues = rb.getValue();
-                        keyReceiver.setRow(rowValues);
+                        // Batches which read generated keys always contain a single row
+                        keyReceiver.setRow(rb.getValue().get(0));
                         DBCStatistics statistics = batch.execute(session, options);
 
                         totalUpdateCount += statistics.getRowsUpdated();
                         result.setDuration(result.getDuration() + statistics.getExecuteTime());
+                    }
+                    for (Object[] rowValues : resultBatches.getResultRows()) {
                         newResultSetRows.add(new WebSQLQueryResultSetRow(rowValues, null));
                     }
 
@@ -443,43 +597,74 @@ public class WebSQLProcessor implements WebSessionProvider {
             DBCExecutionPurpose.UTIL,
             "Refresh row(s) after insert/update")
         ) {
+            WebCellSerializationContext cellContext = new WebCellSerializationContext(webSession, dataFormat);
             boolean canRefreshResults = resultsInfo.canRefreshResults();
+            // get attributes only from row identifiers
+            List<DBDAttributeBinding> idAttributes = canRefreshResults ?
+                resultsInfo.getRowIdentifiers().stream()
+                    .flatMap(r -> r.getAttributes().stream())
+                    .filter(attr -> attr.getRowIdentifier() != null)
+                    .distinct()
+                    .toList() :
+                List.of();
+            List<WebSQLQueryResultSetRow> refreshRows = new ArrayList<>();
             for (WebSQLQueryResultSetRow row : newResultSetRows) {
                 if (row.getData().length == 0) {
                     continue;
                 }
-                if (!canRefreshResults) {
-                    makeWebCellRow(resultsInfo, row, dataFormat);
+                if (!canRefreshResults || !hasKeyValues(row, idAttributes)) {
+                    // No key value for this row
+                    makeWebCellRow(resultsInfo, row, cellContext);
                     continue;
                 }
-                List<DBDAttributeConstraint> constraints = new ArrayList<>();
-                boolean hasKey = true;
-                // get attributes only from row identifiers
-                Set<DBDAttributeBinding> idAttributes = resultsInfo.getRowIdentifiers().stream()
-                    .flatMap(r -> r.getAttributes().stream())
-                    .collect(Collectors.toSet());
-                for (DBDAttributeBinding attr : idAttributes) {
-                    if (attr.getRowIdentifier() == null) {
-                        continue;
+                refreshRows.add(row);
+            }
+            if (refreshRows.isEmpty()) {
+                return;
+            }
+
+            DBSDataContainer dataContainer = resultsInfo.getDataContainer();
+            if (refreshRows.size() > 1 &&
+                dataContainer.getDataSource() instanceof SQLDataSource &&
+                dataContainer.isFeatureSupported(DBSDataContainer.FEATURE_DATA_FILTER) &&
+                (idAttributes.size() == 1 || canInlineKeyValues(idAttributes))
+            ) {
+                // Read rows by chunks using single query per chunk
+                int chunkSize = CommonUtils.toInt(
+                    WebAppUtils.getWebApplication().getAppConfiguration()
+                        .getResourceQuota(WebSQLConstants.QUOTA_PROP_SQL_REFRESH_ROWS_CHUNK_SIZE),
+                    WebSQLConstants.REFRESH_ROWS_CHUNK_SIZE);
+                // Composite key adds condition per key attribute, so keep the query size the same
+                chunkSize = Math.max(1, chunkSize / idAttributes.size());
+                if (chunkSize > 1) {
+                    List<WebSQLQueryResultSetRow> notFoundRows = new ArrayList<>();
+                    for (int i = 0; i < refreshRows.size(); i += chunkSize) {
+                        notFoundRows.addAll(refreshRowsChunk(
+                            session,
+                            resultsInfo,
+                            idAttributes,
+                            refreshRows.subList(i, Math.min(i + chunkSize, refreshRows.size())),
+                            cellContext));
                     }
-                    final Object keyValue = row.getData()[attr.getOrdinalPosition()];
-                    if (DBUtils.isNullValue(keyValue)) {
-                        hasKey = false;
-                        break;
+                    if (!notFoundRows.isEmpty()) {
+                        log.debug(notFoundRows.size() + " of " + refreshRows.size() +
+                            " updated row(s) were not matched by key values, refresh them one by one");
                     }
+                    refreshRows = notFoundRows;
+                }
+            }
+
+            // Rows which can't be refreshed by chunks or were not matched by key
+            for (WebSQLQueryResultSetRow row : refreshRows) {
+                List<DBDAttributeConstraint> constraints = new ArrayList<>();
+                for (DBDAttributeBinding attr : idAttributes) {
                     final DBDAttributeConstraint constraint = new DBDAttributeConstraint(attr);
                     constraint.setOperator(DBCLogicalOperator.EQUALS);
-                    constraint.setValue(keyValue);
+                    constraint.setValue(row.getData()[attr.getOrdinalPosition()]);
                     constraints.add(constraint);
                 }
-                if (!hasKey) {
-                    // No key value for this row
-                    makeWebCellRow(resultsInfo, row, dataFormat);
-                    continue;
-                }
                 DBDDataFilter filter = new DBDDataFilter(constraints);
-                DBSDataContainer dataContainer = resultsInfo.getDataContainer();
-                WebRowDataReceiver dataReceiver = new WebRowDataReceiver(resultsInfo.getAttributes(), row.getData(), dataFormat);
+                WebRowDataReceiver dataReceiver = new WebRowDataReceiver(resultsInfo.getAttributes(), row.getData(), cellContext);
                 dataContainer.readData(
                     new AbstractExecutionSource(dataContainer, getExecutionContext(dataContainer), this),
                     session,
@@ -493,17 +678,120 @@ public class WebSQLProcessor implements WebSessionProvider {
         }
     }
 
+    private static boolean hasKeyValues(@NotNull WebSQLQueryResultSetRow row, @NotNull List<DBDAttributeBinding> idAttributes) {
+        for (DBDAttributeBinding attr : idAttributes) {
+            if (DBUtils.isNullValue(row.getData()[attr.getOrdinalPosition()])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Composite key values are put into the query text as literals, so only simple types are allowed.
+     */
+    private static boolean canInlineKeyValues(@NotNull List<DBDAttributeBinding> keyAttributes) {
+        for (DBDAttributeBinding attr : keyAttributes) {
+            DBPDataKind dataKind = attr.getDataKind();
+            if (dataKind != DBPDataKind.NUMERIC && dataKind != DBPDataKind.STRING) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Refreshes rows with a single query.
+     * Single column key is read with IN condition, composite key with OR of key conditions:
+     * (k1 = ? AND k2 = ?) OR (k1 = ? AND k2 = ?) ...
+     *
+     * @return rows which were not found by their key values
+     */
+    @NotNull
+    private Collection<WebSQLQueryResultSetRow> refreshRowsChunk(
+        @NotNull DBCSession session,
+        @NotNull WebSQLResultsInfo resultsInfo,
+        @NotNull List<DBDAttributeBinding> keyAttributes,
+        @NotNull List<WebSQLQueryResultSetRow> rows,
+        @NotNull WebCellSerializationContext cellContext
+    ) throws DBCException {
+        RowsByKey rowsByKey = new RowsByKey(keyAttributes);
+        List<WebSQLQueryResultSetRow> notFoundRows = new ArrayList<>();
+        for (WebSQLQueryResultSetRow row : rows) {
+            if (!rowsByKey.add(row)) {
+                // Same key twice, refresh it separately
+                notFoundRows.add(row);
+            }
+        }
+
+        DBSDataContainer dataContainer = resultsInfo.getDataContainer();
+        DBDDataFilter filter;
+        if (keyAttributes.size() == 1) {
+            DBDAttributeBinding keyAttribute = keyAttributes.get(0);
+            final DBDAttributeConstraint constraint = new DBDAttributeConstraint(keyAttribute);
+            constraint.setOperator(DBCLogicalOperator.IN);
+            constraint.setValue(rows.stream()
+                .map(row -> row.getData()[keyAttribute.getOrdinalPosition()])
+                .toArray());
+            filter = new DBDDataFilter(List.of(constraint));
+        } else {
+            filter = new DBDDataFilter();
+            filter.setWhere(makeKeysCondition(dataContainer.getDataSource(), keyAttributes, rows));
+        }
+
+        WebRowsRefreshDataReceiver dataReceiver = new WebRowsRefreshDataReceiver(
+            resultsInfo.getAttributes(), rowsByKey, cellContext);
+        dataContainer.readData(
+            new AbstractExecutionSource(dataContainer, getExecutionContext(dataContainer), this),
+            session,
+            dataReceiver,
+            filter,
+            0,
+            rows.size(),
+            DBSDataContainer.FLAG_REFRESH,
+            rows.size());
+        notFoundRows.addAll(rowsByKey.getRows());
+        return notFoundRows;
+    }
+
+    @NotNull
+    private static String makeKeysCondition(
+        @NotNull DBPDataSource dataSource,
+        @NotNull List<DBDAttributeBinding> keyAttributes,
+        @NotNull List<WebSQLQueryResultSetRow> rows
+    ) {
+        StringBuilder condition = new StringBuilder();
+        for (WebSQLQueryResultSetRow row : rows) {
+            if (!condition.isEmpty()) {
+                condition.append(" OR ");
+            }
+            condition.append('(');
+            for (int i = 0; i < keyAttributes.size(); i++) {
+                DBDAttributeBinding attr = keyAttributes.get(i);
+                if (i > 0) {
+                    condition.append(" AND ");
+                }
+                DBSEntityAttribute entityAttribute = attr.getEntityAttribute();
+                String columnName = entityAttribute != null ? entityAttribute.getName() : attr.getName();
+                condition.append(DBUtils.getQuotedIdentifier(dataSource, columnName))
+                    .append('=')
+                    .append(SQLUtils.convertValueToSQL(dataSource, attr, row.getData()[attr.getOrdinalPosition()]));
+            }
+            condition.append(')');
+        }
+        return condition.toString();
+    }
+
     private void makeWebCellRow(
         @NotNull WebSQLResultsInfo resultsInfo,
         @NotNull WebSQLQueryResultSetRow row,
-        @Nullable WebDataFormat dataFormat
+        @NotNull WebCellSerializationContext cellContext
     ) throws DBCException {
         for (int i = 0; i < row.getData().length; i++) {
             row.getData()[i] = WebSQLUtils.makeWebCellValue(
-                webSession,
+                cellContext,
                 resultsInfo.getAttributeByPosition(i),
-                row.getData()[i],
-                dataFormat);
+                row.getData()[i]);
         }
     }
 
@@ -516,8 +804,7 @@ public class WebSQLProcessor implements WebSessionProvider {
         @Nullable List<WebSQLResultsRow> addedRows,
         @Nullable WebDataFormat dataFormat) throws DBException
     {
-        Map<DBSDataManipulator.ExecuteBatch, Object[]> resultBatches = new LinkedHashMap<>();
-
+        WebSQLUpdateBatches resultBatches = new WebSQLUpdateBatches();
 
         WebSQLResultsInfo resultsInfo = contextInfo.getResults(resultsId);
         Set<DBDRowIdentifier> rowIdentifierList = new HashSet<>();
@@ -538,7 +825,7 @@ public class WebSQLProcessor implements WebSessionProvider {
             DBCExecutionContext executionContext = getExecutionContext(dataManipulator);
             try (DBCSession session = executionContext.openSession(monitor, DBCExecutionPurpose.USER, "Update data in container")) {
                 Map<String, Object> options = Collections.emptyMap();
-                for (DBSDataManipulator.ExecuteBatch batch : resultBatches.keySet()) {
+                for (DBSDataManipulator.ExecuteBatch batch : resultBatches.getBatches().keySet()) {
                     batch.generatePersistActions(session, actions, options);
                 }
             }
@@ -558,7 +845,7 @@ public class WebSQLProcessor implements WebSessionProvider {
         @Nullable List<WebSQLResultsRow> deletedRows,
         @Nullable List<WebSQLResultsRow> addedRows,
         @Nullable WebDataFormat dataFormat,
-        @NotNull Map<DBSDataManipulator.ExecuteBatch, Object[]> resultBatches,
+        @NotNull WebSQLUpdateBatches resultBatches,
         @Nullable DBDDataReceiver keyReceiver)
         throws DBException
     {
@@ -581,6 +868,7 @@ public class WebSQLProcessor implements WebSessionProvider {
             updatedResultSet.setColumns(resultsInfo.getAttributes());
 
             if (!CommonUtils.isEmpty(updatedRows)) {
+                resultBatches.resetShapes();
 
                 for (WebSQLResultsRow row : updatedRows) {
                     Object[] finalRow = row.getData();
@@ -648,15 +936,17 @@ public class WebSQLProcessor implements WebSessionProvider {
                         finalRow[updateAttribute.getOrdinalPosition()] = realCellValue;
                     }
 
-                    DBSDataManipulator.ExecuteBatch updateBatch = dataManipulator.updateData(
-                        session, updateAttributes, keyAttributes, null, executionSource);
-                    updateBatch.add(rowValues);
-                    resultBatches.put(updateBatch, finalRow);
+                    resultBatches.addRow(
+                        document == null ? List.of(updateAttributes) : null,
+                        () -> dataManipulator.updateData(session, updateAttributes, keyAttributes, null, executionSource),
+                        rowValues,
+                        finalRow);
                 }
             }
 
             // Add new rows
             if (!CommonUtils.isEmpty(addedRows)) {
+                resultBatches.resetShapes();
                 for (WebSQLResultsRow row : addedRows) {
                     Object[] addedValues = row.getData();
                     if (addedValues.length == 0) {
@@ -679,18 +969,23 @@ public class WebSQLProcessor implements WebSessionProvider {
                         }
                     }
 
-                    DBSDataManipulator.ExecuteBatch insertBatch = dataManipulator.insertData(
-                        session,
-                        insertAttributes.keySet().toArray(new DBDAttributeBinding[0]),
-                        needKeys(keyAttributes, addedValues) ? keyReceiver : null,
-                        executionSource,
-                        new LinkedHashMap<>());
-                    insertBatch.add(insertAttributes.values().toArray());
-                    resultBatches.put(insertBatch, addedValues);
+                    // Generated keys are read into the particular row, so such rows can't be batched
+                    boolean readKeys = keyReceiver != null && needKeys(keyAttributes, addedValues);
+                    resultBatches.addRow(
+                        readKeys ? null : List.copyOf(insertAttributes.keySet()),
+                        () -> dataManipulator.insertData(
+                            session,
+                            insertAttributes.keySet().toArray(new DBDAttributeBinding[0]),
+                            readKeys ? keyReceiver : null,
+                            executionSource,
+                            new LinkedHashMap<>()),
+                        insertAttributes.values().toArray(),
+                        addedValues);
                 }
             }
 
             if (keyAttributes.length > 0 && !CommonUtils.isEmpty(deletedRows)) {
+                resultBatches.resetShapes();
                 for (WebSQLResultsRow row : deletedRows) {
                     Object[] keyData = row.getData();
                     Map<String, Object> keyMetaData = row.getMetaData();
@@ -711,12 +1006,11 @@ public class WebSQLProcessor implements WebSessionProvider {
                         }
                         DBDDocument document = dataLocator.findDocument(session, keyMap, keyMetaData);
 
-                        DBSDataManipulator.ExecuteBatch deleteBatch = dataManipulator.deleteData(
-                                session,
-                                keyAttributes,
-                                executionSource);
-                        deleteBatch.add(new Object[] {document});
-                        resultBatches.put(deleteBatch, new Object[0]);
+                        resultBatches.addRow(
+                            null,
+                            () -> dataManipulator.deleteData(session, keyAttributes, executionSource),
+                            new Object[] {document},
+                            new Object[0]);
                     } else {
                         for (int i = 0; i < allAttributes.length; i++) {
                             if (isDocumentKey || ArrayUtils.contains(keyAttributes, allAttributes[i])) {
@@ -725,12 +1019,14 @@ public class WebSQLProcessor implements WebSessionProvider {
                                 delKeyAttributes.put(allAttributes[i], realCellValue);
                             }
                         }
-                        DBSDataManipulator.ExecuteBatch deleteBatch = dataManipulator.deleteData(
+                        resultBatches.addRow(
+                            List.copyOf(delKeyAttributes.keySet()),
+                            () -> dataManipulator.deleteData(
                                 session,
                                 delKeyAttributes.keySet().toArray(new DBSAttributeBase[0]),
-                                executionSource);
-                        deleteBatch.add(delKeyAttributes.values().toArray());
-                        resultBatches.put(deleteBatch, new Object[0]);
+                                executionSource),
+                            delKeyAttributes.values().toArray(),
+                            new Object[0]);
                     }
                 }
             }
@@ -965,7 +1261,15 @@ public class WebSQLProcessor implements WebSessionProvider {
     }
 
 
-    private void fillQueryResults(
+    /**
+     * Reads statement results.
+     *
+     * @param cursorContext isolated context of the cursor. If specified then the first page is read and cursor is left open
+     *                      if result set has more rows.
+     * @return true if cursor was left open. In this case statement and its session are owned by the cursor,
+     * context is released when the cursor is closed.
+     */
+    private boolean fillQueryResults(
         @NotNull WebSQLContextInfo contextInfo,
         @NotNull DBSDataContainer dataContainer,
         @NotNull DBCStatement dbStat,
@@ -973,26 +1277,52 @@ public class WebSQLProcessor implements WebSessionProvider {
         @NotNull WebSQLExecuteInfo executeInfo,
         @NotNull WebSQLDataFilter webDataFilter,
         @NotNull DBDDataFilter dataFilter,
-        @Nullable WebDataFormat dataFormat) throws DBException {
+        @Nullable WebDataFormat dataFormat,
+        @Nullable DBCExecutionContext cursorContext) throws DBException {
 
         List<WebSQLQueryResults> resultList = new ArrayList<>();
         int maxResultsCount = resolveMaxResultsCount(dataContainer.getDataSource());
         WebSQLQueryResults stats = new WebSQLQueryResults(webSession, dataFormat);
         var rowsUpdated = 0;
+        boolean cursorOpened = false;
         for (int i = 0; i < maxResultsCount; i++) {
             if (hasResultSet) {
                 WebSQLQueryResults results = new WebSQLQueryResults(webSession, dataFormat);
-                try (DBCResultSet resultSet = dbStat.openResultSet()) {
-                    if (resultSet == null) {
-                        break;
-                    }
-                    try (WebSQLQueryDataReceiver dataReceiver = new WebSQLQueryDataReceiver(contextInfo, dataContainer, dataFormat)) {
+                DBCResultSet resultSet = dbStat.openResultSet();
+                if (resultSet == null) {
+                    break;
+                }
+                try (WebSQLQueryDataReceiver dataReceiver = new WebSQLQueryDataReceiver(contextInfo, dataContainer, dataFormat)) {
+                    if (cursorContext != null) {
+                        boolean hasMoreData = readResultSetPage(
+                            dbStat.getSession().getProgressMonitor(), dbStat.getSession(), resultSet, webDataFilter.getLimit(), dataReceiver);
+                        if (hasMoreData) {
+                            // Keep result set open. We can't read next results of this statement,
+                            // so the cursor is always bound to the first result set.
+                            WebSQLResultsInfo resultsInfo = dataReceiver.getResultSet().getResultsInfo();
+                            resultsInfo.setCursor(new WebSQLResultCursor(
+                                dbStat.getSession(),
+                                dbStat,
+                                resultSet,
+                                dataReceiver.getRowBindings(),
+                                () -> contextInfo.releaseCursorContext(cursorContext)));
+                            dataReceiver.getResultSet().setHasMoreData(true);
+                            cursorOpened = true;
+                        }
+                    } else {
                         readResultSet(dbStat.getSession(), resultSet, webDataFilter, dataReceiver);
-                        results.setResultSet(dataReceiver.getResultSet());
-                        dataReceiver.getResultSet().getResultsInfo().setQueryText(resultSet.getSourceStatement().getQueryString());
+                    }
+                    results.setResultSet(dataReceiver.getResultSet());
+                    dataReceiver.getResultSet().getResultsInfo().setQueryText(resultSet.getSourceStatement().getQueryString());
+                } finally {
+                    if (!cursorOpened) {
+                        resultSet.close();
                     }
                 }
                 resultList.add(results);
+                if (cursorOpened) {
+                    break;
+                }
             } else {
                 long updateRowCount = dbStat.getUpdateRowCount();
                 if (updateRowCount >= 0) {
@@ -1011,6 +1341,7 @@ public class WebSQLProcessor implements WebSessionProvider {
 
         setResultFilterText(dataContainer, dbStat.getSession().getDataSource(), executeInfo, dataFilter);
         executeInfo.setFullQuery(dbStat.getQueryString());
+        return cursorOpened;
     }
 
     private void setResultFilterText(@NotNull DBSDataContainer dataContainer, @NotNull DBPDataSource dataSource, @NotNull WebSQLExecuteInfo executeInfo, @NotNull DBDDataFilter filter) throws DBException {
@@ -1040,6 +1371,33 @@ public class WebSQLProcessor implements WebSessionProvider {
         dataReceiver.fetchEnd(session, dbResult);
     }
 
+    /**
+     * Reads exactly {@code maxRows} rows (or less if result set ends).
+     *
+     * @return true if result set may contain more rows
+     */
+    private boolean readResultSetPage(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBCSession session,
+        @NotNull DBCResultSet dbResult,
+        int maxRows,
+        @NotNull WebSQLQueryDataReceiver dataReceiver
+    ) throws DBCException {
+        dataReceiver.fetchStart(session, dbResult, 0, maxRows);
+        int rowCount = 0;
+        boolean hasMoreData = true;
+        while (rowCount < maxRows && !monitor.isCanceled()) {
+            if (!dbResult.nextRow()) {
+                hasMoreData = false;
+                break;
+            }
+            dataReceiver.fetchRow(session, dbResult);
+            rowCount++;
+        }
+        dataReceiver.fetchEnd(session, dbResult);
+        return hasMoreData;
+    }
+
     /**
      * Key data receiver
      */
@@ -1108,12 +1466,12 @@ public class WebSQLProcessor implements WebSessionProvider {
     }
 
     public class WebRowDataReceiver extends RowDataReceiver {
-        private final WebDataFormat dataFormat;
+        private final WebCellSerializationContext cellContext;
 
-        public WebRowDataReceiver(DBDAttributeBinding[] curAttributes, Object[] rowValues, WebDataFormat dataFormat) {
+        public WebRowDataReceiver(DBDAttributeBinding[] curAttributes, Object[] rowValues, WebCellSerializationContext cellContext) {
             super(curAttributes);
             this.rowValues = rowValues;
-            this.dataFormat = dataFormat;
+            this.cellContext = cellContext;
         }
 
         @Override
@@ -1124,13 +1482,101 @@ public class WebSQLProcessor implements WebSessionProvider {
                 Object attrValue = valueHandler.fetchValueObject(session, resultSet, attr, i);
 
                 // Patch result rows (adapt to web format)
-                rowValues[i] = WebSQLUtils.makeWebCellValue(webSession, attr, attrValue, dataFormat);
+                rowValues[i] = WebSQLUtils.makeWebCellValue(cellContext, attr, attrValue);
             }
         }
 
     }
 
 
+    /**
+     * Reads several refreshed rows and puts their values into the original rows matched by key values.
+     * Matched rows are removed from the rows index.
+     */
+    private class WebRowsRefreshDataReceiver implements DBDDataReceiver {
+        private final DBDAttributeBinding[] curAttributes;
+        private final RowsByKey rowsByKey;
+        private final WebCellSerializationContext cellContext;
+
+        WebRowsRefreshDataReceiver(
+            @NotNull DBDAttributeBinding[] curAttributes,
+            @NotNull RowsByKey rowsByKey,
+            @NotNull WebCellSerializationContext cellContext
+        ) {
+            this.curAttributes = curAttributes;
+            this.rowsByKey = rowsByKey;
+            this.cellContext = cellContext;
+        }
+
+        @Override
+        public void fetchStart(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, long offset, long maxRows) {
+        }
+
+        @Override
+        public void fetchRow(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+            Object[] values = new Object[curAttributes.length];
+            for (int i = 0; i < curAttributes.length; i++) {
+                final DBDAttributeBinding attr = curAttributes[i];
+                values[i] = attr.getValueHandler().fetchValueObject(session, resultSet, attr, i);
+            }
+            WebSQLQueryResultSetRow row = rowsByKey.remove(values);
+            if (row == null) {
+                return;
+            }
+            Object[] rowValues = row.getData();
+            for (int i = 0; i < curAttributes.length; i++) {
+                // Patch result rows (adapt to web format)
+                rowValues[i] = WebSQLUtils.makeWebCellValue(cellContext, curAttributes[i], values[i]);
+            }
+        }
+
+        @Override
+        public void fetchEnd(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Updated rows indexed by key values.
+     * Numeric key values are compared by value, because the database may return them with the other type
+     * or scale than they were passed in the update. Other values must match exactly, rows which were not
+     * matched are refreshed separately.
+     */
+    private static class RowsByKey {
+        private final List<DBDAttributeBinding> keyAttributes;
+        private final Map<List<Object>, WebSQLQueryResultSetRow> rows = new LinkedHashMap<>();
+
+        RowsByKey(@NotNull List<DBDAttributeBinding> keyAttributes) {
+            this.keyAttributes = keyAttributes;
+        }
+
+        boolean add(@NotNull WebSQLQueryResultSetRow row) {
+            return rows.putIfAbsent(makeRowKey(row.getData()), row) == null;
+        }
+
+        @Nullable
+        WebSQLQueryResultSetRow remove(@NotNull Object[] values) {
+            return rows.remove(makeRowKey(values));
+        }
+
+        @NotNull
+        Collection<WebSQLQueryResultSetRow> getRows() {
+            return rows.values();
+        }
+
+        @NotNull
+        private List<Object> makeRowKey(@NotNull Object[] values) {
+            List<Object> key = new ArrayList<>(keyAttributes.size());
+            for (DBDAttributeBinding attr : keyAttributes) {
+                key.add(makeKeyValue(values[attr.getOrdinalPosition()]));
+            }
+            return key;
+        }
+    }
+
     ///////////////////////////////////////////////////////
     // Utils
     private static int resolveMaxResultsCount(@Nullable DBPDataSource dataSource) {
@@ -1144,6 +1590,26 @@ public class WebSQLProcessor implements WebSessionProvider {
         return filter.hasFilters() ? DBCExecutionPurpose.USER_FILTERED : DBCExecutionPurpose.USER;
     }
 
+    private static boolean isAutoCommit(@NotNull DBCExecutionContext context) throws DBCException {
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+        return txnManager == null || txnManager.isAutoCommit();
+    }
+
+    /**
+     * Numbers are compared by their normalized decimal value.
+     */
+    @Nullable
+    private static Object makeKeyValue(@Nullable Object keyValue) {
+        if (keyValue instanceof Number number) {
+            try {
+                return new BigDecimal(number.toString()).stripTrailingZeros();
+            } catch (NumberFormatException e) {
+                return keyValue;
+            }
+        }
+        return keyValue;
+    }
+
     private Object setCellRowValue(Object cellRow, WebSession webSession, DBCSession dbcSession, DBDAttributeBinding allAttributes, boolean withoutExecution)
         throws DBException {
         if (cellRow instanceof Map<?, ?>) {
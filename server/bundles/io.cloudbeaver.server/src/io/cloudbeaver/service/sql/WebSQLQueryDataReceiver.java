@@ -19,6 +19,7 @@ package io.cloudbeaver.service.sql;
 import io.cloudbeaver.model.session.WebSession;
 import io.cloudbeaver.utils.WebAppUtils;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataKind;
@@ -28,15 +29,12 @@ import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.trace.DBCTrace;
 import org.jkiss.dbeaver.model.exec.trace.DBCTraceDynamic;
 import org.jkiss.dbeaver.model.impl.data.DBDValueError;
-import org.jkiss.dbeaver.model.meta.MetaData;
 import org.jkiss.dbeaver.model.sql.DBQuotaException;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.utils.CommonUtils;
 
-import java.lang.reflect.Method;
 import java.util.*;
-import java.util.stream.Collectors;
 
 class WebSQLQueryDataReceiver implements DBDDataReceiver {
     private static final Log log = Log.getLog(WebSQLQueryDataReceiver.class);
@@ -45,16 +43,42 @@ class WebSQLQueryDataReceiver implements DBDDataReceiver {
     private final DBSDataContainer dataContainer;
     private final WebDataFormat dataFormat;
     private final WebSQLQueryResultSet webResultSet = new WebSQLQueryResultSet();
+    // Results of open cursor. Set when we fetch next page of already executed query
+    @Nullable
+    private final WebSQLResultsInfo cursorResults;
 
     private DBDAttributeBinding[] bindings;
+    private DBDAttributeBinding[] rowBindings;
     private DBCTrace trace;
     private List<WebSQLQueryResultSetRow> rows = new ArrayList<>();
+    private int rowCount;
     private final Number rowLimit;
 
     WebSQLQueryDataReceiver(WebSQLContextInfo contextInfo, DBSDataContainer dataContainer, WebDataFormat dataFormat) {
         this.contextInfo = contextInfo;
         this.dataContainer = dataContainer;
         this.dataFormat = dataFormat;
+        this.cursorResults = null;
+        rowLimit = WebAppUtils.getWebApplication()
+            .getAppConfiguration()
+            .getResourceQuota(WebSQLConstants.QUOTA_PROP_ROW_LIMIT);
+    }
+
+    /**
+     * Creates receiver for the next page of results with open cursor.
+     * Attributes are already bound so they are reused as is.
+     */
+    WebSQLQueryDataReceiver(
+        @NotNull WebSQLContextInfo contextInfo,
+        @NotNull WebSQLResultsInfo cursorResults,
+        @NotNull WebSQLResultCursor cursor,
+        @Nullable WebDataFormat dataFormat
+    ) {
+        this.contextInfo = contextInfo;
+        this.dataContainer = cursorResults.getDataContainer();
+        this.dataFormat = dataFormat;
+        this.cursorResults = cursorResults;
+        this.bindings = cursor.getBindings();
         rowLimit = WebAppUtils.getWebApplication()
             .getAppConfiguration()
             .getResourceQuota(WebSQLConstants.QUOTA_PROP_ROW_LIMIT);
@@ -64,8 +88,24 @@ class WebSQLQueryDataReceiver implements DBDDataReceiver {
         return webResultSet;
     }
 
+    /**
+     * Result set column bindings (before conversion of complex values into relational view).
+     */
+    DBDAttributeBinding[] getRowBindings() {
+        return rowBindings;
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
     @Override
     public void fetchStart(@NotNull DBCSession session, @NotNull DBCResultSet dbResult, long offset, long maxRows) throws DBCException {
+        if (cursorResults != null) {
+            rowBindings = bindings;
+            this.trace = cursorResults.getTrace();
+            return;
+        }
         DBCResultSetMetaData meta = dbResult.getMeta();
         List<? extends DBCAttributeMetaData> attributes = meta.getAttributes();
         bindings = new DBDAttributeBindingMeta[attributes.size()];
@@ -73,6 +113,7 @@ class WebSQLQueryDataReceiver implements DBDDataReceiver {
             DBCAttributeMetaData attrMeta = attributes.get(i);
             bindings[i] = new DBDAttributeBindingMeta(dataContainer, dbResult.getSession(), attrMeta);
         }
+        rowBindings = bindings;
         if (dbResult instanceof DBCResultSetTrace resultSetTrace) {
             this.trace = resultSetTrace.getExecutionTrace();
         }
@@ -94,16 +135,7 @@ class WebSQLQueryDataReceiver implements DBDDataReceiver {
                     i);
                 row[i] = cellValue;
                 if (cellValue != null) {
-                    Method[] methods = cellValue.getClass().getMethods();
-                    for (Method method : methods) {
-                        if (method.isAnnotationPresent(MetaData.class)) {
-                            if (metaDataMap == null) {
-                                metaDataMap = new HashMap<>();
-                            }
-                            Object value = method.invoke(cellValue);
-                            metaDataMap.put(method.getAnnotation(MetaData.class).name(), value);
-                        }
-                    }
+                    metaDataMap = WebSQLMetaDataAccessors.readMetaData(cellValue, metaDataMap);
                 }
 
             } catch (Throwable e) {
@@ -112,10 +144,11 @@ class WebSQLQueryDataReceiver implements DBDDataReceiver {
         }
 
         rows.add(new WebSQLQueryResultSetRow(row, metaDataMap));
+        rowCount++;
 
-        if (rowLimit != null && rows.size() > rowLimit.longValue()) {
+        if (rowLimit != null && rowCount > rowLimit.longValue()) {
             throw new DBQuotaException(
-                "Result set rows quota exceeded", WebSQLConstants.QUOTA_PROP_ROW_LIMIT, rowLimit.longValue(), rows.size());
+                "Result set rows quota exceeded", WebSQLConstants.QUOTA_PROP_ROW_LIMIT, rowLimit.longValue(), rowCount);
         }
     }
 
@@ -125,42 +158,40 @@ class WebSQLQueryDataReceiver implements DBDDataReceiver {
         WebSession webSession = contextInfo.getProcessor().getWebSession();
         DBSEntity entity = dataContainer instanceof DBSEntity ? (DBSEntity) dataContainer : null;
 
-        try {
-            DBExecUtils.bindAttributes(session, entity, resultSet, bindings, rows.stream().map(WebSQLQueryResultSetRow::getData).collect(Collectors.toList()));
-        } catch (DBException e) {
-            log.error("Error binding attributes", e);
-        }
-
-        if (dataFormat != WebDataFormat.document) {
-            convertComplexValuesToRelationalView(session);
-        }
-
-        // Set proper order position
-        for (int i = 0; i < bindings.length; i++) {
-            DBDAttributeBinding binding = bindings[i];
-            if (binding instanceof DBDAttributeBindingType) {
-                // Type bindings are produced by dynamic map resolve
-                // Their positions are valid only within parent value
-                // In web we make plain list of attributes so we must reorder leaf attributes
-                ((DBDAttributeBindingType) binding).setOrdinalPosition(i);
+        if (cursorResults == null) {
+            try {
+                DBExecUtils.bindAttributes(session, entity, resultSet, bindings, new RowDataList(rows));
+            } catch (DBException e) {
+                log.error("Error binding attributes", e);
             }
         }
 
-        // Convert row values
+        DBDAttributeBinding[] leafBindings = dataFormat == WebDataFormat.document ?
+            bindings : getRelationalBindings(bindings);
+        boolean relationalView = leafBindings != bindings;
+        bindings = leafBindings;
+        updateOrdinalPositions(bindings);
+
+        // Convert row values into their web form in a single pass
+        WebCellSerializationContext cellContext = new WebCellSerializationContext(webSession, dataFormat);
         for (WebSQLQueryResultSetRow row : rows) {
+            Object[] rowData = relationalView ? makeRelationalRow(row.getData(), bindings) : row.getData();
             for (int i = 0; i < bindings.length; i++) {
-                DBDAttributeBinding binding = bindings[i];
-                row.getData()[i] = WebSQLUtils.makeWebCellValue(webSession, binding, row.getData()[i], dataFormat);
+                rowData[i] = WebSQLUtils.makeWebCellValue(cellContext, bindings[i], rowData[i]);
             }
+            row.setData(rowData);
         }
 
         webResultSet.setColumns(bindings);
-        webResultSet.setRows(List.of(rows.toArray(new WebSQLQueryResultSetRow[0])));
+        webResultSet.setRows(Collections.unmodifiableList(rows));
+        // Rows now belong to the result set
+        rows = new ArrayList<>();
         webResultSet.setHasChildrenCollection(resultSet instanceof DBDSubCollectionResultSet);
         webResultSet.setSupportsDataFilter(dataContainer.isFeatureSupported(DBSDataContainer.FEATURE_DATA_FILTER));
         webResultSet.setHasDynamicTrace(trace instanceof DBCTraceDynamic);
 
-        WebSQLResultsInfo resultsInfo = contextInfo.saveResult(dataContainer, trace, bindings);
+        WebSQLResultsInfo resultsInfo = cursorResults != null ?
+            cursorResults : contextInfo.saveResult(dataContainer, trace, bindings);
         webResultSet.setResultsInfo(resultsInfo);
 
         boolean isSingleEntity = DBExecUtils.detectSingleSourceTable(bindings) != null;
@@ -172,48 +203,54 @@ class WebSQLQueryDataReceiver implements DBDDataReceiver {
         webResultSet.setHasRowIdentifier(!rowIdentifiers.isEmpty() && hasRowIdentifier);
     }
 
-    private void convertComplexValuesToRelationalView(DBCSession session) {
-        // Here we get leaf attributes and refetch them into plain tabl structure
+    /**
+     * Returns leaf attributes of the complex (nested) bindings.
+     * Returns the same array if there are no complex attributes.
+     */
+    @NotNull
+    static DBDAttributeBinding[] getRelationalBindings(@NotNull DBDAttributeBinding[] bindings) {
         List<DBDAttributeBinding> leafBindings = new ArrayList<>();
         for (DBDAttributeBinding attr : bindings) {
             collectLeafBindings(attr, leafBindings);
         }
-        if (CommonUtils.equalObjects(bindings, leafBindings)) {
+        if (CommonUtils.equalObjects(Arrays.asList(bindings), leafBindings)) {
             // No complex types
-            return;
+            return bindings;
         }
+        return leafBindings.toArray(new DBDAttributeBinding[0]);
+    }
 
-        // Convert original rows into new rows with leaf attributes
-        // Extract values for leaf attributes from original row
-        DBDAttributeBinding[] leafAttributes = leafBindings.toArray(new DBDAttributeBinding[0]);
-        List<WebSQLQueryResultSetRow> newRows = new ArrayList<>();
-        for (WebSQLQueryResultSetRow row : rows) {
-            Object[] newRow = new Object[leafBindings.size()];
-            for (int i = 0; i < leafBindings.size(); i++) {
-                DBDAttributeBinding leafAttr = leafBindings.get(i);
-                try {
-                    //Object topValue = row[leafAttr.getTopParent().getOrdinalPosition()];
-                    Object cellValue = DBUtils.getAttributeValue(leafAttr, leafAttributes, row.getData());
-/*
-                    Object cellValue = leafAttr.getValueHandler().getValueFromObject(
-                        session,
-                        leafAttr,
-                        topValue,
-                        false,
-                        false);
-*/
-                    newRow[i] = cellValue;
-                } catch (Exception e) {
-                    newRow[i] = new DBDValueError(e);
-                }
+    /**
+     * Extracts values of leaf attributes from the original row.
+     */
+    @NotNull
+    static Object[] makeRelationalRow(@NotNull Object[] row, @NotNull DBDAttributeBinding[] leafAttributes) {
+        Object[] newRow = new Object[leafAttributes.length];
+        for (int i = 0; i < leafAttributes.length; i++) {
+            try {
+                newRow[i] = DBUtils.getAttributeValue(leafAttributes[i], leafAttributes, row);
+            } catch (Exception e) {
+                newRow[i] = new DBDValueError(e);
             }
-            newRows.add(new WebSQLQueryResultSetRow(newRow, row.getMetaData()));
         }
-        this.bindings = leafAttributes;
-        this.rows = newRows;
+        return newRow;
     }
 
-    private void collectLeafBindings(DBDAttributeBinding attr, List<DBDAttributeBinding> leafBindings) {
+    /**
+     * Sets proper order position
+     */
+    static void updateOrdinalPositions(@NotNull DBDAttributeBinding[] bindings) {
+        for (int i = 0; i < bindings.length; i++) {
+            if (bindings[i] instanceof DBDAttributeBindingType typeBinding) {
+                // Type bindings are produced by dynamic map resolve
+                // Their positions are valid only within parent value
+                // In web we make plain list of attributes so we must reorder leaf attributes
+                typeBinding.setOrdinalPosition(i);
+            }
+        }
+    }
+
+    private static void collectLeafBindings(DBDAttributeBinding attr, List<DBDAttributeBinding> leafBindings) {
         // we need to show arrays as string because there was a problem with showing multiple rows for custom objects
         if (attr.getDataKind() == DBPDataKind.ARRAY) {
             leafBindings.add(attr);
@@ -233,4 +270,25 @@ class WebSQLQueryDataReceiver implements DBDDataReceiver {
     public void close() {
         rows.clear();
     }
+
+    /**
+     * Read-only view of rows data. Lets us bind attributes without copying the rows list.
+     */
+    static class RowDataList extends AbstractList<Object[]> {
+        private final List<WebSQLQueryResultSetRow> rows;
+
+        RowDataList(@NotNull List<WebSQLQueryResultSetRow> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public Object[] get(int index) {
+            return rows.get(index).getData();
+        }
+
+        @Override
+        public int size() {
+            return rows.size();
+        }
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
+import io.cloudbeaver.DBWebException;
+import io.cloudbeaver.model.WebConnectionInfo;
+import io.cloudbeaver.model.app.WebApplication;
+import io.cloudbeaver.model.session.WebSession;
+import io.cloudbeaver.server.CBConstants;
+import io.cloudbeaver.service.WebServiceServletBase;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.data.json.JSONUtils;
+import org.jkiss.dbeaver.model.exec.DBCStatistics;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Streams all rows of existing results as a chunked JSON response
+ * (or in the binary columnar format if {@link WebDataFormat#columnar} data format is requested).
+ * Rows are written as soon as they are fetched, so large results do not need to be kept in memory.
+ * <p>
+ * Errors which happen before the first row is written are reported with HTTP status 500.
+ * Errors in the middle of the stream are written as the stream terminator, see
+ * {@link WebSQLResultsJsonWriter} and {@link WebSQLResultsColumnarWriter} for the layout.
+ */
+public class WebSQLResultStreamServlet extends WebServiceServletBase {
+
+    private static final Log log = Log.getLog(WebSQLResultStreamServlet.class);
+
+    private static final Gson gson = new GsonBuilder()
+        .serializeNulls()
+        .create();
+
+    public WebSQLResultStreamServlet(WebApplication application) {
+        super(application);
+    }
+
+    @Override
+    protected void processServiceRequest(
+        WebSession session,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws DBException, IOException {
+        Map<String, Object> variables = getVariables(request);
+        if (variables == null) {
+            throw new DBWebException("Request variables not specified");
+        }
+
+        String projectId = JSONUtils.getString(variables, "projectId");
+        String connectionId = JSONUtils.getString(variables, "connectionId");
+        String contextId = JSONUtils.getString(variables, "contextId");
+        String resultsId = JSONUtils.getString(variables, "resultsId");
+        if (connectionId == null || contextId == null || resultsId == null) {
+            throw new DBWebException("Missing required parameters");
+        }
+        Map<String, Object> filterProps = JSONUtils.getObject(variables, "filter");
+        WebSQLDataFilter filter = new WebSQLDataFilter(filterProps);
+        String dataFormatName = JSONUtils.getString(variables, "dataFormat");
+        WebDataFormat dataFormat = CommonUtils.valueOf(WebDataFormat.class, dataFormatName, WebDataFormat.resultset);
+
+        WebConnectionInfo connectionInfo = session.getAccessibleProjectById(projectId).getWebConnectionInfo(connectionId);
+        WebSQLProcessor processor = WebServiceBindingSQL.getSQLProcessor(connectionInfo);
+        WebSQLContextInfo contextInfo = WebServiceBindingSQL.getSQLContext(processor, contextId);
+        WebSQLResultsInfo resultsInfo = contextInfo.getResults(resultsId);
+
+        WebSQLResultsStreamWriter writer;
+        if (dataFormat == WebDataFormat.columnar) {
+            response.setContentType(WebSQLResultsColumnarWriter.CONTENT_TYPE);
+            writer = new WebSQLResultsColumnarWriter(session, dataFormat, response.getOutputStream(), gson);
+        } else {
+            response.setContentType(CBConstants.APPLICATION_JSON);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            JsonWriter json = new JsonWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+            json.setSerializeNulls(true);
+            writer = new WebSQLResultsJsonWriter(session, dataFormat, json, gson, resultsId);
+        }
+
+        DBCStatistics statistics;
+        try {
+            statistics = processor.readDataToStream(session.getProgressMonitor(), resultsInfo, filter, dataFormat, writer);
+        } catch (DBException e) {
+            log.error("Error streaming results '" + resultsId + "'", e);
+            if (!writer.isStarted()) {
+                // Nothing was written yet, so the error can be reported with HTTP status
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Error reading results: " + e.getMessage());
+            } else {
+                // Response is already committed, terminate the stream with the error
+                writer.finish(null, e);
+            }
+            return;
+        }
+        writer.finish(statistics, null);
+    }
+}
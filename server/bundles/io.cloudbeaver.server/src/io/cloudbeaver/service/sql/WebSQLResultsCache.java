@@ -0,0 +1,190 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import io.cloudbeaver.model.metrics.WebCounter;
+import io.cloudbeaver.model.metrics.WebMetricsRegistry;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+
+import java.util.*;
+
+/**
+ * Bounded LRU cache of SQL context results info.
+ * Least recently used results are evicted when the cache size exceeds the limit
+ * or when they weren't accessed for a long time. Cursors of evicted results are closed.
+ */
+public class WebSQLResultsCache {
+
+    private static final Log log = Log.getLog(WebSQLResultsCache.class);
+
+    // Ids of evicted results are kept to report proper error to the client
+    private static final int MAX_EVICTED_IDS = 1000;
+
+    private static final WebCounter EVICTED_RESULTS = WebMetricsRegistry.getInstance().counter(
+        "cb_sql_results_evicted_total", "Number of SQL results evicted from the results cache", "reason");
+
+    public enum EvictionReason {
+        // Context results limit exceeded
+        SIZE,
+        // Results weren't accessed for a long time
+        IDLE,
+        // Session results limit exceeded
+        SESSION_LIMIT;
+
+        @NotNull
+        String getLabel() {
+            return name().toLowerCase(Locale.ENGLISH);
+        }
+
+        /**
+         * Total number of results evicted for this reason since server start
+         */
+        public long getEvictedCount() {
+            return EVICTED_RESULTS.get(getLabel());
+        }
+    }
+
+    private final int maxSize;
+    private final LinkedHashMap<String, WebSQLResultsInfo> results = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<String> evictedIds = new LinkedHashSet<>();
+
+    public WebSQLResultsCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public void put(@NotNull WebSQLResultsInfo resultsInfo) {
+        List<WebSQLResultsInfo> evicted = null;
+        synchronized (results) {
+            results.put(resultsInfo.getId(), resultsInfo);
+            if (maxSize > 0 && results.size() > maxSize) {
+                evicted = new ArrayList<>();
+                Iterator<WebSQLResultsInfo> iterator = results.values().iterator();
+                while (results.size() > maxSize && iterator.hasNext()) {
+                    WebSQLResultsInfo oldest = iterator.next();
+                    iterator.remove();
+                    evicted.add(oldest);
+                    markEvicted(oldest);
+                }
+            }
+        }
+        if (evicted != null) {
+            closeEvicted(evicted, EvictionReason.SIZE);
+        }
+    }
+
+    @Nullable
+    public WebSQLResultsInfo get(@NotNull String resultId) {
+        WebSQLResultsInfo resultsInfo;
+        synchronized (results) {
+            resultsInfo = results.get(resultId);
+        }
+        if (resultsInfo != null) {
+            resultsInfo.touch();
+        }
+        return resultsInfo;
+    }
+
+    public boolean isEvicted(@NotNull String resultId) {
+        synchronized (results) {
+            return evictedIds.contains(resultId);
+        }
+    }
+
+    @Nullable
+    public WebSQLResultsInfo remove(@NotNull String resultId) {
+        synchronized (results) {
+            return results.remove(resultId);
+        }
+    }
+
+    public int size() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    /**
+     * Returns all results in access order (least recently used first)
+     */
+    @NotNull
+    public List<WebSQLResultsInfo> getAll() {
+        synchronized (results) {
+            return new ArrayList<>(results.values());
+        }
+    }
+
+    public void evict(@NotNull Collection<WebSQLResultsInfo> toEvict, @NotNull EvictionReason reason) {
+        List<WebSQLResultsInfo> evicted = new ArrayList<>();
+        synchronized (results) {
+            for (WebSQLResultsInfo resultsInfo : toEvict) {
+                if (results.remove(resultsInfo.getId()) != null) {
+                    evicted.add(resultsInfo);
+                    markEvicted(resultsInfo);
+                }
+            }
+        }
+        closeEvicted(evicted, reason);
+    }
+
+    public void evictIdle(long maxIdleTime) {
+        long minAccessTime = System.currentTimeMillis() - maxIdleTime;
+        List<WebSQLResultsInfo> idleResults = new ArrayList<>();
+        for (WebSQLResultsInfo resultsInfo : getAll()) {
+            if (resultsInfo.getLastAccessTime() < minAccessTime) {
+                idleResults.add(resultsInfo);
+            }
+        }
+        if (!idleResults.isEmpty()) {
+            evict(idleResults, EvictionReason.IDLE);
+        }
+    }
+
+    /**
+     * Removes all results. Removed results are not considered evicted.
+     */
+    @NotNull
+    public List<WebSQLResultsInfo> clear() {
+        synchronized (results) {
+            List<WebSQLResultsInfo> all = new ArrayList<>(results.values());
+            results.clear();
+            evictedIds.clear();
+            return all;
+        }
+    }
+
+    private void markEvicted(@NotNull WebSQLResultsInfo resultsInfo) {
+        evictedIds.add(resultsInfo.getId());
+        if (evictedIds.size() > MAX_EVICTED_IDS) {
+            Iterator<String> iterator = evictedIds.iterator();
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static void closeEvicted(@NotNull List<WebSQLResultsInfo> evicted, @NotNull EvictionReason reason) {
+        if (evicted.isEmpty()) {
+            return;
+        }
+        EVICTED_RESULTS.add(evicted.size(), reason.getLabel());
+        for (WebSQLResultsInfo resultsInfo : evicted) {
+            resultsInfo.closeCursor();
+        }
+        log.debug(evicted.size() + " SQL results evicted from cache (" + reason + ")");
+    }
+}
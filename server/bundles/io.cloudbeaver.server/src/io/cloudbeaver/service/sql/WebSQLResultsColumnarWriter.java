@@ -0,0 +1,371 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import com.google.gson.Gson;
+import io.cloudbeaver.model.session.WebSession;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDValue;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCStatistics;
+import org.jkiss.dbeaver.model.impl.data.DBDValueError;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.*;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes results rows in the binary columnar format.
+ * <p>
+ * All numbers are big-endian. Stream layout:
+ * <pre>
+ * header:  "CBCR" magic, version (byte), column count (int),
+ *          for each column: name, label, data kind, type name (strings), vector type (byte)
+ * batch:   row count (int, greater than 0),
+ *          for each column: null bitmap ((rowCount + 7) / 8 bytes, bit set for null), values of not null cells
+ * end:     row count 0
+ * error:   row count -1, error message (string)
+ * </pre>
+ * The stream is terminated either with end or with error marker. Error marker means that reading of results failed
+ * and rows written before it are incomplete results. Batches are written atomically, so the marker
+ * always follows a complete batch.
+ * <p>
+ * Vector type of the column is chosen once from the column data kind and type, so all batches of the column
+ * have the same layout. Values of vector types:
+ * <pre>
+ * boolean:   byte (0 or 1)
+ * int64:     long
+ * float64:   double
+ * decimal:   scale (int), unscaled value bytes count (int), unscaled value as two's-complement bytes
+ * timestamp: epoch seconds (long), nanoseconds of second (int)
+ * string:    value in its web form
+ * </pre>
+ * Strings are written as UTF-8 bytes length (int, -1 for null) followed by bytes.
+ * Cells metadata is not written.
+ */
+public class WebSQLResultsColumnarWriter implements WebSQLResultsStreamWriter {
+
+    public static final String CONTENT_TYPE = "application/vnd.cloudbeaver.columnar";
+
+    private static final byte[] MAGIC = {'C', 'B', 'C', 'R'};
+    public static final byte FORMAT_VERSION = 2;
+
+    public static final byte VECTOR_BOOLEAN = 1;
+    public static final byte VECTOR_INT64 = 2;
+    public static final byte VECTOR_FLOAT64 = 3;
+    public static final byte VECTOR_TIMESTAMP = 4;
+    // Values in their web (string) form
+    public static final byte VECTOR_STRING = 5;
+    public static final byte VECTOR_DECIMAL = 6;
+
+    private final WebCellSerializationContext cellContext;
+    private final DataOutputStream out;
+    // Batch is serialized into the buffer first, so the failure in the middle of batch doesn't corrupt the stream
+    private final ByteArrayOutputStream batchBuffer = new ByteArrayOutputStream();
+    private final DataOutputStream batchOut = new DataOutputStream(batchBuffer);
+    private final Gson gson;
+
+    private DBDAttributeBinding[] columns;
+    private byte[] vectorTypes;
+    private final List<Object[]> batch = new ArrayList<>();
+    private long rowCount;
+    private boolean ended;
+
+    public WebSQLResultsColumnarWriter(
+        @NotNull WebSession webSession,
+        @Nullable WebDataFormat dataFormat,
+        @NotNull OutputStream out,
+        @NotNull Gson gson
+    ) {
+        this.cellContext = new WebCellSerializationContext(webSession, dataFormat);
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.gson = gson;
+    }
+
+    @Override
+    public void startRows(@NotNull DBDAttributeBinding[] columns) throws IOException {
+        this.columns = columns;
+        this.vectorTypes = new byte[columns.length];
+        out.write(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeInt(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            WebSQLQueryResultColumn column = new WebSQLQueryResultColumn(columns[i]);
+            vectorTypes[i] = getColumnVectorType(columns[i]);
+            writeString(out, column.getName());
+            writeString(out, column.getLabel());
+            writeString(out, column.getDataKind());
+            writeString(out, column.getTypeName());
+            out.writeByte(vectorTypes[i]);
+        }
+    }
+
+    @Override
+    public void writeRow(@NotNull Object[] row, @Nullable Map<String, Object> metaData) {
+        batch.add(row);
+        rowCount++;
+    }
+
+    @Override
+    public void endRows() throws IOException {
+        writeBatch();
+        out.writeInt(0);
+        ended = true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writeBatch();
+        out.flush();
+    }
+
+    @Override
+    public void finish(@Nullable DBCStatistics statistics, @Nullable Throwable error) throws IOException {
+        if (!isStarted()) {
+            startRows(new DBDAttributeBinding[0]);
+        }
+        if (error != null && !ended) {
+            batch.clear();
+            out.writeInt(-1);
+            writeString(out, CommonUtils.notEmpty(error.getMessage()));
+        } else if (!ended) {
+            endRows();
+        }
+        out.flush();
+    }
+
+    @Override
+    public boolean isStarted() {
+        return columns != null;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    private void writeBatch() throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int batchSize = batch.size();
+        DataOutputStream out = batchOut;
+        batchBuffer.reset();
+        out.writeInt(batchSize);
+        byte[] nullBitmap = new byte[(batchSize + 7) / 8];
+        for (int i = 0; i < columns.length; i++) {
+            for (int k = 0; k < nullBitmap.length; k++) {
+                nullBitmap[k] = 0;
+            }
+            for (int r = 0; r < batchSize; r++) {
+                if (isNullValue(batch.get(r)[i])) {
+                    nullBitmap[r / 8] |= (byte) (1 << (r % 8));
+                }
+            }
+            out.write(nullBitmap);
+
+            for (Object[] row : batch) {
+                Object value = row[i];
+                if (!isNullValue(value)) {
+                    writeValue(out, i, value);
+                }
+            }
+        }
+        batch.clear();
+        batchBuffer.writeTo(this.out);
+    }
+
+    private void writeValue(@NotNull DataOutputStream out, int columnIndex, @NotNull Object value) throws IOException {
+        switch (vectorTypes[columnIndex]) {
+            case VECTOR_BOOLEAN -> {
+                if (value instanceof Boolean bool) {
+                    out.writeBoolean(bool);
+                } else if (value instanceof Number number) {
+                    out.writeBoolean(number.intValue() != 0);
+                } else {
+                    throw makeTypeMismatchError(columnIndex, value);
+                }
+            }
+            case VECTOR_INT64 -> {
+                if (value instanceof BigInteger || value instanceof BigDecimal) {
+                    try {
+                        out.writeLong(value instanceof BigInteger bigInteger ?
+                            bigInteger.longValueExact() : ((BigDecimal) value).longValueExact());
+                    } catch (ArithmeticException e) {
+                        throw makeTypeMismatchError(columnIndex, value);
+                    }
+                } else if (value instanceof Number number) {
+                    out.writeLong(number.longValue());
+                } else if (value instanceof Boolean bool) {
+                    out.writeLong(bool ? 1 : 0);
+                } else {
+                    throw makeTypeMismatchError(columnIndex, value);
+                }
+            }
+            case VECTOR_FLOAT64 -> {
+                if (value instanceof Number number) {
+                    out.writeDouble(number.doubleValue());
+                } else {
+                    throw makeTypeMismatchError(columnIndex, value);
+                }
+            }
+            case VECTOR_DECIMAL -> {
+                BigDecimal decimal = toDecimal(value);
+                if (decimal == null) {
+                    throw makeTypeMismatchError(columnIndex, value);
+                }
+                byte[] unscaled = decimal.unscaledValue().toByteArray();
+                out.writeInt(decimal.scale());
+                out.writeInt(unscaled.length);
+                out.write(unscaled);
+            }
+            case VECTOR_TIMESTAMP -> {
+                Instant instant = toInstant(value);
+                if (instant == null) {
+                    throw makeTypeMismatchError(columnIndex, value);
+                }
+                out.writeLong(instant.getEpochSecond());
+                out.writeInt(instant.getNano());
+            }
+            default -> writeString(out, makeStringValue(columns[columnIndex], value));
+        }
+    }
+
+    @NotNull
+    private IOException makeTypeMismatchError(int columnIndex, @NotNull Object value) {
+        if (value instanceof DBDValueError) {
+            return new IOException("Error reading value of column '" + columns[columnIndex].getName() + "': " + value);
+        }
+        return new IOException("Value of type " + value.getClass().getName() +
+            " can't be written to the column '" + columns[columnIndex].getName() + "' vector");
+    }
+
+    /**
+     * Returns vector type of the column. Column type is fixed for the whole stream.
+     */
+    public static byte getColumnVectorType(@NotNull DBDAttributeBinding column) {
+        DBPDataKind dataKind = column.getDataKind();
+        if (dataKind == DBPDataKind.BOOLEAN) {
+            return VECTOR_BOOLEAN;
+        } else if (dataKind == DBPDataKind.NUMERIC) {
+            return switch (column.getTypeID()) {
+                case Types.TINYINT, Types.SMALLINT, Types.INTEGER -> VECTOR_INT64;
+                // Unsigned bigint doesn't fit into int64
+                case Types.BIGINT -> CommonUtils.notEmpty(column.getTypeName()).toUpperCase(Locale.ENGLISH).contains("UNSIGNED") ?
+                    VECTOR_DECIMAL : VECTOR_INT64;
+                case Types.REAL, Types.FLOAT, Types.DOUBLE -> VECTOR_FLOAT64;
+                default -> VECTOR_DECIMAL;
+            };
+        } else if (dataKind == DBPDataKind.DATETIME) {
+            return switch (column.getTypeID()) {
+                case Types.DATE, Types.TIME, Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> VECTOR_TIMESTAMP;
+                default -> VECTOR_STRING;
+            };
+        }
+        return VECTOR_STRING;
+    }
+
+    @Nullable
+    private static BigDecimal toDecimal(@NotNull Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        } else if (value instanceof BigInteger bigInteger) {
+            return new BigDecimal(bigInteger);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            double doubleValue = ((Number) value).doubleValue();
+            return Double.isFinite(doubleValue) ? new BigDecimal(value.toString()) : null;
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Instant toInstant(@NotNull Object value) {
+        if (value instanceof Timestamp timestamp) {
+            // Keep nanoseconds, Date.getTime has millisecond precision only
+            return Instant.ofEpochSecond(Math.floorDiv(timestamp.getTime(), 1000), timestamp.getNanos());
+        } else if (value instanceof Date date) {
+            return Instant.ofEpochMilli(date.getTime());
+        } else if (value instanceof Temporal) {
+            ZoneId zoneId = ZoneId.systemDefault();
+            if (value instanceof Instant instant) {
+                return instant;
+            } else if (value instanceof OffsetDateTime dateTime) {
+                return dateTime.toInstant();
+            } else if (value instanceof ZonedDateTime dateTime) {
+                return dateTime.toInstant();
+            } else if (value instanceof LocalDateTime dateTime) {
+                return dateTime.atZone(zoneId).toInstant();
+            } else if (value instanceof LocalDate date) {
+                return date.atStartOfDay(zoneId).toInstant();
+            } else if (value instanceof LocalTime time) {
+                return time.atDate(LocalDate.EPOCH).atZone(zoneId).toInstant();
+            }
+        }
+        return null;
+    }
+
+    private static boolean isNullValue(@Nullable Object value) {
+        return value == null || (value instanceof DBDValue dbValue && dbValue.isNull());
+    }
+
+    @Nullable
+    private String makeStringValue(@NotNull DBDAttributeBinding column, @NotNull Object value) throws IOException {
+        Object webValue;
+        try {
+            webValue = WebSQLUtils.makeWebCellValue(cellContext, column, value);
+        } catch (DBCException e) {
+            throw new IOException("Error converting cell value", e);
+        }
+        if (webValue == null || webValue instanceof String) {
+            return (String) webValue;
+        }
+        if (webValue instanceof Map || webValue instanceof Object[]) {
+            return gson.toJson(webValue);
+        }
+        return CommonUtils.toString(webValue);
+    }
+
+    private static void writeString(@NotNull DataOutputStream out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
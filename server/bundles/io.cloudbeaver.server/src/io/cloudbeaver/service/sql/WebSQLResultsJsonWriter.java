@@ -0,0 +1,159 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import io.cloudbeaver.model.session.WebSession;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCStatistics;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Writes results rows in JSON. Cell values are serialized in the same web form as in GraphQL API.
+ * Document layout:
+ * <pre>
+ * { "resultsId": ..., "columns": [...], "rows": [...], "rowCount": ..., "duration": ... }
+ * </pre>
+ * If reading fails in the middle of results then rows array is closed and
+ * "error": { "message": ... } field is written instead of "rowCount" and "duration".
+ * Nothing is written until the first call of {@link #startRows}.
+ */
+class WebSQLResultsJsonWriter implements WebSQLResultsStreamWriter {
+
+    private final WebCellSerializationContext cellContext;
+    private final JsonWriter json;
+    private final Gson gson;
+    private final String resultsId;
+
+    private DBDAttributeBinding[] columns;
+    private boolean rowsOpen;
+    private long rowCount;
+
+    WebSQLResultsJsonWriter(
+        @NotNull WebSession webSession,
+        @Nullable WebDataFormat dataFormat,
+        @NotNull JsonWriter json,
+        @NotNull Gson gson,
+        @NotNull String resultsId
+    ) {
+        this.cellContext = new WebCellSerializationContext(webSession, dataFormat);
+        this.json = json;
+        this.gson = gson;
+        this.resultsId = resultsId;
+    }
+
+    @Override
+    public void startRows(@NotNull DBDAttributeBinding[] columns) throws IOException {
+        this.columns = columns;
+        json.beginObject();
+        json.name("resultsId").value(resultsId);
+        json.name("columns");
+        json.beginArray();
+        for (DBDAttributeBinding binding : columns) {
+            WebSQLQueryResultColumn column = new WebSQLQueryResultColumn(binding);
+            json.beginObject();
+            json.name("position").value(column.getPosition());
+            json.name("name").value(column.getName());
+            json.name("label").value(column.getLabel());
+            json.name("entityName").value(column.getEntityName());
+            json.name("dataKind").value(column.getDataKind());
+            json.name("typeName").value(column.getTypeName());
+            json.endObject();
+        }
+        json.endArray();
+        json.name("rows");
+        json.beginArray();
+        rowsOpen = true;
+    }
+
+    @Override
+    public void writeRow(@NotNull Object[] row, @Nullable Map<String, Object> metaData) throws IOException, DBCException {
+        json.beginObject();
+        json.name("data");
+        json.beginArray();
+        for (int i = 0; i < columns.length; i++) {
+            Object webValue = WebSQLUtils.makeWebCellValue(cellContext, columns[i], row[i]);
+            if (webValue == null) {
+                json.nullValue();
+            } else {
+                gson.toJson(webValue, webValue.getClass(), json);
+            }
+        }
+        json.endArray();
+        if (metaData != null) {
+            json.name("metaData");
+            gson.toJson(metaData, Map.class, json);
+        }
+        json.endObject();
+        rowCount++;
+    }
+
+    @Override
+    public void endRows() throws IOException {
+        json.endArray();
+        rowsOpen = false;
+        json.name("rowCount").value(rowCount);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        json.flush();
+    }
+
+    @Override
+    public void finish(@Nullable DBCStatistics statistics, @Nullable Throwable error) throws IOException {
+        if (!isStarted()) {
+            startRows(new DBDAttributeBinding[0]);
+        }
+        if (error != null) {
+            if (rowsOpen) {
+                json.endArray();
+                rowsOpen = false;
+            }
+            json.name("error");
+            json.beginObject();
+            json.name("message").value(CommonUtils.notEmpty(error.getMessage()));
+            json.endObject();
+        } else {
+            if (rowsOpen) {
+                endRows();
+            }
+            if (statistics != null) {
+                json.name("duration").value(statistics.getTotalTime());
+            }
+        }
+        json.endObject();
+        json.flush();
+    }
+
+    @Override
+    public boolean isStarted() {
+        return columns != null;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+}
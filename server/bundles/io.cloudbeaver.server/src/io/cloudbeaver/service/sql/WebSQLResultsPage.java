@@ -0,0 +1,89 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * First page of query results, pushed to the client in the async task finish event.
+ * Contains only plain values, so it can be serialized to JSON as is.
+ * Rows are omitted for large pages, client reads them with the regular results API.
+ */
+public record WebSQLResultsPage(
+    @Nullable String resultsId,
+    @Nullable Long updateRowCount,
+    @Nullable List<Column> columns,
+    @Nullable Object[][] rows,
+    boolean hasMoreData
+) {
+    // Max number of rows sent in the event
+    static final int MAX_EVENT_ROWS = 1000;
+
+    public record Column(
+        Integer position,
+        String name,
+        String label,
+        String typeName,
+        String dataKind
+    ) {
+    }
+
+    /**
+     * Makes results pages of all result sets of the execute info.
+     */
+    @NotNull
+    public static List<WebSQLResultsPage> fromExecuteInfo(@NotNull WebSQLExecuteInfo executeInfo) {
+        List<WebSQLResultsPage> pages = new ArrayList<>();
+        WebSQLQueryResults[] results = executeInfo.getResults();
+        if (results == null) {
+            return pages;
+        }
+        for (WebSQLQueryResults queryResults : results) {
+            WebSQLQueryResultSet resultSet = queryResults.getResultSet();
+            if (resultSet == null) {
+                pages.add(new WebSQLResultsPage(null, queryResults.getUpdateRowCount(), null, null, false));
+                continue;
+            }
+            List<Column> columns = new ArrayList<>();
+            WebSQLQueryResultColumn[] resultColumns = resultSet.getColumns();
+            if (resultColumns != null) {
+                for (WebSQLQueryResultColumn column : resultColumns) {
+                    columns.add(new Column(
+                        column.getPosition(),
+                        column.getName(),
+                        column.getLabel(),
+                        column.getTypeName(),
+                        column.getDataKind()));
+                }
+            }
+            List<WebSQLQueryResultSetRow> resultRows = resultSet.getRowsWithMetaData();
+            Object[][] rows = resultRows.size() > MAX_EVENT_ROWS ? null :
+                resultRows.stream().map(WebSQLQueryResultSetRow::getData).toArray(Object[][]::new);
+            pages.add(new WebSQLResultsPage(
+                resultSet.getId(),
+                queryResults.getUpdateRowCount(),
+                columns,
+                rows,
+                resultSet.isHasMoreData()));
+        }
+        return pages;
+    }
+}
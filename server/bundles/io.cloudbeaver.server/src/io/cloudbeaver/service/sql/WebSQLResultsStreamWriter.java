@@ -0,0 +1,62 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCStatistics;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Writes rows of the streamed results in some wire format.
+ */
+interface WebSQLResultsStreamWriter {
+
+    /**
+     * Called once, before the first row. Columns are already bound and converted to the relational view.
+     */
+    void startRows(@NotNull DBDAttributeBinding[] columns) throws IOException;
+
+    /**
+     * Writes row. Values are raw values of the database driver.
+     */
+    void writeRow(@NotNull Object[] row, @Nullable Map<String, Object> metaData) throws IOException, DBCException;
+
+    void endRows() throws IOException;
+
+    void flush() throws IOException;
+
+    /**
+     * Completes the stream and flushes it.
+     * If reading of results failed after {@link #startRows} then the error is written as a stream terminator,
+     * because HTTP status can't be changed once the response is committed.
+     * So the client can always tell truncated results from the complete ones.
+     */
+    void finish(@Nullable DBCStatistics statistics, @Nullable Throwable error) throws IOException;
+
+    /**
+     * Returns true if something was written to the stream already.
+     */
+    boolean isStarted();
+
+    long getRowCount();
+
+}
@@ -0,0 +1,175 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeBindingMeta;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.impl.data.DBDValueError;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data receiver which passes rows directly to the results stream writer.
+ * Attributes are bound using the first rows of result set, after that each row
+ * is converted to the relational view and written out as soon as it is fetched.
+ * Memory usage is bounded by the bind sample size and does not depend on the result set size.
+ */
+class WebSQLStreamDataReceiver implements DBDDataReceiver {
+
+    private static final Log log = Log.getLog(WebSQLStreamDataReceiver.class);
+
+    private static final int BIND_SAMPLE_SIZE = 100;
+    // Rows are fetched and flushed to the client by chunks of this size
+    static final int FETCH_SIZE = 500;
+
+    private final DBSDataContainer dataContainer;
+    @Nullable
+    private final WebDataFormat dataFormat;
+    private final WebSQLResultsStreamWriter writer;
+
+    private DBDAttributeBinding[] bindings;
+    private DBDAttributeBinding[] leafBindings;
+    private final List<WebSQLQueryResultSetRow> sampleRows = new ArrayList<>();
+    private boolean headerWritten;
+    private long rowCount;
+
+    WebSQLStreamDataReceiver(
+        @NotNull DBSDataContainer dataContainer,
+        @Nullable WebDataFormat dataFormat,
+        @NotNull WebSQLResultsStreamWriter writer
+    ) {
+        this.dataContainer = dataContainer;
+        this.dataFormat = dataFormat;
+        this.writer = writer;
+    }
+
+    @Override
+    public void fetchStart(@NotNull DBCSession session, @NotNull DBCResultSet dbResult, long offset, long maxRows) throws DBCException {
+        DBCResultSetMetaData meta = dbResult.getMeta();
+        List<? extends DBCAttributeMetaData> attributes = meta.getAttributes();
+        bindings = new DBDAttributeBindingMeta[attributes.size()];
+        for (int i = 0; i < attributes.size(); i++) {
+            bindings[i] = new DBDAttributeBindingMeta(dataContainer, dbResult.getSession(), attributes.get(i));
+        }
+    }
+
+    @Override
+    public void fetchRow(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+        Map<String, Object> metaDataMap = null;
+        Object[] row = new Object[bindings.length];
+
+        for (int i = 0; i < bindings.length; i++) {
+            DBDAttributeBinding binding = bindings[i];
+            try {
+                Object cellValue = binding.getValueHandler().fetchValueObject(
+                    resultSet.getSession(),
+                    resultSet,
+                    binding.getMetaAttribute(),
+                    i);
+                row[i] = cellValue;
+                if (cellValue != null) {
+                    metaDataMap = WebSQLMetaDataAccessors.readMetaData(cellValue, metaDataMap);
+                }
+            } catch (Throwable e) {
+                row[i] = new DBDValueError(e);
+            }
+        }
+        rowCount++;
+
+        if (!headerWritten) {
+            sampleRows.add(new WebSQLQueryResultSetRow(row, metaDataMap));
+            if (sampleRows.size() >= BIND_SAMPLE_SIZE) {
+                writeHeader(session, resultSet);
+            }
+            return;
+        }
+        writeRow(row, metaDataMap);
+        if (rowCount % FETCH_SIZE == 0) {
+            flush();
+        }
+    }
+
+    @Override
+    public void fetchEnd(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+        if (!headerWritten) {
+            writeHeader(session, resultSet);
+        }
+        try {
+            writer.endRows();
+        } catch (IOException e) {
+            throw new DBCException("Error writing results rows", e);
+        }
+        flush();
+    }
+
+    private void writeHeader(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+        DBSEntity entity = dataContainer instanceof DBSEntity ? (DBSEntity) dataContainer : null;
+        try {
+            DBExecUtils.bindAttributes(session, entity, resultSet, bindings, new WebSQLQueryDataReceiver.RowDataList(sampleRows));
+        } catch (DBException e) {
+            log.error("Error binding attributes", e);
+        }
+        leafBindings = dataFormat == WebDataFormat.document ?
+            bindings : WebSQLQueryDataReceiver.getRelationalBindings(bindings);
+        WebSQLQueryDataReceiver.updateOrdinalPositions(leafBindings);
+
+        try {
+            writer.startRows(leafBindings);
+        } catch (IOException e) {
+            throw new DBCException("Error writing results header", e);
+        }
+        headerWritten = true;
+
+        for (WebSQLQueryResultSetRow row : sampleRows) {
+            writeRow(row.getData(), row.getMetaData());
+        }
+        sampleRows.clear();
+    }
+
+    private void writeRow(@NotNull Object[] row, @Nullable Map<String, Object> metaData) throws DBCException {
+        Object[] rowData = leafBindings != bindings ? WebSQLQueryDataReceiver.makeRelationalRow(row, leafBindings) : row;
+        try {
+            writer.writeRow(rowData, metaData);
+        } catch (IOException e) {
+            throw new DBCException("Error writing results row", e);
+        }
+    }
+
+    private void flush() throws DBCException {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new DBCException("Error flushing results stream", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        sampleRows.clear();
+    }
+}
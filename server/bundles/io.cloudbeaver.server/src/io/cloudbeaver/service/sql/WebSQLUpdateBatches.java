@@ -0,0 +1,95 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+
+import java.util.*;
+
+/**
+ * Execute batches of the results data update.
+ * Adjacent rows with the same set of attributes share the same batch, so they are executed as a single JDBC batch
+ * (if driver supports it). A new batch is started when the shape changes, so statements are executed
+ * in the order of the request.
+ */
+public class WebSQLUpdateBatches {
+
+    @FunctionalInterface
+    public interface BatchFactory {
+        @NotNull
+        DBSDataManipulator.ExecuteBatch createBatch() throws DBException;
+    }
+
+    private final Map<DBSDataManipulator.ExecuteBatch, List<Object[]>> batchRows = new LinkedHashMap<>();
+    private List<? extends DBSAttributeBase> lastShape;
+    private DBSDataManipulator.ExecuteBatch lastBatch;
+    private final List<Object[]> resultRows = new ArrayList<>();
+
+    /**
+     * Adds row values to the batch of the previous row if it has the same shape.
+     *
+     * @param shape     attributes of the batch. Row gets its own batch if shape is not specified.
+     * @param values    values passed to the batch
+     * @param resultRow row which is returned back to the client
+     */
+    public void addRow(
+        @Nullable List<? extends DBSAttributeBase> shape,
+        @NotNull BatchFactory batchFactory,
+        @NotNull Object[] values,
+        @NotNull Object[] resultRow
+    ) throws DBException {
+        DBSDataManipulator.ExecuteBatch batch;
+        if (shape != null && lastBatch != null && shape.equals(lastShape)) {
+            batch = lastBatch;
+        } else {
+            batch = batchFactory.createBatch();
+            lastShape = shape;
+            lastBatch = shape == null ? null : batch;
+        }
+        batch.add(values);
+        batchRows.computeIfAbsent(batch, b -> new ArrayList<>()).add(resultRow);
+        resultRows.add(resultRow);
+    }
+
+    /**
+     * Next rows won't be added to the batches created before. Called between updated, added and deleted rows.
+     */
+    public void resetShapes() {
+        lastShape = null;
+        lastBatch = null;
+    }
+
+    /**
+     * Batches in the order of creation with their result rows
+     */
+    @NotNull
+    public Map<DBSDataManipulator.ExecuteBatch, List<Object[]>> getBatches() {
+        return batchRows;
+    }
+
+    /**
+     * Result rows in the order of the request
+     */
+    @NotNull
+    public List<Object[]> getResultRows() {
+        return resultRows;
+    }
+}
@@ -16,10 +16,8 @@
  */
 package io.cloudbeaver.service.sql;
 
-import io.cloudbeaver.model.app.WebAppConfiguration;
 import io.cloudbeaver.model.session.WebSession;
 import io.cloudbeaver.registry.WebServiceRegistry;
-import io.cloudbeaver.utils.CBModelConstants;
 import io.cloudbeaver.utils.WebAppUtils;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.Log;
@@ -48,49 +46,68 @@ public class WebSQLUtils {
 
     private static final Log log = Log.getLog(WebSQLUtils.class);
 
+    /**
+     * Converts single cell value to its web form.
+     * Use {@link #makeWebCellValue(WebCellSerializationContext, DBSTypedObject, Object)} to convert multiple values.
+     */
     public static Object makeWebCellValue(WebSession session, DBSTypedObject type, Object cellValue, WebDataFormat dataFormat) throws DBCException {
-        if (type instanceof DBDAttributeBinding &&
-            (cellValue instanceof Date || cellValue instanceof Number)) {
-            if (cellValue instanceof BigDecimal) {
-                cellValue = ((BigDecimal) cellValue).stripTrailingZeros();
-            }
-            return ((DBDAttributeBinding) type).getValueHandler().getValueDisplayString(type, cellValue, DBDDisplayFormat.EDIT);
-        }
+        return makeWebCellValue(new WebCellSerializationContext(session, dataFormat), type, cellValue);
+    }
 
+    /**
+     * Converts cell value to its web form.
+     * Context should be created once per request and reused for all cells.
+     */
+    public static Object makeWebCellValue(
+        @NotNull WebCellSerializationContext context,
+        DBSTypedObject type,
+        Object cellValue
+    ) throws DBCException {
+        if (cellValue == null) {
+            return null;
+        }
         if (cellValue instanceof Boolean) {
             return cellValue;
         }
-        if (cellValue instanceof Date) {
-            return CBModelConstants.ISO_DATE_FORMAT.format(((Date) cellValue).toInstant());
-        } else if (cellValue instanceof Number) {
-            if (cellValue instanceof Double) {
-                return CommonUtils.niceFormatDouble((Double) cellValue);
-            } else if (cellValue instanceof Float) {
-                return CommonUtils.niceFormatDouble((Float) cellValue);
-            } else if (cellValue instanceof BigDecimal) {
-                return ((BigDecimal) cellValue).toPlainString();
+        if (cellValue instanceof Date || cellValue instanceof Number) {
+            if (type instanceof DBDAttributeBinding binding) {
+                if (cellValue instanceof BigDecimal bigDecimal) {
+                    cellValue = bigDecimal.stripTrailingZeros();
+                }
+                return binding.getValueHandler().getValueDisplayString(type, cellValue, DBDDisplayFormat.EDIT);
+            }
+            if (cellValue instanceof Date date) {
+                return context.getDateFormat().format(date.toInstant());
+            } else if (cellValue instanceof Double doubleValue) {
+                return CommonUtils.niceFormatDouble(doubleValue);
+            } else if (cellValue instanceof Float floatValue) {
+                return CommonUtils.niceFormatDouble(floatValue);
+            } else if (cellValue instanceof BigDecimal bigDecimal) {
+                return bigDecimal.toPlainString();
             }
             return cellValue.toString();
         }
-        if (cellValue instanceof DBDValue) {
-            DBDValue dbValue = (DBDValue) cellValue;
+        if (cellValue instanceof DBDValue dbValue) {
             if (dbValue.isNull()) {
                 return null;
-            }
-            else if (dbValue instanceof DBDDocument) {
-                return serializeDocumentValue(session, (DBDDocument) dbValue);
-            } else if (dbValue instanceof DBDComplexValue) {
-                return serializeComplexValue(session, type, (DBDComplexValue)dbValue, dataFormat);
-            } else if (dbValue instanceof DBGeometry) {
-                return serializeGeometryValue((DBGeometry)dbValue);
-            } else if (dbValue instanceof DBDContent) {
-                return serializeContentValue(session, (DBDContent)dbValue);
+            } else if (dbValue instanceof DBDDocument document) {
+                return serializeDocumentValue(context.getWebSession(), document);
+            } else if (dbValue instanceof DBDComplexValue complexValue) {
+                return serializeComplexValue(context, type, complexValue);
+            } else if (dbValue instanceof DBGeometry geometry) {
+                return serializeGeometryValue(geometry);
+            } else if (dbValue instanceof DBDContent content) {
+                return serializeContentValue(context, content);
             }
         }
-        return cellValue == null ? null : serializeStringValue(cellValue);
+        return serializeStringValue(cellValue, context.getTextPreviewMaxLength());
     }
 
-    private static Object serializeComplexValue(WebSession session, DBSTypedObject type, DBDComplexValue value, WebDataFormat dataFormat) throws DBCException {
+    private static Object serializeComplexValue(
+        @NotNull WebCellSerializationContext context,
+        DBSTypedObject type,
+        DBDComplexValue value
+    ) throws DBCException {
         if (value instanceof DBDCollection) {
             if (type instanceof DBDAttributeBinding) {
                 DBDValueHandler valueHandler = ((DBDAttributeBinding) type).getValueHandler();
@@ -100,7 +117,7 @@ public class WebSQLUtils {
             int size = collection.getItemCount();
             Object[] items = new Object[size];
             for (int i = 0; i < size; i++) {
-                items[i] = makeWebCellValue(session, collection.getComponentType(), collection.getItem(i), dataFormat);
+                items[i] = makeWebCellValue(context, collection.getComponentType(), collection.getItem(i));
             }
 
             Map<String, Object> map = createMapOfType(WebSQLConstants.VALUE_TYPE_COLLECTION);
@@ -110,7 +127,7 @@ public class WebSQLUtils {
             DBDComposite composite = (DBDComposite)value;
             Map<String, Object> struct = new LinkedHashMap<>();
             for (DBSAttributeBase attr : composite.getAttributes()) {
-                struct.put(attr.getName(), makeWebCellValue(session, attr, composite.getAttributeValue(attr), dataFormat));
+                struct.put(attr.getName(), makeWebCellValue(context, attr, composite.getAttributeValue(attr)));
             }
 
             Map<String, Object> map = createMapOfType(WebSQLConstants.VALUE_TYPE_MAP);
@@ -145,17 +162,13 @@ public class WebSQLUtils {
         return map;
     }
 
-    private static Object serializeContentValue(WebSession session, DBDContent value) throws DBCException {
+    private static Object serializeContentValue(@NotNull WebCellSerializationContext context, DBDContent value) throws DBCException {
+        WebSession session = context.getWebSession();
+        int textPreviewMaxLength = context.getTextPreviewMaxLength();
 
         Map<String, Object> map = createMapOfType(WebSQLConstants.VALUE_TYPE_CONTENT);
         if (ContentUtils.isTextContent(value)) {
             String stringValue = ContentUtils.getContentStringValue(session.getProgressMonitor(), value);
-            int textPreviewMaxLength = CommonUtils.toInt(
-                WebAppUtils.getWebApplication()
-                    .getAppConfiguration()
-                    .getResourceQuota(WebSQLConstants.QUOTA_PROP_TEXT_PREVIEW_MAX_LENGTH),
-                WebSQLConstants.TEXT_PREVIEW_MAX_LENGTH
-            );
             if (stringValue != null && stringValue.length() > textPreviewMaxLength) {
                 stringValue =  stringValue.substring(0, textPreviewMaxLength);
             }
@@ -165,24 +178,14 @@ public class WebSQLUtils {
             byte[] binaryValue = ContentUtils.getContentBinaryValue(session.getProgressMonitor(), value);
             if (binaryValue != null) {
                 byte[] previewValue = binaryValue;
-                // gets parameters from the configuration file
-                WebAppConfiguration config = WebAppUtils.getWebApplication().getAppConfiguration();
-                // the max length of the text preview
-                int textPreviewMaxLength = CommonUtils.toInt(
-                    config.getResourceQuota(
-                        WebSQLConstants.QUOTA_PROP_TEXT_PREVIEW_MAX_LENGTH), WebSQLConstants.TEXT_PREVIEW_MAX_LENGTH);
                 if (previewValue.length > textPreviewMaxLength) {
                     previewValue = Arrays.copyOf(previewValue, textPreviewMaxLength);
                 }
                 map.put(WebSQLConstants.ATTR_TEXT, GeneralUtils.convertToString(previewValue, 0, previewValue.length));
-                // the max length of the binary preview
-                int binaryPreviewMaxLength = CommonUtils.toInt(
-                    config.getResourceQuota(
-                        WebSQLConstants.QUOTA_PROP_BINARY_PREVIEW_MAX_LENGTH),
-                    WebSQLConstants.BINARY_PREVIEW_MAX_LENGTH);
+                int binaryPreviewMaxLength = context.getBinaryPreviewMaxLength();
                 byte[] inlineValue = binaryValue;
                 if (inlineValue.length > binaryPreviewMaxLength) {
-                    inlineValue = Arrays.copyOf(inlineValue, textPreviewMaxLength);
+                    inlineValue = Arrays.copyOf(inlineValue, binaryPreviewMaxLength);
                 }
                 map.put(WebSQLConstants.ATTR_BINARY, Base64.encode(inlineValue));
             } else {
@@ -220,9 +223,13 @@ public class WebSQLUtils {
                 .getResourceQuota(WebSQLConstants.QUOTA_PROP_TEXT_PREVIEW_MAX_LENGTH),
             WebSQLConstants.TEXT_PREVIEW_MAX_LENGTH
         );
+        return serializeStringValue(value, textPreviewMaxLength);
+    }
+
+    private static Object serializeStringValue(@NotNull Object value, int textPreviewMaxLength) {
         String stringValue = value.toString();
         if (stringValue.length() < textPreviewMaxLength) {
-            return value.toString();
+            return stringValue;
         }
         Map<String, Object> map = createMapOfType(WebSQLConstants.VALUE_TYPE_CONTENT);
         map.put(WebSQLConstants.ATTR_TEXT, stringValue.substring(0, textPreviewMaxLength));
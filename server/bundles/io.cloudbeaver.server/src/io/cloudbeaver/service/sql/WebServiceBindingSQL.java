@@ -32,9 +32,7 @@ import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.utils.CommonUtils;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -181,7 +179,14 @@ public class WebServiceBindingSQL extends WebServiceBindingBase<DBWServiceSQL> i
                     getDataFilter(env),
                     getDataFormat(env),
                     CommonUtils.toBoolean(env.getArgument("readLogs")),
+                    CommonUtils.toBoolean(env.getArgument("useCursor")),
                     getWebSession(env)))
+            .dataFetcher("asyncSqlFetchNext", env ->
+                getService(env).asyncFetchNextResults(
+                    getSQLContext(env),
+                    env.getArgument("resultId"),
+                    env.getArgument("count"),
+                    getDataFormat(env)))
             .dataFetcher("asyncReadDataFromContainer", env ->
                 getService(env).asyncReadDataFromContainer(
                     getSQLContext(env),
@@ -244,6 +249,27 @@ public class WebServiceBindingSQL extends WebServiceBindingBase<DBWServiceSQL> i
         return webSession.getAttribute("sqlConfiguration", cfg -> new WebSQLConfiguration(), WebSQLConfiguration::dispose);
     }
 
+    /**
+     * Closes server-side cursors which weren't accessed for a given time in all SQL contexts of the session.
+     */
+    public static void closeIdleCursors(@NotNull WebSession webSession, long maxIdleTime) {
+        WebSQLConfiguration configuration = webSession.getAttribute("sqlConfiguration");
+        if (configuration != null) {
+            configuration.closeIdleCursors(maxIdleTime);
+        }
+    }
+
+    /**
+     * Evicts results which weren't accessed for a given time and least recently used results
+     * if the session results limit is exceeded.
+     */
+    public static void evictResults(@NotNull WebSession webSession, long maxIdleTime, int maxSessionResults) {
+        WebSQLConfiguration configuration = webSession.getAttribute("sqlConfiguration");
+        if (configuration != null) {
+            configuration.evictResults(maxIdleTime, maxSessionResults);
+        }
+    }
+
     @NotNull
     public static WebSQLProcessor getSQLProcessor(DataFetchingEnvironment env) throws DBWebException {
         WebConnectionInfo connectionInfo = getWebConnection(env);
@@ -306,6 +332,11 @@ public class WebServiceBindingSQL extends WebServiceBindingBase<DBWServiceSQL> i
             new WebSQLFileLoaderServlet(application),
             application.getServicesURI() + "resultset/blob/*"
         );
+        servletContext.addServlet(
+            "sqlResultStream",
+            new WebSQLResultStreamServlet(application),
+            application.getServicesURI() + "sql-result-stream/*"
+        );
     }
 
     @Override
@@ -345,6 +376,50 @@ public class WebServiceBindingSQL extends WebServiceBindingBase<DBWServiceSQL> i
             }
         }
 
+        void closeIdleCursors(long maxIdleTime) {
+            List<WebSQLProcessor> processorList;
+            synchronized (processors) {
+                processorList = new ArrayList<>(processors.values());
+            }
+            for (WebSQLProcessor processor : processorList) {
+                for (WebSQLContextInfo context : processor.getContexts()) {
+                    context.closeIdleCursors(maxIdleTime);
+                }
+            }
+        }
+
+        void evictResults(long maxIdleTime, int maxSessionResults) {
+            List<WebSQLContextInfo> contexts = new ArrayList<>();
+            synchronized (processors) {
+                for (WebSQLProcessor processor : processors.values()) {
+                    Collections.addAll(contexts, processor.getContexts());
+                }
+            }
+            int totalResults = 0;
+            for (WebSQLContextInfo context : contexts) {
+                context.evictIdleResults(maxIdleTime);
+                totalResults += context.getResultsCache().size();
+            }
+            if (maxSessionResults <= 0 || totalResults <= maxSessionResults) {
+                return;
+            }
+            // Evict least recently used results of all contexts
+            Map<WebSQLResultsInfo, WebSQLContextInfo> resultsContexts = new IdentityHashMap<>();
+            for (WebSQLContextInfo context : contexts) {
+                for (WebSQLResultsInfo resultsInfo : context.getResultsCache().getAll()) {
+                    resultsContexts.put(resultsInfo, context);
+                }
+            }
+            List<WebSQLResultsInfo> allResults = new ArrayList<>(resultsContexts.keySet());
+            allResults.sort(Comparator.comparingLong(WebSQLResultsInfo::getLastAccessTime));
+            Map<WebSQLContextInfo, List<WebSQLResultsInfo>> toEvict = new IdentityHashMap<>();
+            for (WebSQLResultsInfo resultsInfo : allResults.subList(0, allResults.size() - maxSessionResults)) {
+                toEvict.computeIfAbsent(resultsContexts.get(resultsInfo), c -> new ArrayList<>()).add(resultsInfo);
+            }
+            toEvict.forEach((context, results) ->
+                context.getResultsCache().evict(results, WebSQLResultsCache.EvictionReason.SESSION_LIMIT));
+        }
+
         public WebSQLConfiguration dispose() {
             synchronized (processors) {
                 processors.forEach((connectionInfo, processor) -> processor.dispose());
@@ -20,6 +20,7 @@ package io.cloudbeaver.service.sql.impl;
 import io.cloudbeaver.DBWebException;
 import io.cloudbeaver.model.WebAsyncTaskInfo;
 import io.cloudbeaver.model.WebConnectionInfo;
+import io.cloudbeaver.model.session.WebAsyncTaskLane;
 import io.cloudbeaver.model.session.WebAsyncTaskProcessor;
 import io.cloudbeaver.model.session.WebSession;
 import io.cloudbeaver.service.WebServiceBindingBase;
@@ -400,6 +401,7 @@ public class WebServiceSQL implements DBWServiceSQL {
         @Nullable WebSQLDataFilter filter,
         @Nullable WebDataFormat dataFormat,
         boolean readLogs,
+        boolean useCursor,
         @NotNull WebSession webSession)
     {
         WebAsyncTaskProcessor<String> runnable = new WebAsyncTaskProcessor<>() {
@@ -409,9 +411,10 @@ public class WebServiceSQL implements DBWServiceSQL {
                     monitor.beginTask("Execute query", 1);
                     monitor.subTask("Process query " + sql);
                     WebSQLExecuteInfo executeResults = contextInfo.getProcessor().processQuery(
-                        monitor, contextInfo, sql, resultId, filter, dataFormat, webSession, readLogs);
+                        monitor, contextInfo, sql, resultId, filter, dataFormat, webSession, readLogs, useCursor);
                     this.result = executeResults.getStatusMessage();
                     this.extendedResults = executeResults;
+                    this.eventResult = WebSQLResultsPage.fromExecuteInfo(executeResults);
                 } catch (Throwable e) {
                     throw new InvocationTargetException(e);
                 } finally {
@@ -422,6 +425,35 @@ public class WebServiceSQL implements DBWServiceSQL {
         return contextInfo.getProcessor().getWebSession().createAndRunAsyncTask("SQL execute", runnable);
     }
 
+    @Override
+    public WebAsyncTaskInfo asyncFetchNextResults(
+        @NotNull WebSQLContextInfo contextInfo,
+        @NotNull String resultId,
+        @Nullable Integer count,
+        @Nullable WebDataFormat dataFormat) throws DBWebException
+    {
+        int maxRows = count == null || count <= 0 ? new WebSQLDataFilter().getLimit() : count;
+        WebAsyncTaskProcessor<String> runnable = new WebAsyncTaskProcessor<>() {
+            @Override
+            public void run(DBRProgressMonitor monitor) throws InvocationTargetException {
+                try {
+                    monitor.beginTask("Fetch next results", 1);
+                    monitor.subTask("Fetch next " + maxRows + " row(s) of results " + resultId);
+                    WebSQLExecuteInfo executeResults = contextInfo.getProcessor().fetchNextResults(
+                        monitor, contextInfo, resultId, maxRows, dataFormat);
+                    this.result = executeResults.getStatusMessage();
+                    this.extendedResults = executeResults;
+                    this.eventResult = WebSQLResultsPage.fromExecuteInfo(executeResults);
+                } catch (Throwable e) {
+                    throw new InvocationTargetException(e);
+                } finally {
+                    monitor.done();
+                }
+            }
+        };
+        return contextInfo.getProcessor().getWebSession().createAndRunAsyncTask("Fetch next results " + resultId, runnable);
+    }
+
     @Override
     public WebAsyncTaskInfo asyncReadDataFromContainer(
         @NotNull WebSQLContextInfo contextInfo,
@@ -448,6 +480,7 @@ public class WebServiceSQL implements DBWServiceSQL {
                         dataFormat);
                     this.result = executeResults.getStatusMessage();
                     this.extendedResults = executeResults;
+                    this.eventResult = WebSQLResultsPage.fromExecuteInfo(executeResults);
                 } catch (Throwable e) {
                     throw new InvocationTargetException(e);
                 } finally {
@@ -503,7 +536,7 @@ public class WebServiceSQL implements DBWServiceSQL {
                 }
             }
         };
-        return contextInfo.getProcessor().getWebSession().createAndRunAsyncTask("SQL query execution plan explain", runnable);
+        return contextInfo.getProcessor().getWebSession().createAndRunAsyncTask("SQL query execution plan explain", WebAsyncTaskLane.INTERACTIVE, runnable);
     }
 
     @Override
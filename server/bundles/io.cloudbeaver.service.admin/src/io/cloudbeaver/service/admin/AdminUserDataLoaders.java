@@ -0,0 +1,101 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.admin;
+
+import graphql.schema.DataFetchingEnvironment;
+import io.cloudbeaver.service.security.SMAdminBatchController;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.MappedBatchLoader;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.security.SMAdminController;
+import org.jkiss.dbeaver.model.security.SMObjectPermissionsGrant;
+import org.jkiss.dbeaver.model.security.SMObjectType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Data fetchers of admin user details which are expensive to read one user at a time.
+ * Details requested for all users of the list are collected by data loaders and read
+ * with a single security controller call.
+ * If the security controller doesn't support batch reading then details are read per user.
+ */
+class AdminUserDataLoaders {
+
+    private static final String GRANTED_CONNECTIONS_LOADER = "adminUserGrantedConnections";
+    private static final String LINKED_PROVIDERS_LOADER = "adminUserLinkedProviders";
+
+    private AdminUserDataLoaders() {
+    }
+
+    static Object getGrantedConnections(DataFetchingEnvironment env) throws DBException {
+        AdminUserInfo userInfo = env.getSource();
+        SMAdminController controller = userInfo.getSession().getAdminSecurityController();
+        if (!(controller instanceof SMAdminBatchController batchController)) {
+            return userInfo.getGrantedConnections();
+        }
+        DataLoader<String, List<SMObjectPermissionsGrant>> loader = env.getDataLoaderRegistry().computeIfAbsent(
+            GRANTED_CONNECTIONS_LOADER,
+            key -> DataLoaderFactory.newMappedDataLoader((MappedBatchLoader<String, List<SMObjectPermissionsGrant>>)
+                userIds -> load(() -> batchController.getSubjectsObjectPermissionGrants(userIds, SMObjectType.datasource)))
+        );
+        return loader.load(userInfo.getUserId()).thenApply(userInfo::makeDataSourceGrants);
+    }
+
+    static Object getOrigins(DataFetchingEnvironment env) throws DBException {
+        AdminUserInfo userInfo = env.getSource();
+        CompletableFuture<String[]> linkedProviders = loadLinkedProviders(env, userInfo);
+        return linkedProviders == null ? userInfo.getOrigins() : linkedProviders.thenApply(userInfo::makeOrigins);
+    }
+
+    static Object getLinkedAuthProviders(DataFetchingEnvironment env) throws DBException {
+        AdminUserInfo userInfo = env.getSource();
+        CompletableFuture<String[]> linkedProviders = loadLinkedProviders(env, userInfo);
+        return linkedProviders == null ? userInfo.getLinkedAuthProviders() : linkedProviders;
+    }
+
+    private static CompletableFuture<String[]> loadLinkedProviders(
+        DataFetchingEnvironment env,
+        AdminUserInfo userInfo
+    ) throws DBException {
+        SMAdminController controller = userInfo.getSession().getAdminSecurityController();
+        if (!(controller instanceof SMAdminBatchController batchController)) {
+            return null;
+        }
+        // Origins and linked providers are read from the same data, so they share the loader
+        DataLoader<String, String[]> loader = env.getDataLoaderRegistry().computeIfAbsent(
+            LINKED_PROVIDERS_LOADER,
+            key -> DataLoaderFactory.newMappedDataLoader((MappedBatchLoader<String, String[]>)
+                userIds -> load(() -> batchController.getUsersLinkedProviders(userIds)))
+        );
+        return loader.load(userInfo.getUserId());
+    }
+
+    private static <V> CompletableFuture<Map<String, V>> load(BatchReader<V> reader) {
+        try {
+            return CompletableFuture.completedFuture(reader.read());
+        } catch (DBException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private interface BatchReader<V> {
+        Map<String, V> read() throws DBException;
+    }
+}
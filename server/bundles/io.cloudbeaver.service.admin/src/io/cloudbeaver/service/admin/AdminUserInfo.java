@@ -26,6 +26,7 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.security.SMDataSourceGrant;
+import org.jkiss.dbeaver.model.security.SMObjectPermissionsGrant;
 import org.jkiss.dbeaver.model.security.SMObjectType;
 
 import java.util.ArrayList;
@@ -49,6 +50,10 @@ public class AdminUserInfo {
         this.user = user;
     }
 
+    WebSession getSession() {
+        return session;
+    }
+
     @Property
     public String getUserId() {
         return user.getUserId();
@@ -81,9 +86,12 @@ public class AdminUserInfo {
 
     @Property
     public SMDataSourceGrant[] getGrantedConnections() throws DBException {
-        return session.getAdminSecurityController()
-            .getSubjectObjectPermissionGrants(getUserId(), SMObjectType.datasource)
-            .stream()
+        return makeDataSourceGrants(
+            session.getAdminSecurityController().getSubjectObjectPermissionGrants(getUserId(), SMObjectType.datasource));
+    }
+
+    SMDataSourceGrant[] makeDataSourceGrants(List<SMObjectPermissionsGrant> permissionGrants) {
+        return permissionGrants.stream()
             .map(objectPermission -> new SMDataSourceGrant(
                 objectPermission.getObjectPermissions().getObjectId(),
                 getUserId(),
@@ -94,8 +102,12 @@ public class AdminUserInfo {
 
     @Property
     public WebUserOriginInfo[] getOrigins() throws DBWebException {
+        return makeOrigins(getUserLinkedProviders());
+    }
+
+    WebUserOriginInfo[] makeOrigins(String[] linkedProviders) {
         List<AdminOriginInfo> result = new ArrayList<>();
-        for (String provider : getUserLinkedProviders()) {
+        for (String provider : linkedProviders) {
             WebAuthProviderDescriptor authProvider = WebAuthProviderRegistry.getInstance().getAuthProvider(provider);
             if (authProvider == null) {
                 log.error("Auth provider '" + provider + "' not found");
@@ -16,6 +16,7 @@
  */
 package io.cloudbeaver.service.admin;
 
+import graphql.schema.idl.TypeRuntimeWiring;
 import io.cloudbeaver.DBWebException;
 import io.cloudbeaver.WebServiceUtils;
 import io.cloudbeaver.server.CBApplication;
@@ -198,6 +199,12 @@ public class WebServiceBindingAdmin extends WebServiceBindingBase<DBWServiceAdmi
         model.getMutationType()
             .dataFetcher("adminUpdateProductConfiguration",
                 env -> getService(env).updateProductConfiguration(getWebSession(env), env.getArgument("configuration")));
+
+        model.getRuntimeWiring().type(TypeRuntimeWiring.newTypeWiring("AdminUserInfo")
+            .dataFetcher("grantedConnections", AdminUserDataLoaders::getGrantedConnections)
+            .dataFetcher("origins", AdminUserDataLoaders::getOrigins)
+            .dataFetcher("linkedAuthProviders", AdminUserDataLoaders::getLinkedAuthProviders)
+        );
     }
 
     @Override
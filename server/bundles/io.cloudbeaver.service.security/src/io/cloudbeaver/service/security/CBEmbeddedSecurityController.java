@@ -69,10 +69,13 @@ import java.util.stream.Collectors;
  * Server controller
  */
 public class CBEmbeddedSecurityController<T extends WebAuthApplication>
-    implements SMAdminController, SMAuthenticationManager {
+    implements SMAdminController, SMAdminBatchController, SMAuthenticationManager {
 
     private static final Log log = Log.getLog(CBEmbeddedSecurityController.class);
 
+    // Max number of values in one IN list (Oracle allows 1000 list expressions, SQL Server 2100 parameters)
+    public static final int MAX_IN_LIST_SIZE = 1000;
+
     protected static final String CHAR_BOOL_TRUE = "Y";
     protected static final String CHAR_BOOL_FALSE = "N";
 
@@ -427,6 +430,36 @@ public class CBEmbeddedSecurityController<T extends WebAuthApplication>
         return allSubjects;
     }
 
+    /**
+     * Returns linked subjects (subject itself and its teams) of each subject.
+     */
+    private Map<String, Set<String>> getAllLinkedSubjects(Connection dbCon, Collection<String> subjectIds) throws SQLException {
+        Map<String, Set<String>> result = new LinkedHashMap<>();
+        for (String subjectId : subjectIds) {
+            result.computeIfAbsent(subjectId, key -> new LinkedHashSet<>()).add(subjectId);
+        }
+        for (List<String> chunk : splitInList(result.keySet())) {
+            try (PreparedStatement dbStat = dbCon.prepareStatement(
+                database.normalizeTableNames("SELECT USER_ID,TEAM_ID FROM {table_prefix}CB_USER_TEAM UR WHERE USER_ID IN (" +
+                    SQLUtils.generateParamList(chunk.size()) + ")"))
+            ) {
+                int parameterIndex = 1;
+                for (String subjectId : chunk) {
+                    dbStat.setString(parameterIndex++, subjectId);
+                }
+                try (ResultSet dbResult = dbStat.executeQuery()) {
+                    while (dbResult.next()) {
+                        Set<String> subjects = result.get(dbResult.getString(1));
+                        if (subjects != null) {
+                            subjects.add(dbResult.getString(2));
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
     @NotNull
     @Override
     public SMUserTeam[] getCurrentUserTeams() throws DBException {
@@ -3060,6 +3093,125 @@ public class CBEmbeddedSecurityController<T extends WebAuthApplication>
         }
     }
 
+    @NotNull
+    @Override
+    public Map<String, List<SMObjectPermissionsGrant>> getSubjectsObjectPermissionGrants(
+        @NotNull Collection<String> subjectIds,
+        @NotNull SMObjectType smObjectType
+    ) throws DBException {
+        Map<String, List<SMObjectPermissionsGrant>> result = new LinkedHashMap<>();
+        if (subjectIds.isEmpty()) {
+            return result;
+        }
+        try (Connection dbCon = database.openConnection()) {
+            Map<String, Set<String>> linkedSubjects = getAllLinkedSubjects(dbCon, subjectIds);
+            Set<String> allSubjects = new LinkedHashSet<>();
+            linkedSubjects.values().forEach(allSubjects::addAll);
+
+            // Read permissions of all subjects and their teams at once, then distribute them between subjects
+            Map<String, Map<String, List<String>>> permissionsBySubject = new HashMap<>();
+            Map<String, SMSubjectType> subjectTypes = new HashMap<>();
+            for (List<String> chunk : splitInList(allSubjects)) {
+                String sql = "SELECT OP.OBJECT_ID,S.SUBJECT_TYPE,S.SUBJECT_ID,OP.PERMISSION\n" +
+                    "FROM {table_prefix}CB_OBJECT_PERMISSIONS OP, {table_prefix}CB_AUTH_SUBJECT S\n" +
+                    "WHERE S.SUBJECT_ID = OP.SUBJECT_ID AND OP.SUBJECT_ID IN (" +
+                    SQLUtils.generateParamList(chunk.size()) + ") AND OP.OBJECT_TYPE=?";
+                try (PreparedStatement dbStat = dbCon.prepareStatement(database.normalizeTableNames(sql))) {
+                    int parameterIndex = 1;
+                    for (String subject : chunk) {
+                        dbStat.setString(parameterIndex++, subject);
+                    }
+                    dbStat.setString(parameterIndex, smObjectType.name());
+                    try (ResultSet dbResult = dbStat.executeQuery()) {
+                        while (dbResult.next()) {
+                            String objectId = dbResult.getString(1);
+                            String permissionSubjectId = dbResult.getString(3);
+                            subjectTypes.put(permissionSubjectId, SMSubjectType.fromCode(dbResult.getString(2)));
+                            permissionsBySubject.computeIfAbsent(permissionSubjectId, key -> new LinkedHashMap<>())
+                                .computeIfAbsent(objectId, key -> new ArrayList<>())
+                                .add(dbResult.getString(4));
+                        }
+                    }
+                }
+            }
+
+            for (Map.Entry<String, Set<String>> entry : linkedSubjects.entrySet()) {
+                var grantedPermissionsByObjectId = new LinkedHashMap<String, SMObjectPermissionsGrant.Builder>();
+                for (String linkedSubject : entry.getValue()) {
+                    Map<String, List<String>> subjectPermissions = permissionsBySubject.get(linkedSubject);
+                    if (subjectPermissions == null) {
+                        continue;
+                    }
+                    SMSubjectType subjectType = subjectTypes.get(linkedSubject);
+                    for (Map.Entry<String, List<String>> objectPermissions : subjectPermissions.entrySet()) {
+                        String objectId = objectPermissions.getKey();
+                        SMObjectPermissionsGrant.Builder builder = grantedPermissionsByObjectId.computeIfAbsent(
+                            objectId,
+                            key -> SMObjectPermissionsGrant.builder(linkedSubject, subjectType, objectId)
+                        );
+                        for (String permission : objectPermissions.getValue()) {
+                            builder.addPermission(permission);
+                        }
+                    }
+                }
+                result.put(entry.getKey(), grantedPermissionsByObjectId.values().stream()
+                    .map(SMObjectPermissionsGrant.Builder::build)
+                    .toList());
+            }
+            return result;
+        } catch (SQLException e) {
+            throw new DBCException("Error reading granted object permissions ", e);
+        }
+    }
+
+    @NotNull
+    @Override
+    public Map<String, String[]> getUsersLinkedProviders(@NotNull Collection<String> userIds) throws DBException {
+        Map<String, List<String>> providersByUser = new LinkedHashMap<>();
+        for (String userId : userIds) {
+            providersByUser.put(userId, new ArrayList<>());
+        }
+        if (!providersByUser.isEmpty()) {
+            try (Connection dbCon = database.openConnection()) {
+                for (List<String> chunk : splitInList(providersByUser.keySet())) {
+                    String sql = "SELECT DISTINCT USER_ID,PROVIDER_ID FROM {table_prefix}CB_USER_CREDENTIALS\n" +
+                        "WHERE USER_ID IN (" + SQLUtils.generateParamList(chunk.size()) + ")";
+                    try (PreparedStatement dbStat = dbCon.prepareStatement(database.normalizeTableNames(sql))) {
+                        int parameterIndex = 1;
+                        for (String userId : chunk) {
+                            dbStat.setString(parameterIndex++, userId);
+                        }
+                        try (ResultSet dbResult = dbStat.executeQuery()) {
+                            while (dbResult.next()) {
+                                List<String> providerIds = providersByUser.get(dbResult.getString(1));
+                                if (providerIds != null) {
+                                    providerIds.add(dbResult.getString(2));
+                                }
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                throw new DBCException("Error reading user linked providers", e);
+            }
+        }
+        Map<String, String[]> result = new LinkedHashMap<>();
+        providersByUser.forEach((userId, providerIds) -> result.put(userId, providerIds.toArray(new String[0])));
+        return result;
+    }
+
+    /**
+     * Splits IN list values into chunks supported by all databases
+     */
+    private static List<List<String>> splitInList(@NotNull Collection<String> values) {
+        List<String> list = new ArrayList<>(values);
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += MAX_IN_LIST_SIZE) {
+            chunks.add(list.subList(i, Math.min(i + MAX_IN_LIST_SIZE, list.size())));
+        }
+        return chunks;
+    }
+
     private static void appendStringParameters(StringBuilder sql, @NotNull Collection<String> subjectIds) {
         boolean first = true;
         for (String id : subjectIds) {
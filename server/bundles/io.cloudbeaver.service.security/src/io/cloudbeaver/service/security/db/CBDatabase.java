@@ -22,6 +22,7 @@ import com.google.gson.Strictness;
 import io.cloudbeaver.auth.provider.local.LocalAuthProviderConstants;
 import io.cloudbeaver.model.app.WebApplication;
 import io.cloudbeaver.model.config.WebDatabaseConfig;
+import io.cloudbeaver.model.metrics.WebMetricsRegistry;
 import io.cloudbeaver.registry.WebAuthProviderDescriptor;
 import io.cloudbeaver.registry.WebAuthProviderRegistry;
 import io.cloudbeaver.utils.WebAppUtils;
@@ -257,6 +258,7 @@ public class CBDatabase {
         config.setMaxTotal(databaseConfiguration.getPool().getMaxConnections());
         GenericObjectPool<PoolableConnection> connectionPool = new GenericObjectPool<>(pcf, config);
         pcf.setPool(connectionPool);
+        registerPoolMetrics(connectionPool);
         return new PoolingDataSource<>(connectionPool);
     }
 
@@ -355,6 +357,18 @@ public class CBDatabase {
             userId);
     }
 
+    private static void registerPoolMetrics(GenericObjectPool<PoolableConnection> connectionPool) {
+        WebMetricsRegistry metrics = WebMetricsRegistry.getInstance();
+        metrics.gauge("cb_database_pool_active", "Management database connections in use",
+            connectionPool::getNumActive);
+        metrics.gauge("cb_database_pool_idle", "Idle management database connections",
+            connectionPool::getNumIdle);
+        metrics.gauge("cb_database_pool_waiters", "Threads waiting for a management database connection",
+            connectionPool::getNumWaiters);
+        metrics.gauge("cb_database_pool_max", "Max management database connections",
+            connectionPool::getMaxTotal);
+    }
+
     public void shutdown() {
         log.debug("Shutdown database");
         if (cbDataSource != null) {
@@ -0,0 +1,92 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model.metrics;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+public class WebMetricsRegistryTest {
+
+    private final WebMetricsRegistry registry = WebMetricsRegistry.getInstance();
+
+    @After
+    public void removeTestMetrics() {
+        registry.removeMetric("test_counter_total");
+        registry.removeMetric("test_duration_seconds");
+        registry.removeMetric("test_gauge");
+    }
+
+    @Test
+    public void testCounter() throws Exception {
+        WebCounter counter = registry.counter("test_counter_total", "Test counter", "kind");
+        counter.inc("a");
+        counter.add(5, "a");
+        counter.inc("quote\"d");
+        Assert.assertSame(counter, registry.counter("test_counter_total", "Test counter", "kind"));
+        Assert.assertEquals(6, counter.get("a"));
+        Assert.assertEquals(0, counter.get("b"));
+
+        String output = writeMetrics();
+        Assert.assertTrue(output.contains("# HELP test_counter_total Test counter\n# TYPE test_counter_total counter\n"));
+        Assert.assertTrue(output.contains("test_counter_total{kind=\"a\"} 6\n"));
+        Assert.assertTrue(output.contains("test_counter_total{kind=\"quote\\\"d\"} 1\n"));
+    }
+
+    @Test
+    public void testHistogram() throws Exception {
+        WebHistogram histogram = registry.histogram("test_duration_seconds", "Test histogram", new double[]{1, 5});
+        histogram.observe(0.5);
+        histogram.observe(2);
+        histogram.observe(10);
+
+        String output = writeMetrics();
+        Assert.assertTrue(output.contains("test_duration_seconds_bucket{le=\"1\"} 1\n"));
+        Assert.assertTrue(output.contains("test_duration_seconds_bucket{le=\"5\"} 2\n"));
+        Assert.assertTrue(output.contains("test_duration_seconds_bucket{le=\"+Inf\"} 3\n"));
+        Assert.assertTrue(output.contains("test_duration_seconds_sum 12.5\n"));
+        Assert.assertTrue(output.contains("test_duration_seconds_count 3\n"));
+    }
+
+    @Test
+    public void testGaugeSupplierReplacement() throws Exception {
+        registry.gauge("test_gauge", "Test gauge", () -> 1);
+        Assert.assertTrue(writeMetrics().contains("test_gauge 1\n"));
+        registry.gauge("test_gauge", "Test gauge", () -> 2);
+        Assert.assertTrue(writeMetrics().contains("test_gauge 2\n"));
+    }
+
+    @Test
+    public void testTypeConflict() {
+        registry.counter("test_counter_total", "Test counter");
+        Assert.assertThrows(IllegalArgumentException.class, () -> registry.gauge("test_counter_total", "Test", () -> 0));
+    }
+
+    @Test
+    public void testLabelsCountMismatch() {
+        WebCounter counter = registry.counter("test_counter_total", "Test counter", "kind");
+        Assert.assertThrows(IllegalArgumentException.class, () -> counter.inc("a", "b"));
+    }
+
+    private String writeMetrics() throws Exception {
+        StringWriter writer = new StringWriter();
+        registry.write(writer);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.model.session;
+
+import io.cloudbeaver.model.WebAsyncTaskInfo;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class WebAsyncTaskSchedulerTest {
+
+    private final BlockingQueue<String> startedTasks = new LinkedBlockingQueue<>();
+    private final Map<String, TestJob> jobs = new HashMap<>();
+
+    @After
+    public void finishJobs() {
+        jobs.values().forEach(TestJob::finish);
+    }
+
+    @Test
+    public void testOwnersAreServedFairly() throws Exception {
+        WebAsyncTaskScheduler scheduler = new WebAsyncTaskScheduler(() -> 1, () -> Integer.MAX_VALUE);
+        submit(scheduler, "userA", "a1");
+        Assert.assertEquals("a1", nextStartedTask());
+        for (String taskId : List.of("a2", "a3", "a4")) {
+            submit(scheduler, "userA", taskId);
+        }
+        submit(scheduler, "userB", "b1");
+        submit(scheduler, "userB", "b2");
+        Assert.assertEquals(5, scheduler.getQueuedTaskCount());
+
+        List<String> startOrder = new ArrayList<>();
+        String runningTask = "a1";
+        for (int i = 0; i < 5; i++) {
+            jobs.get(runningTask).finish();
+            runningTask = nextStartedTask();
+            startOrder.add(runningTask);
+        }
+        // Owner with many queued tasks doesn't block other owners
+        Assert.assertEquals(List.of("a2", "b1", "a3", "b2", "a4"), startOrder);
+        Assert.assertEquals(0, scheduler.getQueuedTaskCount());
+    }
+
+    @Test
+    public void testOwnerRunningLimit() throws Exception {
+        WebAsyncTaskScheduler scheduler = new WebAsyncTaskScheduler(() -> 10, () -> 1);
+        submit(scheduler, "userA", "a1");
+        WebAsyncTaskInfo a2 = submit(scheduler, "userA", "a2");
+        submit(scheduler, "userB", "b1");
+
+        Assert.assertEquals("a1", nextStartedTask());
+        Assert.assertEquals("b1", nextStartedTask());
+        Assert.assertEquals(2, scheduler.getRunningTaskCount(WebAsyncTaskLane.BULK));
+        Assert.assertEquals(0, scheduler.getRunningTaskCount(WebAsyncTaskLane.INTERACTIVE));
+        Assert.assertTrue(a2.isQueued());
+        Assert.assertEquals(Integer.valueOf(1), scheduler.getQueuePosition(a2));
+
+        jobs.get("a1").finish();
+        Assert.assertEquals("a2", nextStartedTask());
+    }
+
+    @Test
+    public void testCancelQueuedTask() throws Exception {
+        WebAsyncTaskScheduler scheduler = new WebAsyncTaskScheduler(() -> 1, () -> Integer.MAX_VALUE);
+        WebAsyncTaskInfo a1 = submit(scheduler, "userA", "a1");
+        WebAsyncTaskInfo a2 = submit(scheduler, "userA", "a2");
+        WebAsyncTaskInfo a3 = submit(scheduler, "userA", "a3");
+        Assert.assertEquals("a1", nextStartedTask());
+        Assert.assertNull(scheduler.getQueuePosition(a1));
+        Assert.assertEquals(Integer.valueOf(2), scheduler.getQueuePosition(a3));
+
+        Assert.assertTrue(scheduler.cancel(a2));
+        Assert.assertFalse(scheduler.cancel(a2));
+        Assert.assertFalse(a2.isQueued());
+        Assert.assertEquals("Cancelled", a2.getStatus());
+        Assert.assertEquals(Integer.valueOf(1), scheduler.getQueuePosition(a3));
+
+        jobs.get("a1").finish();
+        Assert.assertEquals("a3", nextStartedTask());
+        Assert.assertNull(startedTasks.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    private WebAsyncTaskInfo submit(WebAsyncTaskScheduler scheduler, String ownerId, String taskId) {
+        WebAsyncTaskInfo task = new WebAsyncTaskInfo(taskId, taskId);
+        TestJob job = new TestJob(taskId);
+        jobs.put(taskId, job);
+        scheduler.submit(ownerId, WebAsyncTaskLane.BULK, task, job);
+        return task;
+    }
+
+    private String nextStartedTask() throws InterruptedException {
+        String taskId = startedTasks.poll(10, TimeUnit.SECONDS);
+        Assert.assertNotNull("Task was not started", taskId);
+        return taskId;
+    }
+
+    private class TestJob extends AbstractJob {
+        private final String taskId;
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        TestJob(String taskId) {
+            super("Test task " + taskId);
+            this.taskId = taskId;
+        }
+
+        void finish() {
+            finished.countDown();
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            startedTasks.add(taskId);
+            try {
+                finished.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Status.OK_STATUS;
+        }
+    }
+}
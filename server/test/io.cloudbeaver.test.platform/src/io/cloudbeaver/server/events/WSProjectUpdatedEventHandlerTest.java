@@ -0,0 +1,89 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.events;
+
+import io.cloudbeaver.DBWConstants;
+import io.cloudbeaver.model.session.BaseWebSession;
+import io.cloudbeaver.model.session.WebUserContext;
+import io.cloudbeaver.server.AppWebSessionManager;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.websocket.event.WSProjectUpdateEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+public class WSProjectUpdatedEventHandlerTest {
+
+    private static final String PROJECT_ID = "p1";
+
+    private AppWebSessionManager sessionManager;
+    private WSProjectUpdatedEventHandler handler;
+
+    @Before
+    public void setUp() {
+        sessionManager = Mockito.mock(AppWebSessionManager.class);
+        handler = new WSProjectUpdatedEventHandler() {
+            @NotNull
+            @Override
+            protected AppWebSessionManager getSessionManager() {
+                return sessionManager;
+            }
+        };
+    }
+
+    @Test
+    public void testProjectAddedInAdminSession() throws Exception {
+        BaseWebSession adminSession = createSession("admin-session", true, false);
+        BaseWebSession userSession = createSession("user-session", false, false);
+        BaseWebSession authorSession = createSession("author-session", true, false);
+        Mockito.when(sessionManager.getAllActiveSessions()).thenReturn(List.of(adminSession, userSession, authorSession));
+        // Nobody has access to the new project yet
+        Mockito.when(sessionManager.getProjectSessions(PROJECT_ID)).thenReturn(List.of());
+
+        handler.handleEvent(WSProjectUpdateEvent.create("author-session", "author", PROJECT_ID));
+
+        Mockito.verify(adminSession).addSessionProject(PROJECT_ID);
+        Mockito.verify(adminSession).addSessionEvent(Mockito.any());
+        Mockito.verify(userSession, Mockito.never()).addSessionProject(Mockito.anyString());
+        Mockito.verify(authorSession, Mockito.never()).addSessionProject(Mockito.anyString());
+    }
+
+    @Test
+    public void testProjectRemovedInProjectSessions() throws Exception {
+        BaseWebSession projectSession = createSession("project-session", false, true);
+        BaseWebSession otherSession = createSession("other-session", true, false);
+        Mockito.when(sessionManager.getAllActiveSessions()).thenReturn(List.of(projectSession, otherSession));
+        Mockito.when(sessionManager.getProjectSessions(PROJECT_ID)).thenReturn(List.of(projectSession));
+
+        handler.handleEvent(WSProjectUpdateEvent.delete("author-session", "author", PROJECT_ID));
+
+        Mockito.verify(projectSession).removeSessionProject(PROJECT_ID);
+        Mockito.verify(otherSession, Mockito.never()).removeSessionProject(Mockito.anyString());
+    }
+
+    private static BaseWebSession createSession(String sessionId, boolean admin, boolean hasProject) {
+        WebUserContext userContext = Mockito.mock(WebUserContext.class);
+        Mockito.when(userContext.hasPermission(DBWConstants.PERMISSION_ADMIN)).thenReturn(admin);
+        BaseWebSession session = Mockito.mock(BaseWebSession.class);
+        Mockito.when(session.getSessionId()).thenReturn(sessionId);
+        Mockito.when(session.getUserContext()).thenReturn(userContext);
+        Mockito.when(session.isProjectAccessible(PROJECT_ID)).thenReturn(hasProject);
+        return session;
+    }
+}
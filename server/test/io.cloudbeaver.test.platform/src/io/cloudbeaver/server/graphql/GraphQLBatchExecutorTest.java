@@ -0,0 +1,100 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+public class GraphQLBatchExecutorTest {
+
+    private static final String SCHEMA = "type Query { slow(delay: Int!): Int }";
+
+    private static final int[] DELAYS = {300, 500, 200, 400};
+    private static final int DELAYS_SUM = 1400;
+
+    private static final GraphQLBatchExecutor batchExecutor = new GraphQLBatchExecutor(4);
+    private static final GraphQL graphQL = GraphQL.newGraphQL(createSchema()).build();
+
+    @AfterClass
+    public static void shutdown() {
+        batchExecutor.shutdown();
+    }
+
+    @Test
+    public void testConcurrentBatchLatency() {
+        Semaphore semaphore = new Semaphore(3);
+        long startTime = System.currentTimeMillis();
+        List<ExecutionResult> results = batchExecutor.execute(createOperations(), semaphore);
+        long batchTime = System.currentTimeMillis() - startTime;
+
+        assertResults(results);
+        // Batch takes about as long as the slowest operation, not as all of them
+        Assert.assertTrue("Batch time " + batchTime, batchTime >= 500 && batchTime < DELAYS_SUM - 400);
+        Assert.assertEquals(3, semaphore.availablePermits());
+    }
+
+    @Test
+    public void testSequentialBatchWithoutPermits() {
+        Semaphore semaphore = new Semaphore(0);
+        long startTime = System.currentTimeMillis();
+        List<ExecutionResult> results = batchExecutor.execute(createOperations(), semaphore);
+        long batchTime = System.currentTimeMillis() - startTime;
+
+        assertResults(results);
+        Assert.assertTrue("Batch time " + batchTime, batchTime >= DELAYS_SUM);
+    }
+
+    private static List<Supplier<ExecutionResult>> createOperations() {
+        List<Supplier<ExecutionResult>> operations = new ArrayList<>();
+        for (int delay : DELAYS) {
+            operations.add(() -> graphQL.execute("{ slow(delay: " + delay + ") }"));
+        }
+        return operations;
+    }
+
+    private static void assertResults(List<ExecutionResult> results) {
+        Assert.assertEquals(DELAYS.length, results.size());
+        for (int i = 0; i < DELAYS.length; i++) {
+            Assert.assertTrue(results.get(i).getErrors().isEmpty());
+            Assert.assertEquals(Map.of("slow", DELAYS[i]), results.get(i).getData());
+        }
+    }
+
+    private static GraphQLSchema createSchema() {
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+            .type("Query", builder -> builder.dataFetcher("slow", env -> {
+                int delay = env.getArgument("delay");
+                Thread.sleep(delay);
+                return delay;
+            }))
+            .build();
+        return new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), wiring);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GraphQLCostBucketTest {
+
+    @Test
+    public void testConsumeAndRetryHint() {
+        GraphQLCostBucket bucket = new GraphQLCostBucket();
+        Assert.assertEquals(0, bucket.tryConsume(60, 100, 10));
+        long retryAfter = bucket.tryConsume(60, 100, 10);
+        // 20 tokens are missing, 10 tokens are restored per second
+        Assert.assertTrue("Unexpected retry hint " + retryAfter, retryAfter > 1900 && retryAfter <= 2000);
+    }
+
+    @Test
+    public void testOperationHeavierThanBucket() {
+        GraphQLCostBucket bucket = new GraphQLCostBucket();
+        // Full bucket is enough for any operation
+        Assert.assertEquals(0, bucket.tryConsume(500, 100, 10));
+        Assert.assertTrue(bucket.tryConsume(1, 100, 10) > 0);
+    }
+
+    @Test
+    public void testRefill() throws Exception {
+        GraphQLCostBucket bucket = new GraphQLCostBucket();
+        Assert.assertEquals(0, bucket.tryConsume(10, 10, 1000));
+        Thread.sleep(50);
+        Assert.assertEquals(0, bucket.tryConsume(10, 10, 1000));
+    }
+
+    @Test
+    public void testCapacityChange() {
+        GraphQLCostBucket bucket = new GraphQLCostBucket();
+        Assert.assertEquals(0, bucket.tryConsume(50, 100, 1));
+        // Remaining tokens are capped by the new capacity
+        Assert.assertEquals(0, bucket.tryConsume(5, 10, 1));
+        Assert.assertTrue(bucket.tryConsume(10, 10, 1) > 0);
+    }
+}
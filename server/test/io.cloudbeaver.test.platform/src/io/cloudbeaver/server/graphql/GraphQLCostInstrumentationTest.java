@@ -0,0 +1,89 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import graphql.execution.CoercedVariables;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Map;
+
+public class GraphQLCostInstrumentationTest {
+
+    private static final String SCHEMA = """
+        directive @cost(weight: Int!) on FIELD_DEFINITION
+        input PageInput { limit: Int, offset: Int }
+        type Query {
+            user: User
+            users(page: PageInput): [User!]!
+            items(limit: Int): [Item]
+            heavy: Int @cost(weight: 20)
+        }
+        type User { id: ID, items(limit: Int): [Item!]! }
+        type Item { id: ID, name: String }
+        """;
+
+    private static final GraphQLSchema schema = UnExecutableSchemaGenerator.makeUnExecutableSchema(
+        new SchemaParser().parse(SCHEMA));
+
+    @Test
+    public void testFieldWeights() {
+        Assert.assertEquals(22, calculateCost("{ heavy user { id } }", Map.of()));
+    }
+
+    @Test
+    public void testListLimits() {
+        Assert.assertEquals(11, calculateCost("{ items(limit: 5) { id name } }", Map.of()));
+        // Default list size
+        Assert.assertEquals(11, calculateCost("{ items { id } }", Map.of()));
+        Assert.assertEquals(101, calculateCost("query($n: Int) { items(limit: $n) { id } }", Map.of("n", 100)));
+    }
+
+    @Test
+    public void testNestedLists() {
+        // users + 3 * (id + items) + 3 * 4 * id
+        Assert.assertEquals(19, calculateCost("{ users(page: {limit: 3}) { id items(limit: 4) { id } } }", Map.of()));
+        Assert.assertEquals(1 + 10 * 2 + 100, calculateCost("{ users { id items { id } } }", Map.of()));
+    }
+
+    @Test
+    public void testClientKey() {
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(request.getRemoteAddr()).thenReturn("10.0.0.1");
+        Assert.assertEquals("client 10.0.0.1", GraphQLCostInstrumentation.getClientKey(request));
+
+        // Clients behind one proxy are distinguished by HTTP session
+        HttpSession httpSession = Mockito.mock(HttpSession.class);
+        Mockito.when(httpSession.getId()).thenReturn("s1");
+        Mockito.when(request.getSession(false)).thenReturn(httpSession);
+        Assert.assertEquals("session s1", GraphQLCostInstrumentation.getClientKey(request));
+        Mockito.verify(request, Mockito.never()).getSession();
+        Mockito.verify(request, Mockito.never()).getSession(true);
+    }
+
+    private static long calculateCost(String query, Map<String, Object> variables) {
+        return GraphQLCostInstrumentation.calculateCost(
+            schema, Parser.parse(query), null, CoercedVariables.of(variables), 10);
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GraphQLMetricsInstrumentationTest {
+
+    @Test
+    public void testOperationLabelsLimit() {
+        GraphQLMetricsInstrumentation instrumentation = new GraphQLMetricsInstrumentation();
+        Assert.assertEquals("anonymous", instrumentation.getOperationLabel(null));
+        for (int i = 0; i < GraphQLMetricsInstrumentation.MAX_OPERATION_LABELS * 2; i++) {
+            instrumentation.getOperationLabel("operation" + i);
+        }
+        Assert.assertEquals("operation1", instrumentation.getOperationLabel("operation1"));
+        Assert.assertEquals("other", instrumentation.getOperationLabel("newOperation"));
+        Assert.assertEquals("anonymous", instrumentation.getOperationLabel(null));
+    }
+}
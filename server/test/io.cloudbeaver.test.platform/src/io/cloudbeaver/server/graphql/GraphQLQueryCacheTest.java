@@ -0,0 +1,98 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class GraphQLQueryCacheTest {
+
+    private final AtomicInteger parseCount = new AtomicInteger();
+    private final Function<ExecutionInput, PreparsedDocumentEntry> parser = input -> {
+        parseCount.incrementAndGet();
+        return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+    };
+
+    @Test
+    public void testQueryHash() {
+        Assert.assertEquals(
+            "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+            GraphQLQueryCache.getQueryHash("abc"));
+    }
+
+    @Test
+    public void testDocumentIsParsedOnce() throws Exception {
+        GraphQLQueryCache cache = new GraphQLQueryCache(10);
+        String query = "{ serverConfig { name } }";
+        PreparsedDocumentEntry first = getDocument(cache, query);
+        PreparsedDocumentEntry second = getDocument(cache, query);
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, parseCount.get());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertSame(first.getDocument(), cache.getCachedDocument(query));
+        Assert.assertNull(cache.getCachedDocument("{ other }"));
+    }
+
+    @Test
+    public void testPersistedQuery() throws Exception {
+        GraphQLQueryCache cache = new GraphQLQueryCache(10);
+        String query = "query serverConfig { serverConfig { name } }";
+        Assert.assertNull(cache.getPersistedQuery(GraphQLQueryCache.getQueryHash(query)));
+        getDocument(cache, query);
+        Assert.assertEquals(query, cache.getPersistedQuery(GraphQLQueryCache.getQueryHash(query)));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() throws Exception {
+        GraphQLQueryCache cache = new GraphQLQueryCache(2);
+        getDocument(cache, "{ a }");
+        getDocument(cache, "{ b }");
+        // Makes the first query the most recently used
+        getDocument(cache, "{ a }");
+        getDocument(cache, "{ c }");
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNotNull(cache.getPersistedQuery(GraphQLQueryCache.getQueryHash("{ a }")));
+        Assert.assertNull(cache.getPersistedQuery(GraphQLQueryCache.getQueryHash("{ b }")));
+        Assert.assertEquals(3, parseCount.get());
+    }
+
+    @Test
+    public void testInvalidDocumentIsNotReturned() throws Exception {
+        GraphQLQueryCache cache = new GraphQLQueryCache(10);
+        String query = "{ unknownField }";
+        PreparsedDocumentEntry invalid = new PreparsedDocumentEntry(
+            List.of(GraphqlErrorBuilder.newError().message("Validation error").build()));
+        cache.getDocumentAsync(ExecutionInput.newExecutionInput(query).build(), input -> invalid).get();
+
+        Assert.assertNull(cache.getCachedDocument(query));
+    }
+
+    private PreparsedDocumentEntry getDocument(GraphQLQueryCache cache, String query) throws Exception {
+        return cache.getDocumentAsync(ExecutionInput.newExecutionInput(query).build(), parser).get();
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.server.graphql;
+
+import graphql.*;
+import graphql.execution.CoercedVariables;
+import graphql.language.*;
+import graphql.parser.Parser;
+import graphql.schema.*;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Runs operations of the web application through the cost instrumentation.
+ * Lists are read with the max navigator children limit, boolean flags are on, so the worst case cost is checked.
+ */
+public class GraphQLUIOperationsCostTest {
+
+    private static final List<Path> QUERIES_FOLDERS = List.of(
+        Path.of("../../../webapp/packages/core-sdk/src/queries"),
+        Path.of("webapp/packages/core-sdk/src/queries"));
+    // Max value of core.navigation-tree.childrenLimit
+    private static final int MAX_LIST_LIMIT = 1000;
+
+    private static GraphQLSchema schema;
+    private static final Map<String, FragmentDefinition> fragments = new HashMap<>();
+    private static final List<OperationDefinition> operations = new ArrayList<>();
+
+    @BeforeClass
+    public static void readOperations() throws IOException {
+        Path queriesFolder = QUERIES_FOLDERS.stream().filter(Files::isDirectory).findFirst().orElse(null);
+        Assume.assumeNotNull(queriesFolder);
+
+        schema = UnExecutableSchemaGenerator.makeUnExecutableSchema(GraphQLEndpoint.readSchemaDefinition());
+        try (Stream<Path> files = Files.walk(queriesFolder)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".gql")).toList()) {
+                Document document = Parser.parse(Files.readString(file));
+                for (Definition<?> definition : document.getDefinitions()) {
+                    if (definition instanceof FragmentDefinition fragment) {
+                        fragments.put(fragment.getName(), fragment);
+                    } else if (definition instanceof OperationDefinition operation &&
+                        operation.getOperation() != OperationDefinition.Operation.SUBSCRIPTION) {
+                        operations.add(operation);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOperationsAreNotRejected() {
+        Assert.assertFalse(operations.isEmpty());
+        GraphQL graphQL = GraphQL.newGraphQL(schema)
+            .instrumentation(new GraphQLCostInstrumentation())
+            .build();
+        int executedCount = 0;
+        for (OperationDefinition operation : operations) {
+            ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput()
+                .query(AstPrinter.printAst(makeDocument(operation)))
+                .operationName(operation.getName())
+                .variables(makeVariables(operation))
+                .build());
+            boolean executed = true;
+            for (GraphQLError error : result.getErrors()) {
+                if (error.getErrorType() == ErrorType.ValidationError) {
+                    // Operation of a service which isn't available in this server
+                    executed = false;
+                    continue;
+                }
+                Object code = error.getExtensions() == null ? null : error.getExtensions().get("code");
+                Assert.assertNotEquals(
+                    "Operation " + operation.getName() + " rejected: " + error.getMessage(),
+                    GraphQLConstants.ERROR_CODE_QUERY_TOO_COMPLEX,
+                    code);
+                Assert.assertNotEquals(
+                    "Operation " + operation.getName() + " rejected: " + error.getMessage(),
+                    GraphQLConstants.ERROR_CODE_RATE_LIMITED,
+                    code);
+            }
+            if (executed) {
+                executedCount++;
+            }
+        }
+        Assert.assertTrue("No operations were executed", executedCount > 0);
+    }
+
+    @Test
+    public void testOperationsCost() {
+        for (OperationDefinition operation : operations) {
+            long cost = GraphQLCostInstrumentation.calculateCost(
+                schema,
+                makeDocument(operation),
+                operation.getName(),
+                CoercedVariables.of(makeVariables(operation)),
+                GraphQLConstants.DEFAULT_LIST_SIZE);
+            Assert.assertTrue("Invalid cost of " + operation.getName() + ": " + cost, cost > 0 && cost < Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Makes document of the operation and all fragments used by it
+     */
+    private static Document makeDocument(OperationDefinition operation) {
+        Map<String, FragmentDefinition> usedFragments = new LinkedHashMap<>();
+        collectFragments(operation, usedFragments);
+        List<Definition> definitions = new ArrayList<>();
+        definitions.add(operation);
+        definitions.addAll(usedFragments.values());
+        return Document.newDocument().definitions(definitions).build();
+    }
+
+    private static void collectFragments(Node<?> node, Map<String, FragmentDefinition> usedFragments) {
+        if (node instanceof FragmentSpread spread && !usedFragments.containsKey(spread.getName())) {
+            FragmentDefinition fragment = fragments.get(spread.getName());
+            if (fragment != null) {
+                usedFragments.put(fragment.getName(), fragment);
+                collectFragments(fragment, usedFragments);
+            }
+        }
+        for (Node<?> child : node.getChildren()) {
+            collectFragments(child, usedFragments);
+        }
+    }
+
+    private static Map<String, Object> makeVariables(OperationDefinition operation) {
+        Map<String, Object> variables = new LinkedHashMap<>();
+        for (VariableDefinition variable : operation.getVariableDefinitions()) {
+            GraphQLType type = getSchemaType(variable.getType());
+            if (type != null) {
+                variables.put(variable.getName(), makeValue(type, variable.getName()));
+            }
+        }
+        return variables;
+    }
+
+    private static GraphQLType getSchemaType(Type<?> type) {
+        if (type instanceof NonNullType nonNullType) {
+            GraphQLType wrappedType = getSchemaType(nonNullType.getType());
+            return wrappedType == null ? null : GraphQLNonNull.nonNull(wrappedType);
+        } else if (type instanceof ListType listType) {
+            GraphQLType wrappedType = getSchemaType(listType.getType());
+            return wrappedType == null ? null : GraphQLList.list(wrappedType);
+        }
+        return schema.getType(((TypeName) type).getName());
+    }
+
+    private static Object makeValue(GraphQLType type, String name) {
+        if (type instanceof GraphQLNonNull nonNull) {
+            return makeValue(nonNull.getWrappedType(), name);
+        } else if (type instanceof GraphQLList list) {
+            return List.of(makeValue(list.getWrappedType(), name));
+        } else if (type instanceof GraphQLEnumType enumType) {
+            return enumType.getValues().get(0).getName();
+        } else if (type instanceof GraphQLInputObjectType objectType) {
+            Map<String, Object> value = new LinkedHashMap<>();
+            for (GraphQLInputObjectField field : objectType.getFieldDefinitions()) {
+                if (GraphQLTypeUtil.isNonNull(field.getType()) && !field.hasSetDefaultValue()) {
+                    value.put(field.getName(), makeValue(field.getType(), field.getName()));
+                }
+            }
+            return value;
+        }
+        return switch (((GraphQLNamedType) type).getName()) {
+            case "Boolean" -> true;
+            case "Int" -> name.toLowerCase(Locale.ROOT).contains("limit") ? MAX_LIST_LIMIT : 1;
+            case "Float" -> 1.0;
+            default -> "test";
+        };
+    }
+}
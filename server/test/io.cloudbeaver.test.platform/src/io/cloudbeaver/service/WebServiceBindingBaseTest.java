@@ -0,0 +1,145 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service;
+
+import graphql.schema.DataFetchingEnvironment;
+import io.cloudbeaver.DBWebException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.UndeclaredThrowableException;
+
+public class WebServiceBindingBaseTest {
+
+    private TestServiceImpl serviceImpl;
+    private TestServiceBinding binding;
+    private DataFetchingEnvironment env;
+
+    @Before
+    public void setUp() {
+        serviceImpl = new TestServiceImpl();
+        binding = new TestServiceBinding(serviceImpl);
+        env = Mockito.mock(DataFetchingEnvironment.class);
+    }
+
+    @Test
+    public void invokeServiceMethods() throws Exception {
+        TestService service = binding.createService(env);
+        Assert.assertEquals("value", service.echo("value"));
+        Assert.assertNull(service.echo(null));
+        Assert.assertEquals(5, service.sum(2, 3));
+        Assert.assertEquals("no args", service.noArgs());
+        Assert.assertEquals(3, serviceImpl.calls);
+    }
+
+    @Test
+    public void proxyClassIsReused() {
+        TestService service1 = binding.createService(env);
+        TestService service2 = binding.createService(env);
+        Assert.assertNotSame(service1, service2);
+        Assert.assertSame(service1.getClass(), service2.getClass());
+    }
+
+    @Test
+    public void objectMethodsAreDelegated() {
+        TestService service = binding.createService(env);
+        Assert.assertEquals(serviceImpl.toString(), service.toString());
+        Assert.assertEquals(serviceImpl.hashCode(), service.hashCode());
+    }
+
+    @Test
+    public void declaredExceptionIsRethrown() {
+        TestService service = binding.createService(env);
+        DBWebException error = Assert.assertThrows(DBWebException.class, service::failDeclared);
+        Assert.assertSame(serviceImpl.declaredError, error);
+    }
+
+    @Test
+    public void undeclaredExceptionIsWrapped() {
+        TestService service = binding.createService(env);
+        UndeclaredThrowableException error = Assert.assertThrows(UndeclaredThrowableException.class, service::failUndeclared);
+        Assert.assertTrue(error.getCause() instanceof InvocationTargetException);
+        Assert.assertSame(serviceImpl.undeclaredError, ((InvocationTargetException) error.getCause()).getTargetException());
+    }
+
+    public interface TestService extends DBWService {
+        String echo(String value);
+
+        int sum(int a, int b);
+
+        String noArgs();
+
+        void failDeclared() throws DBWebException;
+
+        void failUndeclared();
+
+        static TestService unused() {
+            return null;
+        }
+    }
+
+    public static class TestServiceImpl implements TestService {
+        private final DBWebException declaredError = new DBWebException("Declared error");
+        private final IllegalStateException undeclaredError = new IllegalStateException("Undeclared error");
+        private int calls;
+
+        @Override
+        public String echo(String value) {
+            calls++;
+            return value;
+        }
+
+        @Override
+        public int sum(int a, int b) {
+            calls++;
+            return a + b;
+        }
+
+        @Override
+        public String noArgs() {
+            calls++;
+            return "no args";
+        }
+
+        @Override
+        public void failDeclared() throws DBWebException {
+            throw declaredError;
+        }
+
+        @Override
+        public void failUndeclared() {
+            throw undeclaredError;
+        }
+    }
+
+    private static class TestServiceBinding extends WebServiceBindingBase<TestService> {
+        TestServiceBinding(TestService impl) {
+            super(TestService.class, impl, "test.graphqls");
+        }
+
+        TestService createService(DataFetchingEnvironment env) {
+            return getService(env);
+        }
+
+        @Override
+        public void bindWiring(DBWBindingContext model) {
+        }
+    }
+}
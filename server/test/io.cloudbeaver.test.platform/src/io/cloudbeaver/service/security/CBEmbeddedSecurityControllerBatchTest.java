@@ -0,0 +1,101 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.security;
+
+import io.cloudbeaver.service.security.db.CBDatabase;
+import org.jkiss.dbeaver.model.security.SMObjectType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks number and size of statements executed by batch user details reads
+ */
+public class CBEmbeddedSecurityControllerBatchTest {
+
+    private final List<String> statements = new ArrayList<>();
+    private CBEmbeddedSecurityController<?> controller;
+
+    @Before
+    public void createController() throws Exception {
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(statement.executeQuery()).thenReturn(resultSet);
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.prepareStatement(Mockito.anyString())).thenAnswer(invocation -> {
+            statements.add(invocation.getArgument(0));
+            return statement;
+        });
+        CBDatabase database = Mockito.mock(CBDatabase.class);
+        Mockito.when(database.openConnection()).thenReturn(connection);
+        Mockito.when(database.normalizeTableNames(Mockito.anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        controller = new CBEmbeddedSecurityController<>(null, database, null, null);
+    }
+
+    @Test
+    public void testUsersPageStatementCount() throws Exception {
+        List<String> userIds = createUserIds(500);
+
+        Map<String, String[]> providers = controller.getUsersLinkedProviders(userIds);
+        Assert.assertEquals(500, providers.size());
+        Assert.assertEquals(1, statements.size());
+
+        statements.clear();
+        var grants = controller.getSubjectsObjectPermissionGrants(userIds, SMObjectType.datasource);
+        Assert.assertEquals(500, grants.size());
+        // User teams and permissions
+        Assert.assertEquals(2, statements.size());
+    }
+
+    @Test
+    public void testLargeInListsAreSplit() throws Exception {
+        List<String> userIds = createUserIds(CBEmbeddedSecurityController.MAX_IN_LIST_SIZE * 2 + 1);
+
+        controller.getUsersLinkedProviders(userIds);
+        Assert.assertEquals(3, statements.size());
+        assertParametersLimit();
+
+        statements.clear();
+        controller.getSubjectsObjectPermissionGrants(userIds, SMObjectType.datasource);
+        Assert.assertEquals(6, statements.size());
+        assertParametersLimit();
+    }
+
+    private void assertParametersLimit() {
+        for (String sql : statements) {
+            long inListSize = sql.chars().filter(c -> c == '?').count();
+            // Permissions query has an extra object type parameter
+            Assert.assertTrue("Too many parameters: " + inListSize, inListSize <= CBEmbeddedSecurityController.MAX_IN_LIST_SIZE + 1);
+        }
+    }
+
+    private static List<String> createUserIds(int count) {
+        List<String> userIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            userIds.add("user" + i);
+        }
+        return userIds;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.session;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class WebSessionExpiryIndexTest {
+
+    @Test
+    public void testPollDueSessions() {
+        WebSessionExpiryIndex index = new WebSessionExpiryIndex();
+        index.schedule("s1", 1_000);
+        index.schedule("s2", 1_500);
+        index.schedule("s3", 10_000);
+        Assert.assertEquals(3, index.size());
+
+        // Sessions are never returned before their deadline
+        Assert.assertTrue(index.pollDue(999).isEmpty());
+        Assert.assertEquals(List.of("s1"), index.pollDue(1_999));
+        Assert.assertEquals(List.of("s2"), index.pollDue(2_000));
+        Assert.assertEquals(1, index.size());
+        // Polled sessions are removed from the index
+        Assert.assertTrue(index.pollDue(2_000).isEmpty());
+        Assert.assertEquals(List.of("s3"), index.pollDue(20_000));
+        Assert.assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testRescheduleReplacesPreviousDeadline() {
+        WebSessionExpiryIndex index = new WebSessionExpiryIndex();
+        index.schedule("s1", 1_000);
+        index.schedule("s2", 1_000);
+        index.schedule("s1", 5_000);
+        Assert.assertEquals(2, index.size());
+
+        Assert.assertEquals(List.of("s2"), index.pollDue(3_000));
+        Assert.assertEquals(List.of("s1"), index.pollDue(5_000));
+        Assert.assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testSameBucketSessions() {
+        WebSessionExpiryIndex index = new WebSessionExpiryIndex();
+        for (int i = 0; i < 100; i++) {
+            index.schedule("s" + i, 60_001 + i);
+        }
+        Assert.assertTrue(index.pollDue(60_000).isEmpty());
+        Set<String> due = new HashSet<>(index.pollDue(61_000));
+        Assert.assertEquals(100, due.size());
+        Assert.assertTrue(due.contains("s0") && due.contains("s99"));
+        Assert.assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.session;
+
+import io.cloudbeaver.model.session.BaseWebSession;
+import io.cloudbeaver.model.session.WebUserContext;
+import io.cloudbeaver.model.user.WebUser;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class WebSessionIndexTest {
+
+    @Test
+    public void testSessionIndexes() {
+        WebSessionIndex index = new WebSessionIndex();
+        WebUserContext context = Mockito.mock(WebUserContext.class);
+        setContextState(context, "user1", new String[]{"Admins"}, "sm1", Set.of("p1", "p2"));
+        BaseWebSession session = createSession(context);
+
+        index.addSession("key1", session);
+
+        Assert.assertEquals("key1", index.getSessionKey(session));
+        Assert.assertEquals(List.of(session), index.getUserSessions("user1"));
+        Assert.assertEquals(List.of(session), index.getSmSessions("sm1"));
+        // Teams are compared ignoring case
+        Assert.assertEquals(List.of(session), index.getTeamSessions("admins"));
+        Assert.assertEquals(List.of(session), index.getProjectSessions("p2"));
+        Assert.assertTrue(index.getUserSessions("user2").isEmpty());
+    }
+
+    @Test
+    public void testUserContextChange() {
+        WebSessionIndex index = new WebSessionIndex();
+        WebUserContext context = Mockito.mock(WebUserContext.class);
+        setContextState(context, "user1", new String[]{"team1"}, "sm1", Set.of("p1", "p2"));
+        BaseWebSession session = createSession(context);
+        index.addSession("key1", session);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<WebUserContext>> listener = ArgumentCaptor.forClass(Consumer.class);
+        Mockito.verify(context).setChangeListener(listener.capture());
+
+        // Login as another user
+        setContextState(context, "user2", new String[0], "sm2", Set.of("p2", "p3"));
+        listener.getValue().accept(context);
+
+        Assert.assertTrue(index.getUserSessions("user1").isEmpty());
+        Assert.assertTrue(index.getSmSessions("sm1").isEmpty());
+        Assert.assertTrue(index.getTeamSessions("team1").isEmpty());
+        Assert.assertTrue(index.getProjectSessions("p1").isEmpty());
+        Assert.assertEquals(List.of(session), index.getUserSessions("user2"));
+        Assert.assertEquals(List.of(session), index.getSmSessions("sm2"));
+        Assert.assertEquals(List.of(session), index.getProjectSessions("p2"));
+        Assert.assertEquals(List.of(session), index.getProjectSessions("p3"));
+    }
+
+    @Test
+    public void testRemoveSession() {
+        WebSessionIndex index = new WebSessionIndex();
+        WebUserContext context = Mockito.mock(WebUserContext.class);
+        setContextState(context, "user1", new String[]{"team1"}, "sm1", Set.of("p1"));
+        BaseWebSession session1 = createSession(context);
+        BaseWebSession session2 = createSession(context);
+        index.addSession("key1", session1);
+        index.addSession("key2", session2);
+        Assert.assertEquals(Set.of(session1, session2), Set.copyOf(index.getUserSessions("user1")));
+
+        index.removeSession(session1);
+
+        Assert.assertNull(index.getSessionKey(session1));
+        Assert.assertEquals(List.of(session2), index.getUserSessions("user1"));
+        Assert.assertEquals(List.of(session2), index.getTeamSessions("team1"));
+        Assert.assertEquals(List.of(session2), index.getProjectSessions("p1"));
+        Mockito.verify(context).setChangeListener(null);
+    }
+
+    private static BaseWebSession createSession(WebUserContext context) {
+        BaseWebSession session = Mockito.mock(BaseWebSession.class);
+        Mockito.when(session.getUserContext()).thenReturn(context);
+        return session;
+    }
+
+    private static void setContextState(
+        WebUserContext context,
+        String userId,
+        String[] teams,
+        String smSessionId,
+        Set<String> projects
+    ) {
+        WebUser user = Mockito.mock(WebUser.class);
+        Mockito.when(user.getUserId()).thenReturn(userId);
+        Mockito.when(user.getTeams()).thenReturn(teams);
+        Mockito.when(context.getUser()).thenReturn(user);
+        Mockito.when(context.getSmSessionId()).thenReturn(smSessionId);
+        Mockito.when(context.getAccessibleProjectIds()).thenReturn(projects);
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.session;
+
+import io.cloudbeaver.model.session.BaseWebSession;
+import io.cloudbeaver.model.session.WebUserContext;
+import io.cloudbeaver.server.CBApplication;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class WebSessionManagerConcurrencyTest {
+
+    @Test
+    public void testCloseDuringCreation() throws Exception {
+        TestSessionManager manager = new TestSessionManager();
+        CountDownLatch creationStarted = new CountDownLatch(1);
+        CountDownLatch sessionClosed = new CountDownLatch(1);
+        BaseWebSession session = createSession(null);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<BaseWebSession> creation = executor.submit(() -> manager.getOrCreateSession("s1", () -> {
+                creationStarted.countDown();
+                sessionClosed.await();
+                return session;
+            }));
+            Assert.assertTrue(creationStarted.await(10, TimeUnit.SECONDS));
+            Assert.assertNull(manager.closeSession(createRequest("s1")));
+            sessionClosed.countDown();
+
+            Assert.assertNull(creation.get(10, TimeUnit.SECONDS));
+            Mockito.verify(session).close();
+            Assert.assertNull(manager.getSession("s1"));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Closed id may be used by new sessions
+        BaseWebSession newSession = createSession(null);
+        Assert.assertSame(newSession, manager.getOrCreateSession("s1", () -> newSession));
+        Assert.assertSame(newSession, manager.getSession("s1"));
+    }
+
+    @Test
+    public void testWaiterCreatesSessionIfOtherCreationFailed() throws Exception {
+        TestSessionManager manager = new TestSessionManager();
+        CountDownLatch creationStarted = new CountDownLatch(1);
+        CountDownLatch restoreFailed = new CountDownLatch(1);
+        BaseWebSession session = createSession(null);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // The first request can't restore the session
+            Future<BaseWebSession> failedCreation = executor.submit(() -> manager.getOrCreateSession("s1", () -> {
+                creationStarted.countDown();
+                restoreFailed.await();
+                return null;
+            }));
+            Assert.assertTrue(creationStarted.await(10, TimeUnit.SECONDS));
+
+            FutureTask<BaseWebSession> creation = new FutureTask<>(() -> manager.getOrCreateSession("s1", () -> session));
+            Thread waiter = new Thread(creation, "Session creation waiter");
+            waiter.start();
+            // Wait until the second request waits for the first one
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (waiter.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            restoreFailed.countDown();
+
+            Assert.assertNull(failedCreation.get(10, TimeUnit.SECONDS));
+            Assert.assertSame(session, creation.get(10, TimeUnit.SECONDS));
+            Assert.assertSame(session, manager.getSession("s1"));
+            Mockito.verify(session, Mockito.never()).close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentCreateAndClose() throws Exception {
+        TestSessionManager manager = new TestSessionManager();
+        int threadCount = 16;
+        int iterations = 500;
+        List<String> sessionIds = List.of("s1", "s2", "s3", "s4");
+        Map<BaseWebSession, String> createdSessions = new ConcurrentHashMap<>();
+        Map<BaseWebSession, AtomicInteger> closeCounts = new ConcurrentHashMap<>();
+        Set<String> creatingIds = ConcurrentHashMap.newKeySet();
+        AtomicInteger concurrentCreations = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < iterations; i++) {
+                        String sessionId = sessionIds.get((seed + i) % sessionIds.size());
+                        if (random.nextInt(3) == 0) {
+                            manager.closeSession(createRequest(sessionId));
+                            continue;
+                        }
+                        manager.getOrCreateSession(sessionId, () -> {
+                            if (!creatingIds.add(sessionId)) {
+                                concurrentCreations.incrementAndGet();
+                            }
+                            try {
+                                Thread.yield();
+                                BaseWebSession session = createSession(closeCounts);
+                                createdSessions.put(session, sessionId);
+                                return session;
+                            } finally {
+                                creatingIds.remove(sessionId);
+                            }
+                        });
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals("Session created concurrently more than once", 0, concurrentCreations.get());
+        // Each created session is either active or closed exactly once
+        for (var entry : createdSessions.entrySet()) {
+            BaseWebSession session = entry.getKey();
+            AtomicInteger closeCount = closeCounts.get(session);
+            if (manager.getSession(entry.getValue()) == session) {
+                Assert.assertNull("Active session was closed", closeCount);
+            } else {
+                Assert.assertNotNull("Session leaked", closeCount);
+                Assert.assertEquals(1, closeCount.get());
+            }
+        }
+        Assert.assertTrue(manager.getActiveSessionCount() <= sessionIds.size());
+    }
+
+    private static HttpServletRequest createRequest(@NotNull String sessionId) {
+        HttpSession httpSession = Mockito.mock(HttpSession.class);
+        Mockito.when(httpSession.getId()).thenReturn(sessionId);
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(request.getSession()).thenReturn(httpSession);
+        return request;
+    }
+
+    private static BaseWebSession createSession(Map<BaseWebSession, AtomicInteger> closeCounts) {
+        BaseWebSession session = Mockito.mock(BaseWebSession.class);
+        Mockito.when(session.getUserContext()).thenReturn(Mockito.mock(WebUserContext.class));
+        if (closeCounts != null) {
+            Mockito.doAnswer(invocation -> {
+                closeCounts.computeIfAbsent(session, s -> new AtomicInteger()).incrementAndGet();
+                return null;
+            }).when(session).close();
+        }
+        return session;
+    }
+
+    private static class TestSessionManager extends WebSessionManager {
+        TestSessionManager() {
+            super(Mockito.mock(CBApplication.class));
+        }
+
+        @Override
+        protected BaseWebSession getOrCreateSession(
+            @NotNull String sessionId,
+            @NotNull SessionFactory factory
+        ) throws DBException {
+            return super.getOrCreateSession(sessionId, factory);
+        }
+    }
+}
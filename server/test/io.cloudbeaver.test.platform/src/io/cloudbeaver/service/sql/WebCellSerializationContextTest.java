@@ -0,0 +1,88 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import io.cloudbeaver.model.session.WebSession;
+import io.cloudbeaver.utils.CBModelConstants;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.Map;
+
+public class WebCellSerializationContextTest {
+
+    private WebCellSerializationContext context;
+
+    @Before
+    public void setUp() {
+        context = new WebCellSerializationContext(Mockito.mock(WebSession.class), null);
+    }
+
+    @Test
+    public void contextReadsQuotas() {
+        Assert.assertTrue(context.getTextPreviewMaxLength() > 0);
+        Assert.assertTrue(context.getBinaryPreviewMaxLength() > 0);
+        Assert.assertSame(CBModelConstants.ISO_DATE_FORMAT, context.getDateFormat());
+        Assert.assertNull(context.getDataFormat());
+    }
+
+    @Test
+    public void serializeSimpleValues() throws Exception {
+        Assert.assertNull(WebSQLUtils.makeWebCellValue(context, null, null));
+        Assert.assertEquals(Boolean.TRUE, WebSQLUtils.makeWebCellValue(context, null, Boolean.TRUE));
+        Assert.assertEquals("42", WebSQLUtils.makeWebCellValue(context, null, 42));
+        Assert.assertEquals("42", WebSQLUtils.makeWebCellValue(context, null, 42L));
+        Assert.assertEquals("1.5", WebSQLUtils.makeWebCellValue(context, null, 1.5d));
+        Assert.assertEquals("1000000", WebSQLUtils.makeWebCellValue(context, null, new BigDecimal("1E+6")));
+
+        Date date = new Date(0);
+        Assert.assertEquals(
+            CBModelConstants.ISO_DATE_FORMAT.format(date.toInstant()),
+            WebSQLUtils.makeWebCellValue(context, null, date));
+    }
+
+    @Test
+    public void serializeShortString() throws Exception {
+        Assert.assertEquals("abc", WebSQLUtils.makeWebCellValue(context, null, "abc"));
+    }
+
+    @Test
+    public void serializeLongString() throws Exception {
+        int maxLength = context.getTextPreviewMaxLength();
+        String value = "x".repeat(maxLength + 10);
+
+        Object webValue = WebSQLUtils.makeWebCellValue(context, null, value);
+        Assert.assertTrue(webValue instanceof Map);
+        Map<?, ?> map = (Map<?, ?>) webValue;
+        Assert.assertEquals(WebSQLConstants.VALUE_TYPE_CONTENT, map.get(WebSQLConstants.VALUE_TYPE_ATTR));
+        Assert.assertEquals(value.substring(0, maxLength), map.get(WebSQLConstants.ATTR_TEXT));
+        Assert.assertEquals(value.length(), map.get("contentLength"));
+    }
+
+    @Test
+    public void contextMatchesSessionOverload() throws Exception {
+        String value = "y".repeat(context.getTextPreviewMaxLength() + 1);
+        Object fromContext = WebSQLUtils.makeWebCellValue(context, null, value);
+        Object fromSession = WebSQLUtils.makeWebCellValue(context.getWebSession(), null, value, null);
+        Assert.assertEquals(fromContext, fromSession);
+        Assert.assertEquals(fromContext, WebSQLUtils.serializeStringValue(value));
+    }
+}
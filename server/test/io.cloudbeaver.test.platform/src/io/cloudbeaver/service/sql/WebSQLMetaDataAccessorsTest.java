@@ -0,0 +1,96 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import org.jkiss.dbeaver.model.meta.MetaData;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class WebSQLMetaDataAccessorsTest {
+
+    @Test
+    public void plainValueHasNoMetaData() throws Throwable {
+        Assert.assertNull(WebSQLMetaDataAccessors.readMetaData("value", null));
+        Assert.assertNull(WebSQLMetaDataAccessors.readMetaData(42, null));
+
+        Map<String, Object> metaData = new HashMap<>();
+        Assert.assertSame(metaData, WebSQLMetaDataAccessors.readMetaData("value", metaData));
+        Assert.assertTrue(metaData.isEmpty());
+    }
+
+    @Test
+    public void readAnnotatedAccessors() throws Throwable {
+        Map<String, Object> metaData = WebSQLMetaDataAccessors.readMetaData(new TestValue(7, "abc"), null);
+        Assert.assertNotNull(metaData);
+        Assert.assertEquals(Map.of("rowNumber", 7, "label", "abc"), metaData);
+    }
+
+    @Test
+    public void readIntoExistingMap() throws Throwable {
+        Map<String, Object> metaData = new HashMap<>();
+        metaData.put("other", true);
+        Assert.assertSame(metaData, WebSQLMetaDataAccessors.readMetaData(new TestValue(1, null), metaData));
+        Assert.assertEquals(3, metaData.size());
+        Assert.assertEquals(true, metaData.get("other"));
+        Assert.assertEquals(1, metaData.get("rowNumber"));
+        Assert.assertTrue(metaData.containsKey("label"));
+        Assert.assertNull(metaData.get("label"));
+    }
+
+    @Test
+    public void accessorsAreReadForEachValue() throws Throwable {
+        for (int i = 0; i < 10; i++) {
+            Map<String, Object> metaData = WebSQLMetaDataAccessors.readMetaData(new TestValue(i, "v" + i), null);
+            Assert.assertNotNull(metaData);
+            Assert.assertEquals(i, metaData.get("rowNumber"));
+            Assert.assertEquals("v" + i, metaData.get("label"));
+        }
+    }
+
+    public static class TestValue {
+        private final int rowNumber;
+        private final String label;
+
+        public TestValue(int rowNumber, String label) {
+            this.rowNumber = rowNumber;
+            this.label = label;
+        }
+
+        @MetaData(name = "rowNumber")
+        public int getRowNumber() {
+            return rowNumber;
+        }
+
+        @MetaData(name = "label")
+        public String getLabel() {
+            return label;
+        }
+
+        // Accessors with parameters are ignored
+        @MetaData(name = "formatted")
+        public String getFormatted(String format) {
+            return String.format(format, label);
+        }
+
+        public String getDescription() {
+            return "not a metadata";
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+public class WebSQLResultsCacheTest {
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        WebSQLResultsCache cache = new WebSQLResultsCache(2);
+        WebSQLResultsInfo results1 = createResults("1");
+        WebSQLResultsInfo results2 = createResults("2");
+        WebSQLResultsInfo results3 = createResults("3");
+        WebSQLResultCursor cursor1 = Mockito.mock(WebSQLResultCursor.class);
+        results1.setCursor(cursor1);
+        long evictedBefore = WebSQLResultsCache.EvictionReason.SIZE.getEvictedCount();
+
+        cache.put(results1);
+        cache.put(results2);
+        // Access makes the first results the most recently used
+        Assert.assertSame(results1, cache.get("1"));
+        cache.put(results3);
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNull(cache.get("2"));
+        Assert.assertTrue(cache.isEvicted("2"));
+        Assert.assertFalse(cache.isEvicted("1"));
+        Assert.assertEquals(List.of(results1, results3), cache.getAll());
+        Assert.assertEquals(evictedBefore + 1, WebSQLResultsCache.EvictionReason.SIZE.getEvictedCount());
+        Mockito.verify(cursor1, Mockito.never()).close();
+
+        cache.put(createResults("4"));
+        cache.put(createResults("5"));
+        Assert.assertTrue(cache.isEvicted("1"));
+        Mockito.verify(cursor1).close();
+        Assert.assertNull(results1.getCursor());
+        Assert.assertEquals(evictedBefore + 3, WebSQLResultsCache.EvictionReason.SIZE.getEvictedCount());
+    }
+
+    @Test
+    public void testIdleEviction() throws Exception {
+        WebSQLResultsCache cache = new WebSQLResultsCache(0);
+        WebSQLResultsInfo idleResults = createResults("idle");
+        WebSQLResultsInfo activeResults = createResults("active");
+        long evictedBefore = WebSQLResultsCache.EvictionReason.IDLE.getEvictedCount();
+        cache.put(idleResults);
+        cache.put(activeResults);
+
+        Thread.sleep(50);
+        activeResults.touch();
+        cache.evictIdle(25);
+
+        Assert.assertEquals(List.of(activeResults), cache.getAll());
+        Assert.assertTrue(cache.isEvicted("idle"));
+        Assert.assertEquals(evictedBefore + 1, WebSQLResultsCache.EvictionReason.IDLE.getEvictedCount());
+    }
+
+    @Test
+    public void testRemovedResultsAreNotEvicted() {
+        WebSQLResultsCache cache = new WebSQLResultsCache(1);
+        cache.put(createResults("1"));
+        cache.put(createResults("2"));
+        Assert.assertTrue(cache.isEvicted("1"));
+
+        Assert.assertNotNull(cache.remove("2"));
+        Assert.assertFalse(cache.isEvicted("2"));
+        cache.put(createResults("3"));
+        Assert.assertEquals(1, cache.clear().size());
+        Assert.assertEquals(0, cache.size());
+        Assert.assertFalse(cache.isEvicted("1"));
+    }
+
+    private static WebSQLResultsInfo createResults(String id) {
+        return new WebSQLResultsInfo(Mockito.mock(DBSDataContainer.class), id);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import com.google.gson.Gson;
+import io.cloudbeaver.model.session.WebSession;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+public class WebSQLResultsColumnarWriterTest {
+
+    private final DBDAttributeBinding idColumn = mockColumn("ID", DBPDataKind.NUMERIC, Types.INTEGER, "INTEGER");
+    private final DBDAttributeBinding amountColumn = mockColumn("AMOUNT", DBPDataKind.NUMERIC, Types.DECIMAL, "DECIMAL");
+    private final DBDAttributeBinding createdColumn = mockColumn("CREATED", DBPDataKind.DATETIME, Types.TIMESTAMP, "TIMESTAMP");
+
+    @Test
+    public void testColumnVectorTypes() {
+        Assert.assertEquals(WebSQLResultsColumnarWriter.VECTOR_INT64, WebSQLResultsColumnarWriter.getColumnVectorType(idColumn));
+        Assert.assertEquals(WebSQLResultsColumnarWriter.VECTOR_DECIMAL, WebSQLResultsColumnarWriter.getColumnVectorType(amountColumn));
+        Assert.assertEquals(WebSQLResultsColumnarWriter.VECTOR_TIMESTAMP, WebSQLResultsColumnarWriter.getColumnVectorType(createdColumn));
+        Assert.assertEquals(
+            WebSQLResultsColumnarWriter.VECTOR_DECIMAL,
+            WebSQLResultsColumnarWriter.getColumnVectorType(mockColumn("U", DBPDataKind.NUMERIC, Types.BIGINT, "BIGINT UNSIGNED")));
+        Assert.assertEquals(
+            WebSQLResultsColumnarWriter.VECTOR_FLOAT64,
+            WebSQLResultsColumnarWriter.getColumnVectorType(mockColumn("F", DBPDataKind.NUMERIC, Types.DOUBLE, "DOUBLE")));
+        Assert.assertEquals(
+            WebSQLResultsColumnarWriter.VECTOR_STRING,
+            WebSQLResultsColumnarWriter.getColumnVectorType(mockColumn("S", DBPDataKind.STRING, Types.VARCHAR, "VARCHAR")));
+    }
+
+    @Test
+    public void testTypedVectors() throws Exception {
+        Timestamp created = Timestamp.valueOf("2024-05-01 10:20:30.123456789");
+        BigInteger bigAmount = new BigInteger("123456789012345678901234567890");
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        WebSQLResultsColumnarWriter writer = createWriter(buffer);
+        writer.startRows(new DBDAttributeBinding[]{idColumn, amountColumn, createdColumn});
+        writer.writeRow(new Object[]{1, new BigDecimal("12.345"), created}, null);
+        writer.writeRow(new Object[]{null, bigAmount, null}, null);
+        writer.endRows();
+        writer.finish(null, null);
+
+        DataInputStream in = readHeader(buffer, 3);
+        Assert.assertEquals(2, in.readInt());
+        // ID
+        Assert.assertEquals(0b10, in.readByte());
+        Assert.assertEquals(1L, in.readLong());
+        // AMOUNT
+        Assert.assertEquals(0, in.readByte());
+        Assert.assertEquals(new BigDecimal("12.345"), readDecimal(in));
+        Assert.assertEquals(new BigDecimal(bigAmount), readDecimal(in));
+        // CREATED
+        Assert.assertEquals(0b10, in.readByte());
+        Assert.assertEquals(created.toInstant().getEpochSecond(), in.readLong());
+        Assert.assertEquals(123456789, in.readInt());
+        // End of stream
+        Assert.assertEquals(0, in.readInt());
+        Assert.assertEquals(0, in.available());
+    }
+
+    @Test
+    public void testErrorTerminator() throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        WebSQLResultsColumnarWriter writer = createWriter(buffer);
+        writer.startRows(new DBDAttributeBinding[]{idColumn});
+        writer.writeRow(new Object[]{1L}, null);
+        writer.flush();
+        writer.writeRow(new Object[]{2L}, null);
+        writer.writeRow(new Object[]{"not a number"}, null);
+        IOException error = Assert.assertThrows(IOException.class, writer::flush);
+        writer.finish(null, error);
+
+        DataInputStream in = readHeader(buffer, 1);
+        // The first batch only, failed batch must not be written partially
+        Assert.assertEquals(1, in.readInt());
+        Assert.assertEquals(0, in.readByte());
+        Assert.assertEquals(1L, in.readLong());
+        Assert.assertEquals(-1, in.readInt());
+        Assert.assertEquals(error.getMessage(), readString(in));
+        Assert.assertEquals(0, in.available());
+    }
+
+    private static WebSQLResultsColumnarWriter createWriter(ByteArrayOutputStream buffer) {
+        return new WebSQLResultsColumnarWriter(Mockito.mock(WebSession.class), WebDataFormat.columnar, buffer, new Gson());
+    }
+
+    private static DataInputStream readHeader(ByteArrayOutputStream buffer, int columnCount) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+        byte[] magic = new byte[4];
+        in.readFully(magic);
+        Assert.assertEquals("CBCR", new String(magic, StandardCharsets.US_ASCII));
+        Assert.assertEquals(WebSQLResultsColumnarWriter.FORMAT_VERSION, in.readByte());
+        Assert.assertEquals(columnCount, in.readInt());
+        for (int i = 0; i < columnCount; i++) {
+            // name, label, data kind, type name
+            for (int k = 0; k < 4; k++) {
+                readString(in);
+            }
+            in.readByte();
+        }
+        return in;
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readInt()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static DBDAttributeBinding mockColumn(String name, DBPDataKind dataKind, int typeId, String typeName) {
+        DBDAttributeBinding binding = Mockito.mock(DBDAttributeBinding.class);
+        Mockito.when(binding.getName()).thenReturn(name);
+        Mockito.when(binding.getLabel()).thenReturn(name);
+        Mockito.when(binding.getFullyQualifiedName(Mockito.any())).thenReturn(name);
+        Mockito.when(binding.getDataKind()).thenReturn(dataKind);
+        Mockito.when(binding.getTypeID()).thenReturn(typeId);
+        Mockito.when(binding.getTypeName()).thenReturn(typeName);
+        return binding;
+    }
+}
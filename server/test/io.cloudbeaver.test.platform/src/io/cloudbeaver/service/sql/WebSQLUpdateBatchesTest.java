@@ -0,0 +1,110 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cloudbeaver.service.sql;
+
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class WebSQLUpdateBatchesTest {
+
+    private final DBSAttributeBase idAttribute = Mockito.mock(DBSAttributeBase.class);
+    private final DBSAttributeBase nameAttribute = Mockito.mock(DBSAttributeBase.class);
+
+    @Test
+    public void testAdjacentShapesShareBatch() throws Exception {
+        List<DBSDataManipulator.ExecuteBatch> createdBatches = new ArrayList<>();
+        WebSQLUpdateBatches batches = new WebSQLUpdateBatches();
+        List<DBSAttributeBase> shapeA = List.of(idAttribute);
+        List<DBSAttributeBase> shapeB = List.of(idAttribute, nameAttribute);
+
+        Object[] row1 = {1};
+        Object[] row2 = {2};
+        Object[] row3 = {3, "three"};
+        Object[] row4 = {4, "four"};
+        batches.addRow(shapeA, () -> newBatch(createdBatches), row1, row1);
+        batches.addRow(List.of(idAttribute), () -> newBatch(createdBatches), row2, row2);
+        batches.addRow(shapeB, () -> newBatch(createdBatches), row3, row3);
+        batches.addRow(shapeB, () -> newBatch(createdBatches), row4, row4);
+
+        Assert.assertEquals(2, createdBatches.size());
+        Assert.assertEquals(List.copyOf(batches.getBatches().keySet()), createdBatches);
+        Assert.assertEquals(List.of(row1, row2), batches.getBatches().get(createdBatches.get(0)));
+        Assert.assertEquals(List.of(row3, row4), batches.getBatches().get(createdBatches.get(1)));
+        Assert.assertEquals(List.of(row1, row2, row3, row4), batches.getResultRows());
+    }
+
+    @Test
+    public void testInterleavedShapesKeepRequestOrder() throws Exception {
+        List<DBSDataManipulator.ExecuteBatch> createdBatches = new ArrayList<>();
+        WebSQLUpdateBatches batches = new WebSQLUpdateBatches();
+        List<DBSAttributeBase> shapeA = List.of(idAttribute);
+        List<DBSAttributeBase> shapeB = List.of(idAttribute, nameAttribute);
+
+        Object[] row1 = {1};
+        Object[] row2 = {2, "two"};
+        Object[] row3 = {3};
+        Object[] row4 = {4};
+        Object[] row5 = {5};
+        batches.addRow(shapeA, () -> newBatch(createdBatches), row1, row1);
+        batches.addRow(shapeB, () -> newBatch(createdBatches), row2, row2);
+        // Same shape as the first row, but it is not adjacent: statements must be executed in the request order
+        batches.addRow(shapeA, () -> newBatch(createdBatches), row3, row3);
+        batches.addRow(shapeA, () -> newBatch(createdBatches), row4, row4);
+        // Row with own batch (e.g. insert which reads generated keys)
+        batches.addRow(null, () -> newBatch(createdBatches), row5, row5);
+
+        Assert.assertEquals(4, createdBatches.size());
+        Assert.assertEquals(List.copyOf(batches.getBatches().keySet()), createdBatches);
+        Assert.assertEquals(List.of(row1), batches.getBatches().get(createdBatches.get(0)));
+        Assert.assertEquals(List.of(row2), batches.getBatches().get(createdBatches.get(1)));
+        Assert.assertEquals(List.of(row3, row4), batches.getBatches().get(createdBatches.get(2)));
+        Assert.assertEquals(List.of(row5), batches.getBatches().get(createdBatches.get(3)));
+        Mockito.verify(createdBatches.get(2)).add(row3);
+        Mockito.verify(createdBatches.get(2)).add(row4);
+
+        Assert.assertEquals(List.of(row1, row2, row3, row4, row5), batches.getResultRows());
+    }
+
+    @Test
+    public void testResetShapes() throws Exception {
+        List<DBSDataManipulator.ExecuteBatch> createdBatches = new ArrayList<>();
+        WebSQLUpdateBatches batches = new WebSQLUpdateBatches();
+        List<DBSAttributeBase> shape = List.of(idAttribute);
+
+        Object[] updatedRow = {1};
+        Object[] addedRow = {2};
+        batches.addRow(shape, () -> newBatch(createdBatches), updatedRow, updatedRow);
+        // Inserts must not be added into the update batch of the same attributes
+        batches.resetShapes();
+        batches.addRow(shape, () -> newBatch(createdBatches), addedRow, addedRow);
+
+        Assert.assertEquals(2, createdBatches.size());
+        Assert.assertEquals(List.of(updatedRow, addedRow), batches.getResultRows());
+    }
+
+    private static DBSDataManipulator.ExecuteBatch newBatch(List<DBSDataManipulator.ExecuteBatch> createdBatches) {
+        DBSDataManipulator.ExecuteBatch batch = Mockito.mock(DBSDataManipulator.ExecuteBatch.class);
+        createdBatches.add(batch);
+        return batch;
+    }
+}
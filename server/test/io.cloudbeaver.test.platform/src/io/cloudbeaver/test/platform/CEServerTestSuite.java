@@ -18,10 +18,29 @@
 package io.cloudbeaver.test.platform;
 
 import io.cloudbeaver.auth.provider.local.LocalAuthProvider;
+import io.cloudbeaver.model.metrics.WebMetricsRegistryTest;
 import io.cloudbeaver.model.rm.RMNIOTest;
+import io.cloudbeaver.model.session.WebAsyncTaskSchedulerTest;
 import io.cloudbeaver.model.rm.lock.RMLockTest;
 import io.cloudbeaver.server.CBApplication;
 import io.cloudbeaver.server.CBApplicationCE;
+import io.cloudbeaver.server.events.WSProjectUpdatedEventHandlerTest;
+import io.cloudbeaver.server.graphql.GraphQLBatchExecutorTest;
+import io.cloudbeaver.server.graphql.GraphQLCostBucketTest;
+import io.cloudbeaver.server.graphql.GraphQLCostInstrumentationTest;
+import io.cloudbeaver.server.graphql.GraphQLMetricsInstrumentationTest;
+import io.cloudbeaver.server.graphql.GraphQLQueryCacheTest;
+import io.cloudbeaver.server.graphql.GraphQLUIOperationsCostTest;
+import io.cloudbeaver.service.WebServiceBindingBaseTest;
+import io.cloudbeaver.service.security.CBEmbeddedSecurityControllerBatchTest;
+import io.cloudbeaver.service.session.WebSessionExpiryIndexTest;
+import io.cloudbeaver.service.session.WebSessionIndexTest;
+import io.cloudbeaver.service.session.WebSessionManagerConcurrencyTest;
+import io.cloudbeaver.service.sql.WebCellSerializationContextTest;
+import io.cloudbeaver.service.sql.WebSQLMetaDataAccessorsTest;
+import io.cloudbeaver.service.sql.WebSQLResultsCacheTest;
+import io.cloudbeaver.service.sql.WebSQLResultsColumnarWriterTest;
+import io.cloudbeaver.service.sql.WebSQLUpdateBatchesTest;
 import io.cloudbeaver.test.WebGQLClient;
 import io.cloudbeaver.utils.WebTestUtils;
 import org.jkiss.code.NotNull;
@@ -43,7 +62,26 @@ import java.util.Map;
         AuthenticationTest.class,
         ResourceManagerTest.class,
         RMLockTest.class,
-        RMNIOTest.class
+        RMNIOTest.class,
+        WebSQLResultsColumnarWriterTest.class,
+        WebSQLResultsCacheTest.class,
+        WebSQLUpdateBatchesTest.class,
+        WebSessionExpiryIndexTest.class,
+        WebSessionManagerConcurrencyTest.class,
+        GraphQLBatchExecutorTest.class,
+        GraphQLCostBucketTest.class,
+        GraphQLCostInstrumentationTest.class,
+        GraphQLMetricsInstrumentationTest.class,
+        WebMetricsRegistryTest.class,
+        CBEmbeddedSecurityControllerBatchTest.class,
+        WebSessionIndexTest.class,
+        GraphQLQueryCacheTest.class,
+        WebAsyncTaskSchedulerTest.class,
+        WebSQLMetaDataAccessorsTest.class,
+        WebCellSerializationContextTest.class,
+        WebServiceBindingBaseTest.class,
+        WSProjectUpdatedEventHandlerTest.class,
+        GraphQLUIOperationsCostTest.class
     }
 )
 public class CEServerTestSuite {